@@ -0,0 +1,214 @@
+package twg2.io.json.stringify.bench;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import twg2.io.json.stringify.JsonWriter;
+
+/** A small JMH-style benchmark harness: time based warmup and measurement iterations, a result sink to keep
+ * the JIT from removing benchmark work, per-op allocation (the JMH {@code -prof gc} figure, read from
+ * {@code com.sun.management.ThreadMXBean}) and GC counts, and machine readable JSON results.<br>
+ * Run single threaded, each benchmark in the same JVM, so compare results from the same run or the same JVM flags.
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public final class Bench {
+
+	/** A benchmark operation, the returned value is consumed so the work cannot be optimized away */
+	@FunctionalInterface
+	public interface Op {
+		public Object run() throws Exception;
+	}
+
+
+	/** The result of one benchmark */
+	public static final class Result {
+		public final String name;
+		public final double nsPerOp;
+		public final double nsPerOpStdDev;
+		/** -1 if the JVM does not support thread allocation counters */
+		public final double bytesPerOp;
+		public final long gcCount;
+		public final long gcMillis;
+		public final long ops;
+
+		Result(String name, double nsPerOp, double nsPerOpStdDev, double bytesPerOp, long gcCount, long gcMillis, long ops) {
+			this.name = name;
+			this.nsPerOp = nsPerOp;
+			this.nsPerOpStdDev = nsPerOpStdDev;
+			this.bytesPerOp = bytesPerOp;
+			this.gcCount = gcCount;
+			this.gcMillis = gcMillis;
+			this.ops = ops;
+		}
+	}
+
+
+	private final int warmupIterations;
+	private final int measureIterations;
+	private final long iterationNanos;
+	private final Pattern filter;
+	private final List<Result> results = new ArrayList<>();
+	private final com.sun.management.ThreadMXBean allocBean;
+	/** Consumed benchmark results */
+	private volatile int sink;
+
+
+	/**
+	 * @param warmupIterations the number of untimed iterations per benchmark
+	 * @param measureIterations the number of timed iterations per benchmark
+	 * @param iterationMillis the minimum duration of each iteration
+	 * @param filter only run benchmarks whose name matches this regex, null to run all
+	 */
+	public Bench(int warmupIterations, int measureIterations, long iterationMillis, String filter) {
+		this.warmupIterations = warmupIterations;
+		this.measureIterations = measureIterations;
+		this.iterationNanos = iterationMillis * 1_000_000L;
+		this.filter = filter != null ? Pattern.compile(filter) : null;
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		com.sun.management.ThreadMXBean allocBean = null;
+		if(threadBean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean)threadBean).isThreadAllocatedMemorySupported()) {
+			allocBean = (com.sun.management.ThreadMXBean)threadBean;
+			allocBean.setThreadAllocatedMemoryEnabled(true);
+		}
+		this.allocBean = allocBean;
+	}
+
+
+	/** Create a harness from command line arguments: {@code [resultsFile.json] [nameRegex]}
+	 */
+	public static Bench fromArgs(String[] args) {
+		return new Bench(3, 5, 1000, args.length > 1 ? args[1] : null);
+	}
+
+
+	public List<Result> getResults() {
+		return results;
+	}
+
+
+	/** Run a benchmark and print its result
+	 * @param name the benchmark name, used for filtering and reporting
+	 * @param op the operation to benchmark
+	 */
+	public Bench run(String name, Op op) throws Exception {
+		if(filter != null && !filter.matcher(name).find()) {
+			return this;
+		}
+		// calibrate the batch size so that each timing call covers roughly 1ms
+		int batch = 1;
+		while(true) {
+			long start = System.nanoTime();
+			runBatch(op, batch);
+			if(System.nanoTime() - start >= 1_000_000 || batch >= (1 << 24)) { break; }
+			batch *= 2;
+		}
+
+		for(int i = 0; i < warmupIterations; i++) {
+			iteration(op, batch);
+		}
+
+		List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+		long gcCount0 = gcCount(gcBeans);
+		long gcMillis0 = gcMillis(gcBeans);
+		long threadId = Thread.currentThread().getId();
+		long alloc0 = allocBean != null ? allocBean.getThreadAllocatedBytes(threadId) : 0;
+
+		double[] nsPerOp = new double[measureIterations];
+		long totalOps = 0;
+		for(int i = 0; i < measureIterations; i++) {
+			long[] opsAndNanos = iteration(op, batch);
+			totalOps += opsAndNanos[0];
+			nsPerOp[i] = opsAndNanos[1] / (double)opsAndNanos[0];
+		}
+
+		long alloc1 = allocBean != null ? allocBean.getThreadAllocatedBytes(threadId) : 0;
+		double mean = 0;
+		for(double v : nsPerOp) { mean += v; }
+		mean /= nsPerOp.length;
+		double variance = 0;
+		for(double v : nsPerOp) { variance += (v - mean) * (v - mean); }
+		double stdDev = nsPerOp.length > 1 ? Math.sqrt(variance / (nsPerOp.length - 1)) : 0;
+		double bytesPerOp = allocBean != null ? (alloc1 - alloc0) / (double)totalOps : -1;
+
+		Result res = new Result(name, mean, stdDev, bytesPerOp, gcCount(gcBeans) - gcCount0, gcMillis(gcBeans) - gcMillis0, totalOps);
+		results.add(res);
+		System.out.printf("%-50s %12.1f ns/op  +- %8.1f  %12.1f B/op  %4d gc%n", name, res.nsPerOp, res.nsPerOpStdDev, res.bytesPerOp, res.gcCount);
+		return this;
+	}
+
+
+	/** Write the JVM version, a timestamp, and all results as a JSON object to {@code file}
+	 */
+	public void writeResults(String file) throws IOException {
+		try(OutputStream out = new FileOutputStream(file);
+				JsonWriter json = JsonWriter.of(out).setIndent("\t")) {
+			json.beginObject();
+			json.name("jvm").value(System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+			json.name("timestamp").value(System.currentTimeMillis());
+			json.name("results").beginArray();
+			for(Result res : results) {
+				json.beginObject()
+					.name("name").value(res.name)
+					.name("nsPerOp").value(res.nsPerOp)
+					.name("nsPerOpStdDev").value(res.nsPerOpStdDev)
+					.name("bytesPerOp").value(res.bytesPerOp)
+					.name("gcCount").value(res.gcCount)
+					.name("gcMillis").value(res.gcMillis)
+					.name("ops").value(res.ops)
+					.endObject();
+			}
+			json.endArray();
+			json.endObject();
+		}
+		System.out.println("results written to " + file);
+	}
+
+
+	/** Run batches until at least {@code iterationNanos} pass
+	 * @return {ops, nanos}
+	 */
+	private long[] iteration(Op op, int batch) throws Exception {
+		long ops = 0;
+		long start = System.nanoTime();
+		long elapsed;
+		do {
+			runBatch(op, batch);
+			ops += batch;
+			elapsed = System.nanoTime() - start;
+		} while(elapsed < iterationNanos);
+		return new long[] { ops, elapsed };
+	}
+
+
+	private void runBatch(Op op, int batch) throws Exception {
+		int h = 0;
+		for(int i = 0; i < batch; i++) {
+			Object res = op.run();
+			h += System.identityHashCode(res);
+		}
+		sink += h;
+	}
+
+
+	private static long gcCount(List<GarbageCollectorMXBean> beans) {
+		long sum = 0;
+		for(GarbageCollectorMXBean bean : beans) { sum += Math.max(0, bean.getCollectionCount()); }
+		return sum;
+	}
+
+
+	private static long gcMillis(List<GarbageCollectorMXBean> beans) {
+		long sum = 0;
+		for(GarbageCollectorMXBean bean : beans) { sum += Math.max(0, bean.getCollectionTime()); }
+		return sum;
+	}
+
+}
@@ -0,0 +1,166 @@
+package twg2.io.json.stringify.bench;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import twg2.io.json.stringify.JsonByteSink;
+import twg2.io.json.stringify.JsonKey;
+import twg2.io.json.stringify.JsonRecordTemplate;
+import twg2.io.json.stringify.JsonStringify;
+import twg2.io.json.stringify.JsonWritable;
+import twg2.io.json.stringify.JsonWritableFactory;
+
+/** Compares a {@link JsonWritableFactory} generated serializer against a hand-written {@link JsonWritable}
+ * which uses the same {@code toProp(JsonKey, ...)} calls, and arrays of records written with {@code toArrayConsume()}
+ * against a {@link JsonRecordTemplate} (from objects and from columns).
+ * Run with {@code java twg2.io.json.stringify.bench.JsonWritableFactoryBench [resultsFile.json] [nameRegex]}
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public class JsonWritableFactoryBench {
+
+	public static class Record {
+		private final int id;
+		private final long timestamp;
+		private final String name;
+		private final double score;
+		private final boolean active;
+
+		public Record(int id, long timestamp, String name, double score, boolean active) {
+			this.id = id;
+			this.timestamp = timestamp;
+			this.name = name;
+			this.score = score;
+			this.active = active;
+		}
+
+		public int getId() { return id; }
+		public long getTimestamp() { return timestamp; }
+		public String getName() { return name; }
+		public double getScore() { return score; }
+		public boolean isActive() { return active; }
+	}
+
+
+	/** Hand-written equivalent of the generated serializer, properties in name order */
+	static final class RecordWritable implements JsonWritable<Record> {
+		private static final JsonKey ACTIVE = JsonKey.of("active");
+		private static final JsonKey ID = JsonKey.of("id");
+		private static final JsonKey NAME = JsonKey.of("name");
+		private static final JsonKey SCORE = JsonKey.of("score");
+		private static final JsonKey TIMESTAMP = JsonKey.of("timestamp");
+
+		@Override
+		public void toJson(Appendable dst, Record obj) throws IOException {
+			JsonStringify js = JsonStringify.inst;
+			dst.append('{');
+			js.toProp(ACTIVE, obj.isActive(), dst).comma(dst)
+				.toProp(ID, obj.getId(), dst).comma(dst)
+				.toProp(NAME, obj.getName(), dst).comma(dst)
+				.toProp(SCORE, obj.getScore(), dst).comma(dst)
+				.toProp(TIMESTAMP, obj.getTimestamp(), dst);
+			dst.append('}');
+		}
+
+		@Override
+		public void toJson(JsonByteSink dst, Record obj) throws IOException {
+			JsonStringify js = JsonStringify.inst;
+			dst.writeAscii('{');
+			js.toProp(ACTIVE, obj.isActive(), dst).comma(dst)
+				.toProp(ID, obj.getId(), dst).comma(dst)
+				.toProp(NAME, obj.getName(), dst).comma(dst)
+				.toProp(SCORE, obj.getScore(), dst).comma(dst)
+				.toProp(TIMESTAMP, obj.getTimestamp(), dst);
+			dst.writeAscii('}');
+		}
+	}
+
+
+	public static Record[] records(int count) {
+		Record[] records = new Record[count];
+		for(int i = 0; i < records.length; i++) {
+			records[i] = new Record(i, 1_700_000_000_000L + i * 1000L, "record \"" + i + "\"", i / 7.0, i % 3 == 0);
+		}
+		return records;
+	}
+
+
+	/** The record fields as parallel arrays in {@link JsonRecordTemplate} column order */
+	static Object[] columns(Record[] records) {
+		boolean[] active = new boolean[records.length];
+		int[] ids = new int[records.length];
+		String[] names = new String[records.length];
+		double[] scores = new double[records.length];
+		long[] timestamps = new long[records.length];
+		for(int i = 0; i < records.length; i++) {
+			active[i] = records[i].isActive();
+			ids[i] = records[i].getId();
+			names[i] = records[i].getName();
+			scores[i] = records[i].getScore();
+			timestamps[i] = records[i].getTimestamp();
+		}
+		return new Object[] { active, ids, names, scores, timestamps };
+	}
+
+
+	public static void run(Bench bench) throws Exception {
+		Record[] records = records(1024);
+		JsonWritable<Record> handWritten = new RecordWritable();
+		JsonWritable<Record> generated = JsonWritableFactory.forClass(Record.class);
+
+		StringBuilder expect = new StringBuilder();
+		StringBuilder actual = new StringBuilder();
+		handWritten.toJson(expect, records[1]);
+		generated.toJson(actual, records[1]);
+		if(!expect.toString().equals(actual.toString())) {
+			throw new IllegalStateException("output mismatch:\n" + expect + "\n" + actual);
+		}
+
+		StringBuilder sb = new StringBuilder(256);
+		JsonByteSink.ByteArraySink bytes = JsonByteSink.ofArray(256);
+		int[] idx = { 0 };
+		bench.run("JsonWritable.handWritten/StringBuilder", () -> { sb.setLength(0); handWritten.toJson(sb, records[idx[0]++ & 1023]); return sb; });
+		bench.run("JsonWritable.generated/StringBuilder", () -> { sb.setLength(0); generated.toJson(sb, records[idx[0]++ & 1023]); return sb; });
+		bench.run("JsonWritable.handWritten/JsonByteSink", () -> { bytes.reset(); handWritten.toJson(bytes, records[idx[0]++ & 1023]); return bytes; });
+		bench.run("JsonWritable.generated/JsonByteSink", () -> { bytes.reset(); generated.toJson(bytes, records[idx[0]++ & 1023]); return bytes; });
+
+		JsonRecordTemplate<Record> template = JsonRecordTemplate.<Record>builder()
+				.booleanField("active", Record::isActive)
+				.intField("id", Record::getId)
+				.stringField("name", Record::getName)
+				.doubleField("score", Record::getScore)
+				.longField("timestamp", Record::getTimestamp)
+				.build();
+		List<Record> recordList = Arrays.asList(records);
+		Object[] columns = columns(records);
+		JsonStringify js = JsonStringify.inst;
+
+		StringBuilder expectAry = new StringBuilder();
+		StringBuilder actualAry = new StringBuilder();
+		StringBuilder columnAry = new StringBuilder();
+		js.toArrayConsume(recordList, expectAry, (r) -> handWritten.toJson(expectAry, r));
+		template.toArray(recordList, actualAry);
+		template.toArrayColumns(records.length, columns, columnAry);
+		if(!expectAry.toString().equals(actualAry.toString()) || !expectAry.toString().equals(columnAry.toString())) {
+			throw new IllegalStateException("record array output mismatch");
+		}
+
+		StringBuilder aryBuf = new StringBuilder(128 * records.length);
+		JsonByteSink.ByteArraySink aryBytes = JsonByteSink.ofArray(128 * records.length);
+		bench.run("toArray.records.toArrayConsume/StringBuilder", () -> { aryBuf.setLength(0); return js.toArrayConsume(recordList, aryBuf, (r) -> handWritten.toJson(aryBuf, r)); });
+		bench.run("toArray.records.JsonRecordTemplate/StringBuilder", () -> { aryBuf.setLength(0); return template.toArray(recordList, aryBuf); });
+		bench.run("toArray.records.JsonRecordTemplate.columns/StringBuilder", () -> { aryBuf.setLength(0); return template.toArrayColumns(records.length, columns, aryBuf); });
+		bench.run("toArray.records.toArrayConsume/JsonByteSink", () -> { aryBytes.reset(); return js.toArrayConsume(recordList, aryBytes, (r) -> handWritten.toJson(aryBytes, r)); });
+		bench.run("toArray.records.JsonRecordTemplate/JsonByteSink", () -> { aryBytes.reset(); return template.toArray(recordList, aryBytes); });
+		bench.run("toArray.records.JsonRecordTemplate.columns/JsonByteSink", () -> { aryBytes.reset(); return template.toArrayColumns(records.length, columns, aryBytes); });
+	}
+
+
+	public static void main(String[] args) throws Exception {
+		Bench bench = Bench.fromArgs(args);
+		run(bench);
+		bench.writeResults(args.length > 0 ? args[0] : "bench-results.json");
+	}
+
+}
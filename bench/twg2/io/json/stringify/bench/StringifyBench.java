@@ -0,0 +1,194 @@
+package twg2.io.json.stringify.bench;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import twg2.io.json.stringify.JsonByteSink;
+import twg2.io.json.stringify.JsonKey;
+import twg2.io.json.stringify.JsonLength;
+import twg2.io.json.stringify.JsonStringify;
+
+/** Benchmarks for the {@link JsonStringify} hot paths: {@code join}/{@code joinEscape}/{@code joinConsume},
+ * the {@code toArray} families ({@code List} vs {@code Iterator}, {@code StringBuilder} vs {@code Appendable} vs
+ * {@link JsonByteSink}, primitives), {@code toProp}, {@code JsonWritable} objects ({@link JsonWritableFactoryBench}), and
+ * large documents written to a growing buffer vs measured with {@link JsonLength} and written to an exactly sized buffer.
+ * String benchmarks run against an ASCII-only corpus and an escape-heavy corpus.<br>
+ * Run with {@code java twg2.io.json.stringify.bench.StringifyBench [resultsFile.json] [nameRegex]},
+ * results are printed and written as JSON (default {@code bench-results.json}) for comparison between releases.
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public class StringifyBench {
+	private static final int SIZE = 1000;
+
+
+	/** An {@link Appendable} which is not a {@link StringBuilder}, to measure the generic {@code Appendable} code paths */
+	static final class PlainAppendable implements Appendable {
+		final StringBuilder sb = new StringBuilder();
+
+		@Override public Appendable append(CharSequence csq) { sb.append(csq); return this; }
+		@Override public Appendable append(CharSequence csq, int start, int end) { sb.append(csq, start, end); return this; }
+		@Override public Appendable append(char c) { sb.append(c); return this; }
+	}
+
+
+	/** An {@link OutputStream} which discards its input, standing in for a socket when a response needs a {@code Content-Length} */
+	static final class NullOutputStream extends OutputStream {
+		long count;
+
+		@Override public void write(int b) { count++; }
+		@Override public void write(byte[] b, int off, int len) { count += len; }
+	}
+
+
+	public static void main(String[] args) throws Exception {
+		Bench bench = Bench.fromArgs(args);
+		Random rand = new Random(42);
+
+		List<String> ascii = asciiCorpus(rand, SIZE);
+		List<String> escapes = escapeCorpus(rand, SIZE);
+		int[] ints = new int[SIZE];
+		long[] longs = new long[SIZE];
+		float[] floats = new float[SIZE];
+		double[] doubles = new double[SIZE];
+		for(int i = 0; i < SIZE; i++) {
+			ints[i] = rand.nextInt();
+			longs[i] = rand.nextLong();
+			floats[i] = (float)rand.nextGaussian() * 1000;
+			doubles[i] = rand.nextGaussian() * 1000;
+		}
+
+		JsonStringify js = JsonStringify.inst;
+		StringBuilder sb = new StringBuilder(64 * SIZE);
+		PlainAppendable app = new PlainAppendable();
+		JsonByteSink.ByteArraySink bytes = JsonByteSink.ofArray(64 * SIZE);
+
+		for(String corpusName : new String[] { "ascii", "escape" }) {
+			List<String> corpus = corpusName.equals("ascii") ? ascii : escapes;
+			Iterable<String> iterable = Collections.unmodifiableCollection(corpus);
+
+			bench.run("join/" + corpusName, () -> { sb.setLength(0); return js.join(corpus, ", ", false, sb, (s) -> s); });
+			bench.run("joinEscape/" + corpusName, () -> { sb.setLength(0); return js.joinEscape(corpus, ", ", sb, (s) -> s); });
+			bench.run("joinConsume/" + corpusName, () -> { sb.setLength(0); return js.joinConsume(corpus, ", ", sb, (s) -> sb.append(s)); });
+			bench.run("join/" + corpusName + "/JsonByteSink", () -> { bytes.reset(); return js.join(corpus, ", ", true, bytes, (s) -> s); });
+
+			bench.run("toStringArray.List/" + corpusName + "/StringBuilder", () -> { sb.setLength(0); return js.toStringArray(corpus, sb); });
+			bench.run("toStringArray.Iterator/" + corpusName + "/StringBuilder", () -> { sb.setLength(0); return js.toStringArray(iterable, sb); });
+			bench.run("toStringArray.List/" + corpusName + "/Appendable", () -> { app.sb.setLength(0); return js.toStringArray(corpus, app); });
+			bench.run("toStringArray.Iterator/" + corpusName + "/Appendable", () -> { app.sb.setLength(0); return js.toStringArray(iterable, app); });
+			bench.run("toStringArray.List/" + corpusName + "/JsonByteSink", () -> { bytes.reset(); return js.toStringArray(corpus, bytes); });
+			bench.run("toArray.List.FunctionIo/" + corpusName + "/StringBuilder", () -> { sb.setLength(0); return js.toStringArray(corpus, sb, (s) -> s); });
+			bench.run("toArrayConsume.List/" + corpusName + "/StringBuilder", () -> { sb.setLength(0); return js.toArrayConsume(corpus, sb, (s) -> sb.append('"').append(s).append('"')); });
+		}
+
+		List<Integer> boxedInts = new ArrayList<>(ints.length);
+		for(int val : ints) { boxedInts.add(val); }
+		bench.run("toArray.List<Integer>/StringBuilder", () -> { sb.setLength(0); return js.toArray(boxedInts, sb); });
+		bench.run("toArray.PrimitiveIterator.OfInt/StringBuilder", () -> { sb.setLength(0); return js.toArray(Arrays.stream(ints).iterator(), sb); });
+		bench.run("toArray.int[]/StringBuilder", () -> { sb.setLength(0); return js.toArray(ints, sb); });
+		bench.run("toArray.int[]/Appendable", () -> { app.sb.setLength(0); return js.toArray(ints, app); });
+		bench.run("toArray.int[]/JsonByteSink", () -> { bytes.reset(); return js.toArray(ints, bytes); });
+		bench.run("toArray.long[]/StringBuilder", () -> { sb.setLength(0); return js.toArray(longs, sb); });
+		bench.run("toArray.long[]/Appendable", () -> { app.sb.setLength(0); return js.toArray(longs, app); });
+		bench.run("toArray.long[]/JsonByteSink", () -> { bytes.reset(); return js.toArray(longs, bytes); });
+		bench.run("toArray.float[]/StringBuilder", () -> { sb.setLength(0); return js.toArray(floats, sb); });
+		bench.run("toArray.float[]/Appendable", () -> { app.sb.setLength(0); return js.toArray(floats, app); });
+		bench.run("toArray.float[]/JsonByteSink", () -> { bytes.reset(); return js.toArray(floats, bytes); });
+		bench.run("toArray.double[]/StringBuilder", () -> { sb.setLength(0); return js.toArray(doubles, sb); });
+		bench.run("toArray.double[]/Appendable", () -> { app.sb.setLength(0); return js.toArray(doubles, app); });
+		bench.run("toArray.double[]/JsonByteSink", () -> { bytes.reset(); return js.toArray(doubles, bytes); });
+
+		JsonKey key = JsonKey.of("propertyName");
+		bench.run("toProp.String.int/StringBuilder", () -> { sb.setLength(0); return js.toProp("propertyName", 123456, sb); });
+		bench.run("toProp.JsonKey.int/StringBuilder", () -> { sb.setLength(0); return js.toProp(key, 123456, sb); });
+		bench.run("toProp.String.double/Appendable", () -> { app.sb.setLength(0); return js.toProp("propertyName", 1234.5678, app); });
+		bench.run("toProp.JsonKey.double/Appendable", () -> { app.sb.setLength(0); return js.toProp(key, 1234.5678, app); });
+		bench.run("toProp.String.String/StringBuilder", () -> { sb.setLength(0); return js.toProp("propertyName", ascii.get(0), sb); });
+		bench.run("toProp.JsonKey.String/StringBuilder", () -> { sb.setLength(0); return js.toProp(key, ascii.get(0), sb); });
+		bench.run("toProp.JsonKey.String/JsonByteSink", () -> { bytes.reset(); return js.toProp(key, ascii.get(0), bytes); });
+
+		bench.run("toArray.List/ascii/new StringBuilder", () -> { StringBuilder tmp = new StringBuilder(); js.toStringArray(ascii, tmp); return tmp.toString(); });
+		bench.run("renderStringArray.List/ascii", () -> js.renderStringArray(ascii));
+		bench.run("toArray.int[]/new StringBuilder", () -> { StringBuilder tmp = new StringBuilder(); js.toArray(ints, tmp); return tmp.toString(); });
+		bench.run("renderArray.int[]", () -> js.renderArray(ints));
+
+		Map<String, Object> record = new LinkedHashMap<>();
+		for(int i = 0; i < 8; i++) { record.put("property" + i, i % 2 == 0 ? (Object)ascii.get(i) : (Object)(i * 1000)); }
+		bench.run("toObject.Map/manual", () -> {
+			sb.setLength(0);
+			sb.append('{');
+			boolean first = true;
+			for(String name : record.keySet()) {
+				if(!first) { js.comma(sb); }
+				Object val = record.get(name);
+				if(val instanceof String) { js.toProp(name, (String)val, sb); }
+				else { js.toProp(name, (int)(Integer)val, sb); }
+				first = false;
+			}
+			return sb.append('}');
+		});
+		bench.run("toObject.Map/StringBuilder", () -> { sb.setLength(0); return js.toObject(record, sb); });
+		bench.run("toObject.Map/JsonByteSink", () -> { bytes.reset(); return js.toObject(record, bytes); });
+
+		// large documents, grow-and-copy from a default sized buffer vs measure with JsonLength then write to an exactly sized buffer
+		List<String> largeStrings = escapeCorpus(rand, 1000 * SIZE);
+		int[] largeInts = new int[4000 * SIZE];
+		for(int i = 0; i < largeInts.length; i++) { largeInts[i] = rand.nextInt(); }
+		bench.run("large.toStringArray/new StringBuilder", () -> { StringBuilder tmp = new StringBuilder(); js.toStringArray(largeStrings, tmp); return tmp.toString(); });
+		bench.run("large.toStringArray/JsonLength+StringBuilder", () -> { StringBuilder tmp = JsonLength.of((d) -> js.toStringArray(largeStrings, d)).newStringBuilder(); js.toStringArray(largeStrings, tmp); return tmp.toString(); });
+		bench.run("large.toStringArray/new JsonByteSink", () -> { JsonByteSink.ByteArraySink tmp = JsonByteSink.ofArray(); js.toStringArray(largeStrings, tmp); return tmp; });
+		bench.run("large.toStringArray/JsonLength+JsonByteSink", () -> { JsonByteSink.ByteArraySink tmp = JsonLength.of((d) -> js.toStringArray(largeStrings, d)).newByteSink(); js.toStringArray(largeStrings, tmp); return tmp; });
+		bench.run("large.toArray.int[]/new StringBuilder", () -> { StringBuilder tmp = new StringBuilder(); js.toArray(largeInts, tmp); return tmp.toString(); });
+		bench.run("large.toArray.int[]/JsonLength+StringBuilder", () -> { StringBuilder tmp = JsonLength.of((d) -> js.toArray(largeInts, d)).newStringBuilder(); js.toArray(largeInts, tmp); return tmp.toString(); });
+		bench.run("large.toArray.int[]/new JsonByteSink", () -> { JsonByteSink.ByteArraySink tmp = JsonByteSink.ofArray(); js.toArray(largeInts, tmp); return tmp; });
+		bench.run("large.toArray.int[]/JsonLength+JsonByteSink", () -> { JsonByteSink.ByteArraySink tmp = JsonLength.of((d) -> js.toArray(largeInts, d)).newByteSink(); js.toArray(largeInts, tmp); return tmp; });
+		// a response with a Content-Length, buffer the whole document to learn its length vs measure it then stream it in chunks
+		NullOutputStream out = new NullOutputStream();
+		bench.run("large.toStringArray/Content-Length/buffered", () -> { JsonByteSink.ByteArraySink tmp = JsonByteSink.ofArray(); js.toStringArray(largeStrings, tmp); out.count = tmp.size(); tmp.writeTo(out); return out; });
+		bench.run("large.toStringArray/Content-Length/JsonLength+stream", () -> { out.count = JsonLength.of((d) -> js.toStringArray(largeStrings, d)).utf8Bytes(); JsonByteSink tmp = JsonByteSink.of(out); js.toStringArray(largeStrings, tmp); tmp.flush(); return out; });
+		bench.run("large.toArray.int[]/Content-Length/buffered", () -> { JsonByteSink.ByteArraySink tmp = JsonByteSink.ofArray(); js.toArray(largeInts, tmp); out.count = tmp.size(); tmp.writeTo(out); return out; });
+		bench.run("large.toArray.int[]/Content-Length/JsonLength+stream", () -> { out.count = JsonLength.of((d) -> js.toArray(largeInts, d)).utf8Bytes(); JsonByteSink tmp = JsonByteSink.of(out); js.toArray(largeInts, tmp); tmp.flush(); return out; });
+
+		JsonWritableFactoryBench.run(bench);
+
+		bench.writeResults(args.length > 0 ? args[0] : "bench-results.json");
+	}
+
+
+	static List<String> asciiCorpus(Random rand, int count) {
+		String chars = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 _-.,:;";
+		List<String> res = new ArrayList<>(count);
+		for(int i = 0; i < count; i++) {
+			res.add(randomString(rand, chars, 8 + rand.nextInt(48)));
+		}
+		return res;
+	}
+
+
+	/** Strings where roughly one char in six needs escaping or is non-ASCII */
+	static List<String> escapeCorpus(Random rand, int count) {
+		String chars = "abcdefghijklmnopqrstuvwxyz \"\\\n\t\r\u0001\u00e9\u4e2d";
+		List<String> res = new ArrayList<>(count);
+		for(int i = 0; i < count; i++) {
+			res.add(randomString(rand, chars, 8 + rand.nextInt(48)));
+		}
+		return res;
+	}
+
+
+	private static String randomString(Random rand, String chars, int len) {
+		char[] str = new char[len];
+		for(int i = 0; i < len; i++) {
+			str[i] = chars.charAt(rand.nextInt(chars.length()));
+		}
+		return new String(str);
+	}
+
+
+}
@@ -0,0 +1,67 @@
+package twg2.io.json.stringify;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** A JDK Flight Recorder event for a large instrumented serialization call, see {@link JsonMetrics}.
+ * This class is in the optional {@code src-jfr} source folder since it requires the {@code jdk.jfr} API (JDK 8u262+ and 11+)
+ * at compile time, {@link JsonMetrics} looks up its {@link Sink} by name and only when {@code jdk.jfr} is available at runtime
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+@Name("twg2.json.Serialization")
+@Label("JSON Serialization")
+@Category("JSON")
+@Description("An instrumented JSON serialization call which wrote at least the configured number of chars or bytes")
+final class JsonSerializationEvent extends Event {
+	@Label("Operation")
+	String operation;
+
+	@Label("Type")
+	@Description("The serialized JsonWritable class, if any")
+	Class<?> type;
+
+	@Label("Elements")
+	@Description("The number of array elements or object properties written")
+	long elements;
+
+	@Label("Size")
+	@Description("The number of chars (char destinations) or bytes (JsonByteSink destinations) written")
+	@DataAmount
+	long size;
+
+
+	/** The {@link JsonMetrics.EventSink} which records {@link JsonSerializationEvent}s, created reflectively by {@link JsonMetrics}
+	 */
+	static final class Sink implements JsonMetrics.EventSink {
+
+		@Override
+		public Object start() {
+			JsonSerializationEvent event = new JsonSerializationEvent();
+			if(!event.isEnabled()) {
+				return null;
+			}
+			event.begin();
+			return event;
+		}
+
+
+		@Override
+		public void finish(Object started, String operation, Class<?> type, long elements, long size) {
+			JsonSerializationEvent event = (JsonSerializationEvent)started;
+			event.end();
+			if(event.shouldCommit()) {
+				event.operation = operation;
+				event.type = type;
+				event.elements = elements;
+				event.size = size;
+				event.commit();
+			}
+		}
+	}
+
+}
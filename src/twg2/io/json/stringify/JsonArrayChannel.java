@@ -0,0 +1,167 @@
+package twg2.io.json.stringify;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Iterator;
+
+/** A pull based, incrementally rendered UTF-8 JSON array.  Elements are taken from the source iterator and rendered
+ * only when the reader asks for more bytes, one chunk of roughly {@code chunkSize} bytes at a time, so memory use is
+ * bounded by the chunk size (or the largest single element) no matter how large the source is or how slowly the
+ * output is consumed.  Nothing is rendered while no one is reading, which is the backpressure.<br>
+ * Read it as a {@link ReadableByteChannel}, as an {@link InputStream} ({@link #asInputStream()}), or chunk by chunk
+ * with {@link #nextChunk()}.  A reactive publisher can be built on {@link #nextChunk()} by emitting one chunk per
+ * requested item.  The output is identical to {@link JsonStringify#toArray(Iterator, String, boolean, boolean, JsonByteSink)}
+ * or {@link JsonStringify#toArrayConsume(Iterator, String, JsonByteSink, twg2.functions.ConsumerIo)} with the same separator.<br>
+ * No locks are used, so blocking reads (i.e. on a virtual thread) do not pin a carrier thread.  Not thread safe.
+ * @param <T> the element type
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public final class JsonArrayChannel<T> implements ReadableByteChannel {
+
+	/** Writes one non-null array element, null elements are written as {@code null} by the channel
+	 */
+	@FunctionalInterface
+	public interface ElementWriter<T> {
+		public void write(T elem, JsonByteSink dst) throws IOException;
+	}
+
+
+	private final Iterator<? extends T> vals;
+	private final String whitespaceSeparator;
+	private final ElementWriter<? super T> writer;
+	private final int chunkSize;
+	private final JsonByteSink.ByteArraySink chunk;
+	/** The number of bytes in {@link #chunk} already read */
+	private int readPos;
+	private boolean started;
+	private boolean first = true;
+	private boolean done;
+	private boolean open = true;
+
+
+	public JsonArrayChannel(Iterator<? extends T> vals, String whitespaceSeparator, ElementWriter<? super T> writer, int chunkSize) {
+		if(chunkSize < 1) {
+			throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+		}
+		this.vals = vals;
+		this.whitespaceSeparator = whitespaceSeparator;
+		this.writer = writer;
+		this.chunkSize = chunkSize;
+		this.chunk = JsonByteSink.ofArray(chunkSize + 64);
+	}
+
+
+	/** An array of values written by {@link JsonValueWriter#of(boolean, boolean, String)} in {@value JsonByteSink#DEFAULT_CHUNK_SIZE} byte chunks,
+	 * the same output as {@link JsonStringify#toArray(Iterator, String, boolean, boolean, JsonByteSink)}
+	 */
+	public static JsonArrayChannel<Object> of(Iterator<? extends Object> vals, String whitespaceSeparator, boolean quote, boolean escape) {
+		JsonValueWriter valueWriter = JsonValueWriter.of(quote, escape, whitespaceSeparator);
+		return new JsonArrayChannel<Object>(vals, whitespaceSeparator, valueWriter::write, JsonByteSink.DEFAULT_CHUNK_SIZE);
+	}
+
+
+	/** An array of elements written by {@code writer} in {@value JsonByteSink#DEFAULT_CHUNK_SIZE} byte chunks
+	 */
+	public static <T> JsonArrayChannel<T> of(Iterator<? extends T> vals, String whitespaceSeparator, ElementWriter<? super T> writer) {
+		return new JsonArrayChannel<T>(vals, whitespaceSeparator, writer, JsonByteSink.DEFAULT_CHUNK_SIZE);
+	}
+
+
+	/** Render and return the next chunk of the array, or null once the whole array has been read.
+	 * The returned buffer is read-only and only valid until the next call to this channel
+	 */
+	public ByteBuffer nextChunk() throws IOException {
+		ensureOpen();
+		if(readPos == chunk.size() && !fill()) {
+			return null;
+		}
+		ByteBuffer res = ByteBuffer.wrap(chunk.array(), readPos, chunk.size() - readPos).asReadOnlyBuffer();
+		readPos = chunk.size();
+		return res;
+	}
+
+
+	@Override
+	public int read(ByteBuffer dst) throws IOException {
+		ensureOpen();
+		int total = 0;
+		while(dst.hasRemaining()) {
+			if(readPos == chunk.size() && !fill()) {
+				return total > 0 ? total : -1;
+			}
+			int n = Math.min(dst.remaining(), chunk.size() - readPos);
+			dst.put(chunk.array(), readPos, n);
+			readPos += n;
+			total += n;
+		}
+		return total;
+	}
+
+
+	/** An {@link InputStream} which reads from this channel
+	 */
+	public InputStream asInputStream() {
+		return Channels.newInputStream(this);
+	}
+
+
+	@Override
+	public boolean isOpen() {
+		return open;
+	}
+
+
+	/** Close this channel, the source iterator is not consumed any further
+	 */
+	@Override
+	public void close() {
+		open = false;
+	}
+
+
+	/** Render the next chunk, elements are written until the chunk holds at least {@code chunkSize} bytes
+	 * @return false if the array has been completely read
+	 */
+	private boolean fill() throws IOException {
+		chunk.reset();
+		readPos = 0;
+		if(done) {
+			return false;
+		}
+		if(!started) {
+			chunk.writeAscii('[');
+			started = true;
+		}
+		while(chunk.size() < chunkSize && vals.hasNext()) {
+			if(!first) {
+				chunk.writeAscii(',').writeUtf8(whitespaceSeparator);
+			}
+			T val = vals.next();
+			if(val != null) {
+				writer.write(val, chunk);
+			}
+			else {
+				chunk.writeAscii("null");
+			}
+			first = false;
+		}
+		if(!vals.hasNext()) {
+			chunk.writeAscii(']');
+			done = true;
+		}
+		return true;
+	}
+
+
+	private void ensureOpen() throws IOException {
+		if(!open) {
+			throw new ClosedChannelException();
+		}
+	}
+
+}
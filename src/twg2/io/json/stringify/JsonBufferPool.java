@@ -0,0 +1,173 @@
+package twg2.io.json.stringify;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import twg2.functions.ConsumerIo;
+
+/** A bounded pool of recycled {@link StringBuilder} buffers for one-shot rendering of JSON strings
+ * (see {@link #render(SizeEstimate, ConsumerIo)} and {@link JsonStringify#render(JsonWritable, Object)}).<br>
+ * Buffers live in a fixed array of slots, a thread borrows from and returns to the slots next to a hash of its thread ID
+ * using compare-and-set, so the pool never blocks, does not use thread locals (which virtual threads would multiply),
+ * and retains at most {@code slots * maxRetainedChars} chars.  Buffers which grew past {@code maxRetainedChars}
+ * are left for the garbage collector instead of being returned.<br>
+ * Buffer sizes come from a {@link SizeEstimate}, a moving average of recent output lengths, so buffers which miss
+ * the pool start at about the right capacity instead of growing by repeated doubling.<br>
+ * Thread safe.
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public final class JsonBufferPool {
+	/** The default largest buffer capacity returned to the pool, 64K chars */
+	public static final int DEFAULT_MAX_RETAINED_CHARS = 1 << 16;
+	/** Two slots per processor */
+	public static final JsonBufferPool inst = new JsonBufferPool(2 * Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_RETAINED_CHARS);
+
+	/** The number of slots tried when borrowing or returning a buffer */
+	private static final int PROBES = 4;
+	private static final ClassValue<SizeEstimate> classEstimates = new ClassValue<SizeEstimate>() {
+		@Override
+		protected SizeEstimate computeValue(Class<?> type) {
+			return new SizeEstimate();
+		}
+	};
+
+	private final AtomicReferenceArray<StringBuilder> slots;
+	private final int mask;
+	private final int maxRetainedChars;
+
+
+	/**
+	 * @param slots the number of pooled buffers, rounded up to a power of 2
+	 * @param maxRetainedChars buffers with a larger capacity are not pooled
+	 */
+	public JsonBufferPool(int slots, int maxRetainedChars) {
+		if(slots < 1) {
+			throw new IllegalArgumentException("slots must be positive: " + slots);
+		}
+		int size = Integer.highestOneBit(slots);
+		if(size < slots) {
+			size <<= 1;
+		}
+		this.slots = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+		this.maxRetainedChars = maxRetainedChars;
+	}
+
+
+	public int getMaxRetainedChars() {
+		return maxRetainedChars;
+	}
+
+
+	/** Borrow an empty buffer with a capacity of at least {@code expectedChars}, return it with {@link #release(StringBuilder)}
+	 */
+	public StringBuilder borrow(int expectedChars) {
+		int start = slotFor(Thread.currentThread());
+		for(int i = 0; i < PROBES; i++) {
+			int idx = (start + i) & mask;
+			StringBuilder sb = slots.get(idx);
+			if(sb != null && slots.compareAndSet(idx, sb, null)) {
+				sb.ensureCapacity(expectedChars);
+				return sb;
+			}
+		}
+		return new StringBuilder(Math.max(16, expectedChars));
+	}
+
+
+	/** Return a buffer to the pool, the buffer must not be used after this call.
+	 * Buffers larger than {@link #getMaxRetainedChars()} or which do not fit in a free slot are dropped
+	 */
+	public void release(StringBuilder sb) {
+		if(sb.capacity() > maxRetainedChars) {
+			return;
+		}
+		sb.setLength(0);
+		int start = slotFor(Thread.currentThread());
+		for(int i = 0; i < PROBES; i++) {
+			int idx = (start + i) & mask;
+			if(slots.get(idx) == null && slots.compareAndSet(idx, null, sb)) {
+				return;
+			}
+		}
+	}
+
+
+	/** Render to a pooled buffer and return the result as a string.
+	 * The buffer starts with the capacity predicted by {@code estimate} and the output length is recorded in it
+	 * @param estimate the size estimate for this call site
+	 * @param writer writes the JSON to the buffer
+	 */
+	public String render(SizeEstimate estimate, ConsumerIo<? super StringBuilder> writer) {
+		StringBuilder sb = borrow(estimate.get());
+		try {
+			writer.accept(sb);
+			estimate.record(sb.length());
+			return sb.toString();
+		} catch(IOException ioe) {
+			throw new UncheckedIOException(ioe);
+		} finally {
+			release(sb);
+		}
+	}
+
+
+	/** A shared {@link SizeEstimate} for a class, i.e. a {@link JsonWritable} implementation
+	 */
+	public static SizeEstimate estimateFor(Class<?> type) {
+		return classEstimates.get(type);
+	}
+
+
+	private static int slotFor(Thread thread) {
+		long id = thread.getId();
+		return (int)((id * 0x9E3779B97F4A7C15L) >>> 40);
+	}
+
+
+
+
+	/** An adaptive output size prediction for one call site (i.e. kept in a static field next to the call), an exponential
+	 * moving average of recorded output lengths with a quarter of headroom so most outputs fit without growing.
+	 * Concurrent updates may occasionally be lost, which only makes the average slightly less current.
+	 * @author TeamworkGuy2
+	 * @since 2026-10-18
+	 */
+	public static final class SizeEstimate {
+		/** The initial estimate, in chars */
+		public static final int DEFAULT_INITIAL_SIZE = 256;
+
+		/** The moving average of recorded lengths */
+		private volatile int average;
+
+
+		public SizeEstimate() {
+			this(DEFAULT_INITIAL_SIZE);
+		}
+
+
+		public SizeEstimate(int initialSize) {
+			this.average = Math.max(16, initialSize);
+		}
+
+
+		/** The predicted capacity for the next output
+		 */
+		public int get() {
+			int avg = average;
+			return (int)Math.min(Integer.MAX_VALUE - 8, avg + (long)(avg >>> 2));
+		}
+
+
+		/** Record the length of an output, each new length has a weight of 1/8 in the average
+		 */
+		public void record(int length) {
+			int avg = average;
+			average = Math.max(16, avg + (length - avg) / 8);
+		}
+
+	}
+
+}
@@ -0,0 +1,1117 @@
+package twg2.io.json.stringify;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/** A UTF-8 byte destination for JSON output which lets {@link JsonStringify} skip the UTF-16 char stage entirely.
+ * Bytes are written into a {@code byte[]} chunk which subclasses either grow ({@link ByteArraySink}) or drain
+ * to their destination when full ({@link ByteBufferSink}, {@link OutputStreamSink}, {@link ChannelSink}, {@link MappedFileSink}, {@link OffHeapSink}).<br>
+ * ASCII text is copied byte-for-byte, all other chars are UTF-8 encoded in place.  This class also implements
+ * {@link Appendable} so existing {@code Appendable} based code (i.e. {@link JsonWritable#toJson(Appendable, Object)})
+ * can write to it, surrogate pairs split across {@code append(char)} calls are combined correctly.<br>
+ * Not thread safe.
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public abstract class JsonByteSink implements Appendable, Flushable, Closeable {
+	/** The smallest chunk size, every {@link #require(int)} request made by this class is at most this many bytes */
+	protected static final int MIN_CHUNK_SIZE = 64;
+	static final int DEFAULT_CHUNK_SIZE = 8192;
+	/** The default {@link MappedFileSink} window size, 64MB */
+	public static final int DEFAULT_MAP_WINDOW_SIZE = 1 << 26;
+	/** The default {@link OffHeapSink} slab size, 1MB */
+	public static final int DEFAULT_SLAB_SIZE = 1 << 20;
+
+	protected byte[] buf;
+	protected int pos;
+	/** The number of bytes subclasses have moved from {@link #buf} (or written directly) to their destination */
+	protected long drained;
+	/** A high surrogate from the end of the last {@code append()} call waiting for its low surrogate, or 0 */
+	private char pendingHighSurrogate;
+
+
+	protected JsonByteSink(byte[] buf) {
+		this.buf = buf;
+	}
+
+
+	/** Make room for at least {@code n} bytes at {@link #pos} in {@link #buf} by growing or draining the chunk.
+	 * {@code buf} may be a new array after this call returns.
+	 */
+	protected abstract void require(int n) throws IOException;
+
+
+	/** The total number of bytes written to this sink, including bytes which are still buffered
+	 */
+	public long bytesWritten() {
+		return drained + pos;
+	}
+
+
+	/** Write any buffered bytes to the underlying destination, does nothing for destinations which are not buffered
+	 */
+	@Override
+	public void flush() throws IOException {
+		flushPendingSurrogate();
+	}
+
+
+	@Override
+	public void close() throws IOException {
+		flush();
+	}
+
+
+	// ==== raw bytes ====
+	/** Write a single ASCII char, the caller must ensure {@code ch < 0x80}
+	 */
+	public JsonByteSink writeAscii(char ch) throws IOException {
+		if(pendingHighSurrogate != 0) {
+			flushPendingSurrogate();
+		}
+		if(pos == buf.length) {
+			require(1);
+		}
+		buf[pos++] = (byte)ch;
+		return this;
+	}
+
+
+	/** Write a string which is known to only contain ASCII chars (i.e. JSON punctuation and keywords)
+	 */
+	public JsonByteSink writeAscii(String str) throws IOException {
+		flushPendingSurrogate();
+		int len = str.length();
+		int i = 0;
+		while(i < len) {
+			if(pos == buf.length) {
+				require(1);
+			}
+			int n = Math.min(len - i, buf.length - pos);
+			byte[] b = buf;
+			int p = pos;
+			for(int end = i + n; i < end; i++) {
+				b[p++] = (byte)str.charAt(i);
+			}
+			pos = p;
+		}
+		return this;
+	}
+
+
+	public JsonByteSink write(byte[] src) throws IOException {
+		return write(src, 0, src.length);
+	}
+
+
+	/** Write a pre-rendered {@code "name": } property name
+	 */
+	JsonByteSink writeKey(JsonKey key) throws IOException {
+		return write(key.utf8);
+	}
+
+
+	/** Write already encoded bytes (i.e. pre-rendered UTF-8 JSON)
+	 */
+	public JsonByteSink write(byte[] src, int off, int len) throws IOException {
+		flushPendingSurrogate();
+		while(len > 0) {
+			if(pos == buf.length) {
+				require(1);
+			}
+			int n = Math.min(len, buf.length - pos);
+			System.arraycopy(src, off, buf, pos, n);
+			pos += n;
+			off += n;
+			len -= n;
+		}
+		return this;
+	}
+
+
+	// ==== numbers ====
+	public JsonByteSink writeInt(int val) throws IOException {
+		char[] tmp = JsonNumberWriter.scratch();
+		return writeAsciiChars(tmp, JsonNumberWriter.writeInt(val, tmp, 0));
+	}
+
+
+	public JsonByteSink writeLong(long val) throws IOException {
+		char[] tmp = JsonNumberWriter.scratch();
+		return writeAsciiChars(tmp, JsonNumberWriter.writeLong(val, tmp, 0));
+	}
+
+
+	public JsonByteSink writeFloat(float val) throws IOException {
+		char[] tmp = JsonNumberWriter.scratch();
+		return writeAsciiChars(tmp, JsonNumberWriter.writeFloat(val, tmp, 0));
+	}
+
+
+	public JsonByteSink writeDouble(double val) throws IOException {
+		char[] tmp = JsonNumberWriter.scratch();
+		return writeAsciiChars(tmp, JsonNumberWriter.writeDouble(val, tmp, 0));
+	}
+
+
+	public JsonByteSink writeBoolean(boolean val) throws IOException {
+		return writeAscii(val ? "true" : "false");
+	}
+
+
+	/** Copy {@code src[0, len)}, which must only contain ASCII chars and must be at most {@link #MIN_CHUNK_SIZE} long
+	 */
+	private JsonByteSink writeAsciiChars(char[] src, int len) throws IOException {
+		flushPendingSurrogate();
+		if(buf.length - pos < len) {
+			require(len);
+		}
+		byte[] b = buf;
+		int p = pos;
+		for(int i = 0; i < len; i++) {
+			b[p++] = (byte)src[i];
+		}
+		pos = p;
+		return this;
+	}
+
+
+	// ==== text ====
+	/** Write a string UTF-8 encoded, without escaping.  Unpaired surrogates are written as {@code '?'}
+	 * the same as {@link String#getBytes(java.nio.charset.Charset)}
+	 */
+	public JsonByteSink writeUtf8(CharSequence str) throws IOException {
+		return writeUtf8(str, 0, str.length());
+	}
+
+
+	public JsonByteSink writeUtf8(CharSequence str, int start, int end) throws IOException {
+		flushPendingSurrogate();
+		int i = start;
+		while(i < end) {
+			int room = buf.length - pos;
+			if(room < 4) {
+				require(4);
+				room = buf.length - pos;
+			}
+			// ASCII fast path, at most 1 byte per char
+			byte[] b = buf;
+			int p = pos;
+			int runEnd = i + Math.min(end - i, room);
+			char ch = 0;
+			while(i < runEnd && (ch = str.charAt(i)) < 0x80) {
+				b[p++] = (byte)ch;
+				i++;
+			}
+			pos = p;
+			if(i < runEnd) {
+				if(pos + 4 > buf.length) {
+					require(4);
+				}
+				i = writeNonAscii(str, i, end, ch, false);
+			}
+		}
+		return this;
+	}
+
+
+	/** Write a string JSON escaped (without surrounding quotes) and UTF-8 encoded.  Unpaired surrogates are written
+	 * as {@code \}{@code uXXXX} escapes so they survive the round trip
+	 */
+	public JsonByteSink writeEscaped(CharSequence str) throws IOException {
+		return writeEscaped(str, 0, str.length());
+	}
+
+
+	public JsonByteSink writeEscaped(CharSequence str, int start, int end) throws IOException {
+		writeEscapedChars(str, start, end);
+		return this;
+	}
+
+
+	/** The escape loop of {@link #writeEscaped(CharSequence, int, int)}
+	 * @return true if {@code str[start, end)} contained any ASCII chars which needed escaping
+	 */
+	final boolean writeEscapedChars(CharSequence str, int start, int end) throws IOException {
+		flushPendingSurrogate();
+		String[] escapes = JsonEscape.ASCII_ESCAPES;
+		boolean escaped = false;
+		int i = start;
+		while(i < end) {
+			int room = buf.length - pos;
+			if(room < 6) {
+				require(6);
+				room = buf.length - pos;
+			}
+			// ASCII fast path, exactly 1 byte per char
+			byte[] b = buf;
+			int p = pos;
+			int runEnd = i + Math.min(end - i, room);
+			char ch = 0;
+			while(i < runEnd && (ch = str.charAt(i)) < 0x80 && escapes[ch] == null) {
+				b[p++] = (byte)ch;
+				i++;
+			}
+			pos = p;
+			if(i < runEnd) {
+				if(pos + 6 > buf.length) {
+					require(6);
+				}
+				if(ch < 0x80) {
+					writeAsciiEscape(escapes[ch]);
+					escaped = true;
+					i++;
+				}
+				else {
+					i = writeNonAscii(str, i, end, ch, true);
+				}
+			}
+		}
+		return escaped;
+	}
+
+
+	/** Write a single char JSON escaped (without surrounding quotes) and UTF-8 encoded
+	 */
+	public JsonByteSink writeEscaped(char ch) throws IOException {
+		flushPendingSurrogate();
+		if(buf.length - pos < 6) {
+			require(6);
+		}
+		if(ch < 0x80) {
+			String esc = JsonEscape.ASCII_ESCAPES[ch];
+			if(esc != null) {
+				writeAsciiEscape(esc);
+			}
+			else {
+				buf[pos++] = (byte)ch;
+			}
+		}
+		else if(Character.isSurrogate(ch)) {
+			pos = JsonEscape.writeUnicodeEscape(ch, buf, pos);
+		}
+		else {
+			pos = encode(ch, buf, pos);
+		}
+		return this;
+	}
+
+
+	/** Copy an escape sequence, the caller must have required at least 6 bytes
+	 */
+	private void writeAsciiEscape(String esc) {
+		byte[] b = buf;
+		int p = pos;
+		for(int k = 0, n = esc.length(); k < n; k++) {
+			b[p++] = (byte)esc.charAt(k);
+		}
+		pos = p;
+	}
+
+
+	/** Encode the non-ASCII char {@code ch} at {@code str[i]}, consuming its low surrogate if it has one.
+	 * The caller must have required at least 4 bytes (6 if {@code escapeLoneSurrogates})
+	 * @return the index of the next char to write
+	 */
+	private int writeNonAscii(CharSequence str, int i, int end, char ch, boolean escapeLoneSurrogates) {
+		if(Character.isHighSurrogate(ch) && i + 1 < end && Character.isLowSurrogate(str.charAt(i + 1))) {
+			pos = encodeSurrogatePair(ch, str.charAt(i + 1), buf, pos);
+			return i + 2;
+		}
+		if(Character.isSurrogate(ch)) {
+			if(escapeLoneSurrogates) {
+				pos = JsonEscape.writeUnicodeEscape(ch, buf, pos);
+			}
+			else {
+				buf[pos++] = '?';
+			}
+		}
+		else {
+			pos = encode(ch, buf, pos);
+		}
+		return i + 1;
+	}
+
+
+	// ==== Appendable ====
+	/** Append a char UTF-8 encoded without escaping.  A high surrogate is held until the next char is appended
+	 */
+	@Override
+	public JsonByteSink append(char ch) throws IOException {
+		if(ch < 0x80 && pendingHighSurrogate == 0) {
+			return writeAscii(ch);
+		}
+		if(buf.length - pos < 4) {
+			require(4);
+		}
+		char high = pendingHighSurrogate;
+		if(high != 0) {
+			pendingHighSurrogate = 0;
+			if(Character.isLowSurrogate(ch)) {
+				pos = encodeSurrogatePair(high, ch, buf, pos);
+				return this;
+			}
+			buf[pos++] = '?';
+		}
+		if(Character.isHighSurrogate(ch)) {
+			pendingHighSurrogate = ch;
+		}
+		else if(Character.isLowSurrogate(ch)) {
+			buf[pos++] = '?';
+		}
+		else if(ch < 0x80) {
+			buf[pos++] = (byte)ch;
+		}
+		else {
+			pos = encode(ch, buf, pos);
+		}
+		return this;
+	}
+
+
+	@Override
+	public JsonByteSink append(CharSequence csq) throws IOException {
+		if(csq == null) {
+			return writeAscii("null");
+		}
+		return append(csq, 0, csq.length());
+	}
+
+
+	@Override
+	public JsonByteSink append(CharSequence csq, int start, int end) throws IOException {
+		if(csq == null) {
+			csq = "null";
+		}
+		if(start < end && pendingHighSurrogate != 0) {
+			append(csq.charAt(start++));
+		}
+		if(start < end && Character.isHighSurrogate(csq.charAt(end - 1))) {
+			// hold a trailing high surrogate in case the next append() starts with its low surrogate
+			writeUtf8(csq, start, end - 1);
+			pendingHighSurrogate = csq.charAt(end - 1);
+			return this;
+		}
+		return writeUtf8(csq, start, end);
+	}
+
+
+	private void flushPendingSurrogate() throws IOException {
+		if(pendingHighSurrogate != 0) {
+			pendingHighSurrogate = 0;
+			if(pos == buf.length) {
+				require(1);
+			}
+			buf[pos++] = '?';
+		}
+	}
+
+
+	// ==== UTF-8 encoding ====
+	/** Encode a non-surrogate char &gt;= 0x80 as 2 or 3 bytes
+	 */
+	private static int encode(char ch, byte[] dst, int p) {
+		if(ch < 0x800) {
+			dst[p++] = (byte)(0xC0 | (ch >> 6));
+			dst[p++] = (byte)(0x80 | (ch & 0x3F));
+		}
+		else {
+			dst[p++] = (byte)(0xE0 | (ch >> 12));
+			dst[p++] = (byte)(0x80 | ((ch >> 6) & 0x3F));
+			dst[p++] = (byte)(0x80 | (ch & 0x3F));
+		}
+		return p;
+	}
+
+
+	private static int encodeSurrogatePair(char high, char low, byte[] dst, int p) {
+		int cp = Character.toCodePoint(high, low);
+		dst[p++] = (byte)(0xF0 | (cp >> 18));
+		dst[p++] = (byte)(0x80 | ((cp >> 12) & 0x3F));
+		dst[p++] = (byte)(0x80 | ((cp >> 6) & 0x3F));
+		dst[p++] = (byte)(0x80 | (cp & 0x3F));
+		return p;
+	}
+
+
+	// ==== factories ====
+	/** A sink that collects everything written in a growable {@code byte[]}
+	 */
+	public static ByteArraySink ofArray() {
+		return new ByteArraySink(256);
+	}
+
+
+	public static ByteArraySink ofArray(int initialCapacity) {
+		return new ByteArraySink(initialCapacity);
+	}
+
+
+	/** A sink that writes into {@code dst} starting at its current position.
+	 * Bytes are staged in a small chunk and copied into {@code dst} when the chunk fills and on {@link #flush()}
+	 */
+	public static ByteBufferSink of(ByteBuffer dst) {
+		return new ByteBufferSink(dst, Math.max(MIN_CHUNK_SIZE, Math.min(DEFAULT_CHUNK_SIZE, dst.remaining())));
+	}
+
+
+	/** A sink that writes to {@code dst} in {@value #DEFAULT_CHUNK_SIZE} byte chunks
+	 */
+	public static OutputStreamSink of(OutputStream dst) {
+		return new OutputStreamSink(dst, DEFAULT_CHUNK_SIZE);
+	}
+
+
+	public static OutputStreamSink of(OutputStream dst, int chunkSize) {
+		return new OutputStreamSink(dst, chunkSize);
+	}
+
+
+	/** A sink that writes to {@code dst} in {@value #DEFAULT_CHUNK_SIZE} byte chunks
+	 */
+	public static ChannelSink of(WritableByteChannel dst) {
+		return new ChannelSink(dst, DEFAULT_CHUNK_SIZE);
+	}
+
+
+	public static ChannelSink of(WritableByteChannel dst, int chunkSize) {
+		return new ChannelSink(dst, chunkSize);
+	}
+
+
+	/** A sink that writes to {@code file} through a sliding memory-mapped window, replacing any existing content.
+	 * The file is truncated to the length of the written document by {@link MappedFileSink#close()}
+	 */
+	public static MappedFileSink mapped(Path file) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+		try {
+			return new MappedFileSink(channel, 0, DEFAULT_MAP_WINDOW_SIZE, DEFAULT_CHUNK_SIZE);
+		} catch(IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+
+	/** A sink that writes to {@code channel} through a sliding memory-mapped window starting at {@code position},
+	 * i.e. {@code 0} for a new file or the length of a partial export to resume it.
+	 * The channel must be open for reading and writing
+	 */
+	public static MappedFileSink mapped(FileChannel channel, long position) throws IOException {
+		return new MappedFileSink(channel, position, DEFAULT_MAP_WINDOW_SIZE, DEFAULT_CHUNK_SIZE);
+	}
+
+
+	/** Same as {@link #mapped(FileChannel, long)} with a custom window size, pass the expected document size
+	 * (up to {@link Integer#MAX_VALUE}) to pre-size the file and write the whole document through one mapping
+	 */
+	public static MappedFileSink mapped(FileChannel channel, long position, int windowSize) throws IOException {
+		return new MappedFileSink(channel, position, windowSize, DEFAULT_CHUNK_SIZE);
+	}
+
+
+	/** A sink that collects everything written in a chain of {@value #DEFAULT_SLAB_SIZE} byte direct (off-heap) buffers,
+	 * see {@link OffHeapSink}
+	 */
+	public static OffHeapSink offHeap() {
+		return new OffHeapSink(DEFAULT_SLAB_SIZE, DEFAULT_CHUNK_SIZE);
+	}
+
+
+	public static OffHeapSink offHeap(int slabSize) {
+		return new OffHeapSink(slabSize, DEFAULT_CHUNK_SIZE);
+	}
+
+
+
+
+	/** A {@link JsonByteSink} backed by a growable {@code byte[]}
+	 * @author TeamworkGuy2
+	 * @since 2026-10-18
+	 */
+	public static final class ByteArraySink extends JsonByteSink {
+
+		public ByteArraySink(int initialCapacity) {
+			super(new byte[Math.max(MIN_CHUNK_SIZE, initialCapacity)]);
+		}
+
+
+		@Override
+		protected void require(int n) {
+			if(buf.length - pos < n) {
+				buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + n));
+			}
+		}
+
+
+		public int size() {
+			return pos;
+		}
+
+
+		/** The internal buffer, valid in the range {@code [0, size())} until the next write
+		 */
+		public byte[] array() {
+			return buf;
+		}
+
+
+		public byte[] toByteArray() {
+			return Arrays.copyOf(buf, pos);
+		}
+
+
+		public void writeTo(OutputStream out) throws IOException {
+			out.write(buf, 0, pos);
+		}
+
+
+		/** Discard the written bytes but keep the buffer for reuse
+		 */
+		public void reset() {
+			pos = 0;
+		}
+
+
+		@Override
+		public String toString() {
+			return new String(buf, 0, pos, StandardCharsets.UTF_8);
+		}
+
+	}
+
+
+
+
+	/** A {@link JsonByteSink} that writes to a {@link ByteBuffer}.
+	 * A {@link java.nio.BufferOverflowException} is thrown if the buffer runs out of space
+	 * @author TeamworkGuy2
+	 * @since 2026-10-18
+	 */
+	public static final class ByteBufferSink extends JsonByteSink {
+		private final ByteBuffer dst;
+
+
+		public ByteBufferSink(ByteBuffer dst, int chunkSize) {
+			super(new byte[Math.max(MIN_CHUNK_SIZE, chunkSize)]);
+			this.dst = dst;
+		}
+
+
+		@Override
+		protected void require(int n) {
+			drain();
+		}
+
+
+		@Override
+		public void flush() throws IOException {
+			super.flush();
+			drain();
+		}
+
+
+		private void drain() {
+			if(pos > 0) {
+				dst.put(buf, 0, pos);
+				drained += pos;
+				pos = 0;
+			}
+		}
+
+
+		public ByteBuffer getBuffer() {
+			return dst;
+		}
+
+	}
+
+
+
+
+	/** A {@link JsonByteSink} that writes to an {@link OutputStream} in fixed size chunks
+	 * @author TeamworkGuy2
+	 * @since 2026-10-18
+	 */
+	public static final class OutputStreamSink extends JsonByteSink {
+		private final OutputStream out;
+
+
+		public OutputStreamSink(OutputStream out, int chunkSize) {
+			super(new byte[Math.max(MIN_CHUNK_SIZE, chunkSize)]);
+			this.out = out;
+		}
+
+
+		@Override
+		protected void require(int n) throws IOException {
+			drain();
+		}
+
+
+		@Override
+		public JsonByteSink write(byte[] src, int off, int len) throws IOException {
+			// large pre-encoded blocks skip the chunk
+			if(len >= buf.length) {
+				drain();
+				out.write(src, off, len);
+				drained += len;
+				return this;
+			}
+			return super.write(src, off, len);
+		}
+
+
+		@Override
+		public void flush() throws IOException {
+			super.flush();
+			drain();
+			out.flush();
+		}
+
+
+		@Override
+		public void close() throws IOException {
+			try {
+				flush();
+			} finally {
+				out.close();
+			}
+		}
+
+
+		private void drain() throws IOException {
+			if(pos > 0) {
+				out.write(buf, 0, pos);
+				drained += pos;
+				pos = 0;
+			}
+		}
+
+	}
+
+
+
+
+	/** A {@link JsonByteSink} that writes to a {@link WritableByteChannel} in fixed size chunks.
+	 * The channel must be blocking, a write which accepts no bytes throws an {@link IOException}
+	 * @author TeamworkGuy2
+	 * @since 2026-10-18
+	 */
+	public static final class ChannelSink extends JsonByteSink {
+		private final WritableByteChannel out;
+		private final ByteBuffer chunk;
+
+
+		public ChannelSink(WritableByteChannel out, int chunkSize) {
+			super(new byte[Math.max(MIN_CHUNK_SIZE, chunkSize)]);
+			this.out = out;
+			this.chunk = ByteBuffer.wrap(buf);
+		}
+
+
+		@Override
+		protected void require(int n) throws IOException {
+			drain();
+		}
+
+
+		@Override
+		public void flush() throws IOException {
+			super.flush();
+			drain();
+		}
+
+
+		@Override
+		public void close() throws IOException {
+			try {
+				flush();
+			} finally {
+				out.close();
+			}
+		}
+
+
+		private void drain() throws IOException {
+			if(pos > 0) {
+				chunk.limit(pos).position(0);
+				while(chunk.hasRemaining()) {
+					if(out.write(chunk) == 0) {
+						throw new IOException("channel accepted no bytes, non-blocking channels are not supported");
+					}
+				}
+				drained += pos;
+				pos = 0;
+			}
+		}
+
+	}
+
+
+
+
+
+	/** A {@link JsonByteSink} that writes to a file through a {@link MappedByteBuffer} window.
+	 * Bytes are staged in a small chunk and copied into the mapped window, which writes them to the page cache without
+	 * write calls.  When the window fills, the next {@code windowSize} bytes of the file are mapped, growing the file
+	 * as needed.  {@link #close()} truncates the file to the end of the written document and closes the channel.<br>
+	 * Java 8 cannot unmap a buffer, old windows are released when they are garbage collected.  Some platforms
+	 * (i.e. Windows) do not allow truncating a file with mapped regions, use a window size at least as large
+	 * as the document there, or expect {@link #close()} to fail to truncate the unused tail of the last window
+	 * @author TeamworkGuy2
+	 * @since 2026-10-18
+	 */
+	public static final class MappedFileSink extends JsonByteSink {
+		private final FileChannel channel;
+		private final int windowSize;
+		private MappedByteBuffer window;
+		/** The file position of the start of {@link #window} */
+		private long windowStart;
+		private boolean closed;
+
+
+		public MappedFileSink(FileChannel channel, long position, int windowSize, int chunkSize) throws IOException {
+			super(new byte[Math.max(MIN_CHUNK_SIZE, chunkSize)]);
+			if(position < 0) {
+				throw new IllegalArgumentException("position must not be negative: " + position);
+			}
+			if(windowSize < MIN_CHUNK_SIZE) {
+				throw new IllegalArgumentException("windowSize must be at least " + MIN_CHUNK_SIZE + ": " + windowSize);
+			}
+			this.channel = channel;
+			this.windowSize = windowSize;
+			this.windowStart = position;
+			this.window = channel.map(FileChannel.MapMode.READ_WRITE, position, windowSize);
+		}
+
+
+		@Override
+		protected void require(int n) throws IOException {
+			drain();
+		}
+
+
+		@Override
+		public JsonByteSink write(byte[] src, int off, int len) throws IOException {
+			// large pre-encoded blocks skip the chunk
+			if(len >= buf.length) {
+				drain();
+				put(src, off, len);
+				drained += len;
+				return this;
+			}
+			return super.write(src, off, len);
+		}
+
+
+		/** The file position the next byte will be written at, after {@link #close()} this is the file length
+		 */
+		public long position() {
+			return windowStart + window.position() + pos;
+		}
+
+
+		/** Copy buffered bytes into the mapped window, the bytes are visible to other readers of the file but are not
+		 * forced to the storage device, see {@link #force()}
+		 */
+		@Override
+		public void flush() throws IOException {
+			super.flush();
+			drain();
+		}
+
+
+		/** Flush and force the current window to the storage device, earlier windows are written back by the OS
+		 * when it chooses or when they are released
+		 */
+		public MappedFileSink force() throws IOException {
+			flush();
+			window.force();
+			return this;
+		}
+
+
+		@Override
+		public void close() throws IOException {
+			if(closed) {
+				return;
+			}
+			closed = true;
+			try {
+				flush();
+				channel.truncate(windowStart + window.position());
+			} finally {
+				channel.close();
+			}
+		}
+
+
+		private void drain() throws IOException {
+			if(pos > 0) {
+				put(buf, 0, pos);
+				drained += pos;
+				pos = 0;
+			}
+		}
+
+
+		private void put(byte[] src, int off, int len) throws IOException {
+			while(len > 0) {
+				if(!window.hasRemaining()) {
+					windowStart += window.position();
+					window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, windowSize);
+				}
+				int n = Math.min(len, window.remaining());
+				window.put(src, off, n);
+				off += n;
+				len -= n;
+			}
+		}
+
+	}
+
+
+
+
+
+	/** A {@link JsonByteSink} that collects everything written in a chain of direct {@link ByteBuffer} slabs, so large documents
+	 * stay out of the Java heap: the only heap buffer is the small staging chunk, and when a slab fills a new one is chained
+	 * instead of copying the existing content into a larger buffer.<br>
+	 * Write the result with {@link #writeTo(GatheringByteChannel)}, which hands the slabs to the channel in gathering writes
+	 * so the output is never copied back onto the heap, or read the slabs directly with {@link #slabs()}.
+	 * {@link #reset()} keeps the slabs for the next document and {@link #close()} frees them immediately instead of
+	 * waiting for the garbage collector (when the JDK allows it and {@link #slabs()} has not handed out views of them,
+	 * otherwise they are released when collected)
+	 * @author TeamworkGuy2
+	 * @since 2026-10-18
+	 */
+	public static final class OffHeapSink extends JsonByteSink {
+		/** Frees a direct buffer's memory, null if the JDK does not allow it */
+		private static final Consumer<ByteBuffer> FREE = directBufferFreer();
+
+		private final int slabSize;
+		private final List<ByteBuffer> slabs = new ArrayList<>();
+		/** The index of the slab being filled, slabs after it are empty (kept from before a {@link #reset()}) */
+		private int current = -1;
+		/** true once {@link #slabs()} has returned views of the slabs, which {@link #close()} must not free out from under */
+		private boolean exposed;
+		private boolean closed;
+
+
+		public OffHeapSink(int slabSize, int chunkSize) {
+			super(new byte[Math.max(MIN_CHUNK_SIZE, chunkSize)]);
+			if(slabSize < MIN_CHUNK_SIZE) {
+				throw new IllegalArgumentException("slabSize must be at least " + MIN_CHUNK_SIZE + ": " + slabSize);
+			}
+			this.slabSize = slabSize;
+		}
+
+
+		@Override
+		protected void require(int n) throws IOException {
+			drain();
+		}
+
+
+		@Override
+		public JsonByteSink write(byte[] src, int off, int len) throws IOException {
+			// large pre-encoded blocks skip the chunk
+			if(len >= buf.length) {
+				drain();
+				put(src, off, len);
+				drained += len;
+				return this;
+			}
+			return super.write(src, off, len);
+		}
+
+
+		/** Move buffered bytes into the slabs
+		 */
+		@Override
+		public void flush() throws IOException {
+			super.flush();
+			drain();
+		}
+
+
+		/** Flush and return read-only views of the filled part of each slab, in order.
+		 * The views see new content written after a {@link #reset()}, and once views have been returned {@link #close()}
+		 * leaves the slabs for the garbage collector instead of freeing them, so the views stay readable
+		 */
+		public ByteBuffer[] slabs() throws IOException {
+			ByteBuffer[] res = views();
+			exposed = true;
+			return res;
+		}
+
+
+		/** Flush and write the whole document to {@code out} using gathering writes of the slabs, this sink is unchanged
+		 * and can be written again
+		 * @return the number of bytes written
+		 * @throws IOException if {@code out} accepts no bytes, i.e. a non-blocking channel which is not ready for writing
+		 */
+		public long writeTo(GatheringByteChannel out) throws IOException {
+			ByteBuffer[] srcs = views();
+			long total = 0;
+			int first = 0;
+			while(first < srcs.length) {
+				long n = out.write(srcs, first, srcs.length - first);
+				while(first < srcs.length && !srcs[first].hasRemaining()) {
+					first++;
+				}
+				if(n == 0 && first < srcs.length) {
+					throw new IOException("channel accepted no bytes after " + total + " of " + bytesWritten() + ", non-blocking channels are not supported");
+				}
+				total += n;
+			}
+			return total;
+		}
+
+
+		private ByteBuffer[] views() throws IOException {
+			flush();
+			ByteBuffer[] res = new ByteBuffer[current + 1];
+			for(int i = 0; i <= current; i++) {
+				ByteBuffer view = slabs.get(i).duplicate();
+				view.flip();
+				res[i] = view.asReadOnlyBuffer();
+			}
+			return res;
+		}
+
+
+		/** The number of slabs allocated, including empty slabs kept by {@link #reset()}
+		 */
+		public int slabCount() {
+			return slabs.size();
+		}
+
+
+		/** The off-heap memory held by this sink, in bytes
+		 */
+		public long allocatedBytes() {
+			return (long)slabs.size() * slabSize;
+		}
+
+
+		/** Discard the written bytes and keep the slabs for the next document
+		 */
+		public void reset() {
+			for(ByteBuffer slab : slabs) {
+				slab.clear();
+			}
+			current = slabs.isEmpty() ? -1 : 0;
+			pos = 0;
+			drained = 0;
+		}
+
+
+		/** Free the slabs and discard the written bytes.  If {@link #slabs()} has returned views, the slabs are left for the
+		 * garbage collector to free once the views are unreachable
+		 */
+		@Override
+		public void close() {
+			if(closed) {
+				return;
+			}
+			closed = true;
+			pos = 0;
+			if(FREE != null && !exposed) {
+				for(ByteBuffer slab : slabs) {
+					FREE.accept(slab);
+				}
+			}
+			slabs.clear();
+			current = -1;
+		}
+
+
+		private void drain() throws IOException {
+			if(pos > 0) {
+				put(buf, 0, pos);
+				drained += pos;
+				pos = 0;
+			}
+		}
+
+
+		private void put(byte[] src, int off, int len) throws IOException {
+			if(closed) {
+				throw new IOException("sink is closed");
+			}
+			ByteBuffer slab = current >= 0 ? slabs.get(current) : null;
+			while(len > 0) {
+				if(slab == null || !slab.hasRemaining()) {
+					current++;
+					if(current == slabs.size()) {
+						slabs.add(ByteBuffer.allocateDirect(slabSize));
+					}
+					slab = slabs.get(current);
+				}
+				int n = Math.min(len, slab.remaining());
+				slab.put(src, off, n);
+				off += n;
+				len -= n;
+			}
+		}
+
+
+		/** Look up the JDK internal method which frees a direct buffer: {@code sun.misc.Unsafe.invokeCleaner()} on JDK 9+,
+		 * {@code DirectBuffer.cleaner().clean()} on JDK 8
+		 */
+		private static Consumer<ByteBuffer> directBufferFreer() {
+			try {
+				Class<?> unsafeType = Class.forName("sun.misc.Unsafe");
+				Method invokeCleaner = unsafeType.getMethod("invokeCleaner", ByteBuffer.class);
+				Field theUnsafe = unsafeType.getDeclaredField("theUnsafe");
+				theUnsafe.setAccessible(true);
+				Object unsafe = theUnsafe.get(null);
+				return (buf) -> {
+					try {
+						invokeCleaner.invoke(unsafe, buf);
+					} catch(ReflectiveOperationException e) {
+						// leave the buffer for the garbage collector
+					}
+				};
+			} catch(ReflectiveOperationException | RuntimeException | LinkageError e) {
+				// JDK 8
+			}
+			try {
+				Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+				Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+				return (buf) -> {
+					try {
+						Object c = cleaner.invoke(buf);
+						if(c != null) {
+							clean.invoke(c);
+						}
+					} catch(ReflectiveOperationException e) {
+						// leave the buffer for the garbage collector
+					}
+				};
+			} catch(ReflectiveOperationException | RuntimeException | LinkageError e) {
+				return null;
+			}
+		}
+
+	}
+
+}
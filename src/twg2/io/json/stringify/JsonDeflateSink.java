@@ -0,0 +1,280 @@
+package twg2.io.json.stringify;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/** A {@link JsonByteSink} which compresses its output as it is written.  Each time the chunk fills it is fed straight
+ * to a {@link Deflater} and the compressed bytes are written to the destination stream, so memory use is bounded by the
+ * chunk and output buffer sizes (plus the deflater's own window) no matter how large the document is, and the JSON
+ * is never held in full, neither as chars nor as uncompressed bytes.<br>
+ * Output is gzip ({@code Content-Encoding: gzip}), zlib ({@code Content-Encoding: deflate}), or raw deflate,
+ * with a configurable compression level and strategy.  With {@code syncFlush} enabled, {@link #flush()} ends the
+ * current deflate block with a {@link Deflater#SYNC_FLUSH} so a streaming reader can decompress everything written so far.
+ * {@link #finish()} writes the end of the compressed stream without closing the destination, {@link #close()} finishes
+ * and closes it.  Deflaters are borrowed from {@link DeflaterPool#inst} and returned by {@link #finish()}.<br>
+ * Not thread safe.
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public final class JsonDeflateSink extends JsonByteSink {
+
+	/** The compressed stream format
+	 */
+	public enum Format {
+		/** RFC 1952 gzip */
+		GZIP,
+		/** RFC 1950 zlib, HTTP's {@code deflate} content encoding */
+		ZLIB,
+		/** RFC 1951 deflate with no header or checksum */
+		RAW;
+	}
+
+
+	private static final byte[] GZIP_HEADER = { 0x1F, (byte)0x8B, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0 };
+
+	private final OutputStream out;
+	private final Format format;
+	private final boolean syncFlush;
+	private final byte[] outBuf;
+	private final CRC32 crc;
+	private Deflater deflater;
+	private long compressedBytes;
+	private boolean finished;
+
+
+	/**
+	 * @param out the destination for the compressed bytes
+	 * @param level the compression level, 0-9 or {@link Deflater#DEFAULT_COMPRESSION}
+	 * @param strategy {@link Deflater#DEFAULT_STRATEGY}, {@link Deflater#FILTERED}, or {@link Deflater#HUFFMAN_ONLY}
+	 * @param syncFlush true to end a deflate block on each {@link #flush()} so readers can decompress all output written so far,
+	 * false to only flush the destination stream (better compression)
+	 * @param chunkSize the size of the uncompressed chunk and the compressed output buffer
+	 */
+	public JsonDeflateSink(OutputStream out, Format format, int level, int strategy, boolean syncFlush, int chunkSize) throws IOException {
+		super(new byte[Math.max(MIN_CHUNK_SIZE, chunkSize)]);
+		this.out = out;
+		this.format = format;
+		this.syncFlush = syncFlush;
+		this.outBuf = new byte[Math.max(MIN_CHUNK_SIZE, chunkSize)];
+		this.crc = format == Format.GZIP ? new CRC32() : null;
+		this.deflater = DeflaterPool.inst.borrow(level, strategy, format != Format.ZLIB);
+		if(format == Format.GZIP) {
+			try {
+				out.write(GZIP_HEADER);
+			} catch(IOException | RuntimeException e) {
+				DeflaterPool.inst.release(deflater, true);
+				throw e;
+			}
+			compressedBytes += GZIP_HEADER.length;
+		}
+	}
+
+
+	/** A gzip sink with the default compression level and strategy and no sync flushing
+	 */
+	public static JsonDeflateSink gzip(OutputStream out) throws IOException {
+		return new JsonDeflateSink(out, Format.GZIP, Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY, false, DEFAULT_CHUNK_SIZE);
+	}
+
+
+	/** A sink with {@value JsonByteSink#DEFAULT_CHUNK_SIZE} byte chunks, see {@link #JsonDeflateSink(OutputStream, Format, int, int, boolean, int)}
+	 */
+	public static JsonDeflateSink of(OutputStream out, Format format, int level, int strategy, boolean syncFlush) throws IOException {
+		return new JsonDeflateSink(out, format, level, strategy, syncFlush, DEFAULT_CHUNK_SIZE);
+	}
+
+
+	public Format getFormat() {
+		return format;
+	}
+
+
+	/** The number of compressed bytes written to the destination so far, including the header and trailer
+	 */
+	public long compressedBytes() {
+		return compressedBytes;
+	}
+
+
+	@Override
+	protected void require(int n) throws IOException {
+		drain();
+	}
+
+
+	@Override
+	public JsonByteSink write(byte[] src, int off, int len) throws IOException {
+		// large pre-encoded blocks skip the chunk
+		if(len >= buf.length) {
+			drain();
+			compress(src, off, len);
+			drained += len;
+			return this;
+		}
+		return super.write(src, off, len);
+	}
+
+
+	/** Compress buffered bytes and flush the destination stream, with {@code syncFlush} the pending deflate block is also
+	 * ended so all bytes written so far can be decompressed by the reader
+	 */
+	@Override
+	public void flush() throws IOException {
+		super.flush();
+		drain();
+		if(syncFlush && !finished) {
+			int n;
+			do {
+				n = deflater.deflate(outBuf, 0, outBuf.length, Deflater.SYNC_FLUSH);
+				writeOut(n);
+			} while(n == outBuf.length);
+		}
+		out.flush();
+	}
+
+
+	/** Compress the remaining bytes and write the end of the compressed stream (and the gzip trailer), the destination
+	 * stream is flushed but not closed.  Nothing can be written after this call
+	 */
+	public void finish() throws IOException {
+		if(finished) {
+			return;
+		}
+		super.flush();
+		drain();
+		finished = true;
+		try {
+			deflater.finish();
+			while(!deflater.finished()) {
+				writeOut(deflater.deflate(outBuf, 0, outBuf.length));
+			}
+			if(format == Format.GZIP) {
+				writeIntLE((int)crc.getValue(), outBuf, 0);
+				writeIntLE((int)bytesWritten(), outBuf, 4);
+				writeOut(8);
+			}
+			out.flush();
+		} finally {
+			DeflaterPool.inst.release(deflater, format != Format.ZLIB);
+			deflater = null;
+		}
+	}
+
+
+	/** Finish the compressed stream and close the destination
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			finish();
+		} finally {
+			out.close();
+		}
+	}
+
+
+	private void drain() throws IOException {
+		if(pos > 0) {
+			compress(buf, 0, pos);
+			drained += pos;
+			pos = 0;
+		}
+	}
+
+
+	/** Feed bytes to the deflater and write the compressed output, the deflater keeps no reference to {@code src} after this returns
+	 */
+	private void compress(byte[] src, int off, int len) throws IOException {
+		if(finished) {
+			throw new IOException("compressed stream is finished");
+		}
+		if(crc != null) {
+			crc.update(src, off, len);
+		}
+		deflater.setInput(src, off, len);
+		while(!deflater.needsInput()) {
+			writeOut(deflater.deflate(outBuf, 0, outBuf.length));
+		}
+	}
+
+
+	private void writeOut(int n) throws IOException {
+		if(n > 0) {
+			out.write(outBuf, 0, n);
+			compressedBytes += n;
+		}
+	}
+
+
+	private static void writeIntLE(int val, byte[] dst, int off) {
+		dst[off] = (byte)val;
+		dst[off + 1] = (byte)(val >>> 8);
+		dst[off + 2] = (byte)(val >>> 16);
+		dst[off + 3] = (byte)(val >>> 24);
+	}
+
+
+
+
+	/** A bounded, lock free pool of {@link Deflater}s, which are expensive to create (native zlib state and a window of
+	 * several hundred KB).  Deflaters with and without the zlib wrapper are pooled separately, the level and strategy are
+	 * set on each borrow.  Deflaters which do not fit in the pool are {@link Deflater#end() ended}.<br>
+	 * Thread safe.
+	 * @author TeamworkGuy2
+	 * @since 2026-10-18
+	 */
+	public static final class DeflaterPool {
+		/** Two slots per processor for each wrapper type */
+		public static final DeflaterPool inst = new DeflaterPool(2 * Runtime.getRuntime().availableProcessors());
+
+		private final AtomicReferenceArray<Deflater> wrapped;
+		private final AtomicReferenceArray<Deflater> raw;
+
+
+		public DeflaterPool(int slots) {
+			if(slots < 1) {
+				throw new IllegalArgumentException("slots must be positive: " + slots);
+			}
+			this.wrapped = new AtomicReferenceArray<>(slots);
+			this.raw = new AtomicReferenceArray<>(slots);
+		}
+
+
+		/** Borrow a reset deflater, return it with {@link #release(Deflater)}
+		 * @param nowrap true for raw deflate output (also used for gzip), false for zlib output
+		 */
+		public Deflater borrow(int level, int strategy, boolean nowrap) {
+			AtomicReferenceArray<Deflater> slots = nowrap ? raw : wrapped;
+			for(int i = 0, n = slots.length(); i < n; i++) {
+				Deflater d = slots.get(i);
+				if(d != null && slots.compareAndSet(i, d, null)) {
+					d.setLevel(level);
+					d.setStrategy(strategy);
+					return d;
+				}
+			}
+			Deflater d = new Deflater(level, nowrap);
+			d.setStrategy(strategy);
+			return d;
+		}
+
+
+		/** Reset a deflater and return it to the pool, the deflater must not be used after this call
+		 * @param nowrap the value the deflater was borrowed with
+		 */
+		public void release(Deflater d, boolean nowrap) {
+			d.reset();
+			AtomicReferenceArray<Deflater> slots = nowrap ? raw : wrapped;
+			for(int i = 0, n = slots.length(); i < n; i++) {
+				if(slots.get(i) == null && slots.compareAndSet(i, null, d)) {
+					return;
+				}
+			}
+			d.end();
+		}
+	}
+
+}
@@ -0,0 +1,184 @@
+package twg2.io.json.stringify;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/** JSON string escaping rules shared by the char and byte writers, and a scan-and-copy escaper for char output.
+ * {@code "} and {@code \} are backslash escaped, control chars use their short escape
+ * ({@code \b \f \n \r \t}) if they have one, otherwise a lowercase {@code \}{@code u00xx} escape.
+ * All other chars, including non-ASCII chars, are written as-is.<br>
+ * The {@code escape()} methods scan ahead for the next char which needs escaping, four chars per step using a
+ * flag table indexed by char, then copy the clean span to the destination in one call and write the escape sequence,
+ * so strings with nothing to escape cost one scan and one bulk copy and no intermediate strings are created.
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public final class JsonEscape {
+	/** The escape sequence for each ASCII char which needs escaping, null for chars which can be written as-is */
+	static final String[] ASCII_ESCAPES = new String[128];
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+	/** 1 for each char which needs escaping, indexed by char so that the scan loop needs no range check */
+	private static final byte[] ESCAPE_FLAGS = new byte[65536];
+
+	static {
+		for(int i = 0; i < 0x20; i++) {
+			ASCII_ESCAPES[i] = "\\u00" + HEX[i >> 4] + HEX[i & 0xF];
+		}
+		ASCII_ESCAPES['\b'] = "\\b";
+		ASCII_ESCAPES['\f'] = "\\f";
+		ASCII_ESCAPES['\n'] = "\\n";
+		ASCII_ESCAPES['\r'] = "\\r";
+		ASCII_ESCAPES['\t'] = "\\t";
+		ASCII_ESCAPES['"'] = "\\\"";
+		ASCII_ESCAPES['\\'] = "\\\\";
+		for(int i = 0; i < ASCII_ESCAPES.length; i++) {
+			ESCAPE_FLAGS[i] = (byte)(ASCII_ESCAPES[i] != null ? 1 : 0);
+		}
+	}
+
+
+	private JsonEscape() { throw new AssertionError("cannot instantiate static class JsonEscape"); }
+
+
+	public static boolean needsEscape(char ch) {
+		return ch < 0x80 && ASCII_ESCAPES[ch] != null;
+	}
+
+
+	/** Find the next char which needs escaping
+	 * @return the index of the first char in {@code [from, to)} which needs escaping, or {@code to} if there is none
+	 */
+	public static int indexOfEscape(CharSequence src, int from, int to) {
+		byte[] flags = ESCAPE_FLAGS;
+		int i = from;
+		for(int end4 = to - 3; i < end4; i += 4) {
+			if((flags[src.charAt(i)] | flags[src.charAt(i + 1)] | flags[src.charAt(i + 2)] | flags[src.charAt(i + 3)]) != 0) {
+				break;
+			}
+		}
+		for(; i < to; i++) {
+			if(flags[src.charAt(i)] != 0) {
+				return i;
+			}
+		}
+		return to;
+	}
+
+
+	public static void escape(CharSequence src, Appendable dst) throws IOException {
+		escape(src, 0, src.length(), dst);
+	}
+
+
+	/** JSON escape {@code src[start, end)} (without surrounding quotes) and append it to {@code dst}.
+	 * A source with nothing to escape is appended with one {@link Appendable#append(CharSequence)} call,
+	 * a {@link Target} destination (i.e. {@link JsonLength}) handles the text itself
+	 */
+	public static void escape(CharSequence src, int start, int end, Appendable dst) throws IOException {
+		if(dst instanceof Target) {
+			((Target)dst).appendEscaped(src, start, end);
+			return;
+		}
+		escapeChars(src, start, end, dst);
+	}
+
+
+	/** Append a single char JSON escaped (without surrounding quotes) to {@code dst}
+	 */
+	public static void escape(char ch, Appendable dst) throws IOException {
+		if(dst instanceof Target) {
+			((Target)dst).appendEscaped(ch);
+			return;
+		}
+		escapeChar(ch, dst);
+	}
+
+
+	/** The escape loop of {@link #escape(CharSequence, int, int, Appendable)}, without the {@link Target} check
+	 * @return true if {@code src[start, end)} contained any chars which needed escaping
+	 */
+	static boolean escapeChars(CharSequence src, int start, int end, Appendable dst) throws IOException {
+		int i = start;
+		boolean escaped = false;
+		while(i < end) {
+			int next = indexOfEscape(src, i, end);
+			if(next > i) {
+				appendSpan(src, i, next, dst);
+			}
+			if(next == end) {
+				break;
+			}
+			dst.append(ASCII_ESCAPES[src.charAt(next)]);
+			escaped = true;
+			i = next + 1;
+		}
+		return escaped;
+	}
+
+
+	/** {@link #escape(char, Appendable)} without the {@link Target} check
+	 */
+	static void escapeChar(char ch, Appendable dst) throws IOException {
+		String esc;
+		if(ch < 0x80 && (esc = ASCII_ESCAPES[ch]) != null) {
+			dst.append(esc);
+		}
+		else {
+			dst.append(ch);
+		}
+	}
+
+
+	/** Copy a clean span, whole strings go through {@code append(CharSequence)} (an array copy for {@link StringBuilder}s)
+	 * and {@link Writer}s get {@link Writer#write(String, int, int)} since their {@code append(CharSequence, int, int)}
+	 * creates a substring
+	 */
+	private static void appendSpan(CharSequence src, int start, int end, Appendable dst) throws IOException {
+		if(start == 0 && end == src.length()) {
+			dst.append(src);
+		}
+		else if(dst instanceof Writer && src instanceof String) {
+			((Writer)dst).write((String)src, start, end - start);
+		}
+		else {
+			dst.append(src, start, end);
+		}
+	}
+
+
+	/** Write a {@code \}{@code uXXXX} escape for any char as ASCII bytes (used for lone surrogates in UTF-8 output)
+	 * @return the offset after the last byte written
+	 */
+	static int writeUnicodeEscape(char ch, byte[] dst, int off) {
+		dst[off] = '\\';
+		dst[off + 1] = 'u';
+		dst[off + 2] = (byte)HEX[(ch >> 12) & 0xF];
+		dst[off + 3] = (byte)HEX[(ch >> 8) & 0xF];
+		dst[off + 4] = (byte)HEX[(ch >> 4) & 0xF];
+		dst[off + 5] = (byte)HEX[ch & 0xF];
+		return off + 6;
+	}
+
+
+
+
+	/** A destination which takes escaped strings and pre-rendered {@link JsonKey}s as a whole instead of as the chars
+	 * they are written as, i.e. {@link JsonLength} which measures them without writing them.  The writers in this
+	 * package check for this interface once per string or key
+	 */
+	interface Target extends Appendable {
+
+		/** Write, or account for, {@code src[start, end)} JSON escaped, see {@link JsonEscape#escape(CharSequence, int, int, Appendable)}
+		 */
+		public void appendEscaped(CharSequence src, int start, int end) throws IOException;
+
+		/** Write, or account for, {@code ch} JSON escaped, see {@link JsonEscape#escape(char, Appendable)}
+		 */
+		public void appendEscaped(char ch) throws IOException;
+
+		/** Write, or account for, a pre-rendered {@code "name": } property name
+		 */
+		public void appendKey(JsonKey key) throws IOException;
+	}
+
+}
@@ -0,0 +1,389 @@
+package twg2.io.json.stringify;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/** A bounded cache of pre-rendered JSON for immutable {@link JsonWritable} objects, i.e. reference data or configuration
+ * which is embedded in many larger documents.  Each cached {@link Fragment} holds the rendered text as a {@link String},
+ * a {@code char[]}, and UTF-8 bytes, and is itself a {@link JsonWritable}, so it can be passed to
+ * {@link JsonStringify#toProp(JsonKey, JsonFragmentCache.Fragment, Appendable)}, to {@code toArray()} as an element, or to another
+ * {@link JsonWritable}'s {@code toJson()}, and is written with a single bulk copy.<br>
+ * Entries are keyed by the identity of the {@link JsonWritable} plus {@code params} ({@link #get(JsonWritable, Object)}),
+ * or by a caller supplied version key, compared with {@code equals()}, plus {@code params} ({@link #get(Object, JsonWritable, Object)}).
+ * Approximately least recently used entries are evicted once the cached fragments exceed {@code maxBytes}, and entries can
+ * be removed explicitly with {@link #invalidate(Object)}.  Cached objects are strongly referenced until evicted or invalidated.<br>
+ * Hits are lock free: a lookup is a {@link ConcurrentHashMap} read plus setting the entry's referenced flag, which is only
+ * written if it is not already set.  Eviction uses the CLOCK (second chance) approximation of LRU: entries are kept in
+ * insertion order, and an entry referenced since the last sweep is moved to the back instead of being evicted.  Adding,
+ * evicting, and invalidating entries take the cache lock.  Rendering happens outside the lock, two threads which miss on
+ * the same key at the same time may both render it, the first one cached is kept.<br>
+ * Thread safe.
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public final class JsonFragmentCache {
+	/** The approximate fixed heap cost of an entry (key, fragment, and map entry objects and array headers), in bytes */
+	private static final int ENTRY_OVERHEAD = 160;
+
+	private final long maxBytes;
+	/** read without locking, modified while holding {@link #lock} */
+	private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>(64);
+	/** the cached entries in eviction order, guarded by {@link #lock} */
+	private final ArrayDeque<Entry> evictionQueue = new ArrayDeque<>();
+	private final Object lock = new Object();
+	/** guarded by {@link #lock} */
+	private long bytes;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+
+	/**
+	 * @param maxBytes the maximum approximate heap size of the cached fragments, fragments larger than this are rendered but not cached
+	 */
+	public JsonFragmentCache(long maxBytes) {
+		if(maxBytes < 1) {
+			throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+		}
+		this.maxBytes = maxBytes;
+	}
+
+
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+
+	/** Return the cached fragment for {@code obj} (by identity) and {@code params}, rendering and caching it on a miss
+	 */
+	public <T> Fragment get(JsonWritable<T> obj, T params) {
+		return get(new Key(obj, true, params), obj, params);
+	}
+
+
+	/** Return the cached fragment for {@code versionKey} (by {@code equals()}) and {@code params}, rendering {@code obj}
+	 * and caching it on a miss.  Use a key which changes whenever the rendered output would, i.e. an ID and version number
+	 */
+	public <T> Fragment get(Object versionKey, JsonWritable<T> obj, T params) {
+		return get(new Key(versionKey, false, params), obj, params);
+	}
+
+
+	/** Write {@code obj}'s cached fragment to {@code dst}, see {@link #get(JsonWritable, Object)}
+	 */
+	public <T> JsonFragmentCache write(JsonWritable<T> obj, T params, Appendable dst) throws IOException {
+		get(obj, params).toJson(dst, null);
+		return this;
+	}
+
+
+	/** Write {@code obj}'s cached fragment to {@code dst}, see {@link #get(JsonWritable, Object)}
+	 */
+	public <T> JsonFragmentCache write(JsonWritable<T> obj, T params, JsonByteSink dst) throws IOException {
+		get(obj, params).toJson(dst, null);
+		return this;
+	}
+
+
+	/** A {@link JsonWritable} which writes {@code obj} through this cache, keyed by {@code obj}'s identity and the {@code params}
+	 * passed to each {@code toJson()} call.  Use it to compose cached objects into other {@link JsonWritable}s or arrays
+	 */
+	public <T> JsonWritable<T> cached(JsonWritable<T> obj) {
+		return new JsonWritable<T>() {
+			@Override
+			public void toJson(Appendable dst, T params) throws IOException {
+				get(obj, params).toJson(dst, null);
+			}
+
+			@Override
+			public void toJson(JsonByteSink dst, T params) throws IOException {
+				get(obj, params).toJson(dst, null);
+			}
+		};
+	}
+
+
+	/** Remove all entries keyed by {@code key}, either a {@link JsonWritable} cached by identity or a version key, for any params
+	 * @return the number of entries removed
+	 */
+	public int invalidate(Object key) {
+		int removed = 0;
+		synchronized(lock) {
+			for(Iterator<Entry> iter = evictionQueue.iterator(); iter.hasNext(); ) {
+				Entry entry = iter.next();
+				if(entry.key.matches(key)) {
+					entries.remove(entry.key, entry);
+					bytes -= entry.fragment.byteSize();
+					iter.remove();
+					removed++;
+				}
+			}
+		}
+		return removed;
+	}
+
+
+	/** Remove all entries
+	 */
+	public void invalidateAll() {
+		synchronized(lock) {
+			entries.clear();
+			evictionQueue.clear();
+			bytes = 0;
+		}
+	}
+
+
+	/** The number of cached fragments
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+
+	/** The approximate heap size of the cached fragments, in bytes
+	 */
+	public long byteSize() {
+		synchronized(lock) {
+			return bytes;
+		}
+	}
+
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+
+	/** The fraction of lookups which were hits, 0 if there have been no lookups
+	 */
+	public double hitRatio() {
+		long hitCount = hits.sum();
+		long total = hitCount + misses.sum();
+		return total > 0 ? hitCount / (double)total : 0.0;
+	}
+
+
+	/** Reset the hit, miss, and eviction counters
+	 */
+	public void resetStats() {
+		hits.reset();
+		misses.reset();
+		evictions.reset();
+	}
+
+
+	private <T> Fragment get(Key key, JsonWritable<T> obj, T params) {
+		Entry entry = entries.get(key);
+		if(entry != null) {
+			if(!entry.referenced) {
+				entry.referenced = true;
+			}
+			hits.increment();
+			return entry.fragment;
+		}
+		misses.increment();
+
+		Fragment frag = Fragment.render(obj, params);
+		long size = frag.byteSize();
+		if(size <= maxBytes) {
+			synchronized(lock) {
+				entry = new Entry(key, frag);
+				Entry prev = entries.putIfAbsent(key, entry);
+				if(prev != null) {
+					return prev.fragment;
+				}
+				evictionQueue.addLast(entry);
+				bytes += size;
+				evict();
+			}
+		}
+		return frag;
+	}
+
+
+	/** Remove entries until the cache fits in {@link #maxBytes}, oldest first, skipping (and clearing the flag of) entries
+	 * referenced since they were last checked.  Must hold {@link #lock}
+	 */
+	private void evict() {
+		while(bytes > maxBytes) {
+			Entry entry = evictionQueue.pollFirst();
+			if(entry.referenced) {
+				entry.referenced = false;
+				evictionQueue.addLast(entry);
+			}
+			else {
+				entries.remove(entry.key, entry);
+				bytes -= entry.fragment.byteSize();
+				evictions.increment();
+			}
+		}
+	}
+
+
+
+
+	/** A cached fragment and whether it has been read since the last eviction sweep passed it
+	 */
+	private static final class Entry {
+		final Key key;
+		final Fragment fragment;
+		/** set without locking by readers, cleared by {@link JsonFragmentCache#evict()} */
+		volatile boolean referenced;
+
+
+		Entry(Key key, Fragment fragment) {
+			this.key = key;
+			this.fragment = fragment;
+		}
+	}
+
+
+
+
+	/** Pre-rendered JSON text, written with a single bulk copy.
+	 * Create fragments through a {@link JsonFragmentCache} or directly with {@link #of(JsonWritable, Object)}.<br>
+	 * Immutable and thread safe, the {@code params} passed to {@code toJson()} are ignored.
+	 * @author TeamworkGuy2
+	 * @since 2026-10-18
+	 */
+	public static final class Fragment implements JsonWritable<Object> {
+		final String text;
+		final char[] chars;
+		final byte[] utf8;
+
+
+		private Fragment(String text, byte[] utf8) {
+			this.text = text;
+			this.chars = text.toCharArray();
+			this.utf8 = utf8;
+		}
+
+
+		/** Render {@code obj} to a new, uncached, fragment
+		 */
+		public static <T> Fragment of(JsonWritable<T> obj, T params) {
+			return render(obj, params);
+		}
+
+
+		/** The length of the rendered text in chars
+		 */
+		public int length() {
+			return chars.length;
+		}
+
+
+		/** The length of the rendered text in UTF-8 bytes
+		 */
+		public int utf8Length() {
+			return utf8.length;
+		}
+
+
+		@Override
+		public void toJson(Appendable dst, Object params) throws IOException {
+			if(dst instanceof StringBuilder) {
+				((StringBuilder)dst).append(chars);
+			}
+			else {
+				dst.append(text);
+			}
+		}
+
+
+		@Override
+		public void toJson(JsonByteSink dst, Object params) throws IOException {
+			dst.write(utf8);
+		}
+
+
+		@Override
+		public String toString() {
+			return text;
+		}
+
+
+		/** The approximate heap size of this fragment and its cache entry
+		 */
+		long byteSize() {
+			// the String and char[] copies of the text plus the UTF-8 bytes
+			return 4L * chars.length + utf8.length + ENTRY_OVERHEAD;
+		}
+
+
+		static <T> Fragment render(JsonWritable<T> obj, T params) {
+			try {
+				StringBuilder sb = new StringBuilder();
+				obj.toJson(sb, params);
+				String text = sb.toString();
+				JsonByteSink.ByteArraySink bytes = JsonByteSink.ofArray(text.length() + 16);
+				bytes.writeUtf8(text);
+				return new Fragment(text, bytes.toByteArray());
+			} catch(IOException ioe) {
+				throw new UncheckedIOException(ioe);
+			}
+		}
+	}
+
+
+
+
+	/** A cache key, an object compared by identity or by {@code equals()}, plus params compared by {@code equals()}
+	 */
+	private static final class Key {
+		private final Object obj;
+		private final boolean identity;
+		private final Object params;
+		private final int hash;
+
+
+		Key(Object obj, boolean identity, Object params) {
+			this.obj = obj;
+			this.identity = identity;
+			this.params = params;
+			this.hash = (identity ? System.identityHashCode(obj) : Objects.hashCode(obj)) * 31 + Objects.hashCode(params);
+		}
+
+
+		boolean matches(Object key) {
+			return identity ? obj == key : Objects.equals(obj, key);
+		}
+
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+
+		@Override
+		public boolean equals(Object other) {
+			if(other == this) {
+				return true;
+			}
+			if(!(other instanceof Key)) {
+				return false;
+			}
+			Key key = (Key)other;
+			return identity == key.identity && hash == key.hash && (identity ? obj == key.obj : Objects.equals(obj, key.obj))
+					&& Objects.equals(params, key.params);
+		}
+	}
+
+}
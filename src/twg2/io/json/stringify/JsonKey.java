@@ -0,0 +1,108 @@
+package twg2.io.json.stringify;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** A pre-rendered JSON property name, the JSON escaped and quoted name plus the {@code ": "} separator.
+ * The rendered text is stored as a {@link String}, a {@code char[]}, and UTF-8 bytes so that
+ * {@link JsonStringify#propName(JsonKey, Appendable)} and the {@code toProp(JsonKey, ...)} overloads
+ * write the whole {@code "name": } prefix with a single bulk copy.<br>
+ * Instances are immutable and thread safe.  Create keys once (i.e. in static fields) with {@link #of(String)},
+ * or look them up with {@link #intern(String)} which shares instances through a bounded cache.
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public final class JsonKey {
+	/** The maximum number of keys kept by {@link #intern(String)} */
+	public static final int MAX_INTERNED = 4096;
+
+	private static final ConcurrentHashMap<String, JsonKey> interned = new ConcurrentHashMap<>();
+
+	private final String name;
+	/** {@code "escaped-name": } */
+	final String text;
+	final char[] chars;
+	final byte[] utf8;
+	/** true if the name contains chars which needed escaping */
+	final boolean escaped;
+
+
+	private JsonKey(String name) {
+		this.name = name;
+		try {
+			StringBuilder sb = new StringBuilder(name.length() + 8).append('"');
+			JsonEscape.escape(name, sb);
+			this.text = sb.append("\": ").toString();
+			this.chars = this.text.toCharArray();
+			JsonByteSink.ByteArraySink bytes = JsonByteSink.ofArray(name.length() + 8);
+			bytes.writeAscii('"').writeEscaped(name).writeAscii("\": ");
+			this.utf8 = bytes.toByteArray();
+			this.escaped = this.text.length() != name.length() + 4;
+		} catch(IOException ioe) {
+			throw new UncheckedIOException(ioe);
+		}
+	}
+
+
+	/** The unescaped property name
+	 */
+	public String getName() {
+		return name;
+	}
+
+
+	/** The length of the rendered {@code "name": } text in chars
+	 */
+	public int length() {
+		return chars.length;
+	}
+
+
+	/** The length of the rendered {@code "name": } text in UTF-8 bytes
+	 */
+	public int utf8Length() {
+		return utf8.length;
+	}
+
+
+	@Override
+	public String toString() {
+		return text;
+	}
+
+
+	/** Create a new, uncached, key
+	 */
+	public static JsonKey of(String name) {
+		return new JsonKey(name);
+	}
+
+
+	/** Return a shared key for {@code name}.  Up to {@link #MAX_INTERNED} distinct names are cached, once the cache is
+	 * full new names are rendered on each call, so this is safe to use with unbounded sets of names but only
+	 * saves work for stable ones
+	 */
+	public static JsonKey intern(String name) {
+		JsonKey key = interned.get(name);
+		if(key == null) {
+			key = new JsonKey(name);
+			if(interned.size() < MAX_INTERNED) {
+				JsonKey prev = interned.putIfAbsent(name, key);
+				if(prev != null) {
+					key = prev;
+				}
+			}
+		}
+		return key;
+	}
+
+
+	/** The cached key for {@code name} if one was already created by {@link #intern(String)}, else null.
+	 * Used by writers which should benefit from cached keys without filling the cache with data-dependent names
+	 */
+	static JsonKey cached(String name) {
+		return interned.get(name);
+	}
+
+}
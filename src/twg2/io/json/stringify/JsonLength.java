@@ -0,0 +1,288 @@
+package twg2.io.json.stringify;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import twg2.functions.ConsumerIo;
+
+/** An {@link Appendable} which writes nothing and instead counts the exact length of the text appended to it, in chars
+ * and in UTF-8 bytes.  Pass it to any {@code toArray()}, {@code toProp()}, {@code toObject()} or {@link JsonWritable#toJson(Appendable, Object)}
+ * call to measure the output of that call, then allocate the destination once ({@link #newStringBuilder()},
+ * {@link #newByteSink()}) or send the byte length ahead of the body, i.e. as an HTTP {@code Content-Length}.<br>
+ * The writers in this package recognize this class and count instead of formatting: integer lengths are computed from
+ * their digit counts ({@link JsonNumberWriter#intLength(int)}), escaped strings are scanned once and each escape adds its
+ * sequence length, and separators, keys, and other text are counted as they are appended.  Floating point lengths
+ * require the shortest digit search, so floats and doubles are formatted to a scratch buffer, but not copied.<br>
+ * {@link #chars()} is the length of the {@link Appendable}/{@link StringBuilder} output, {@link #utf8Bytes()} is the length
+ * of the {@link JsonByteSink} output of the same call, the two differ only in how unpaired surrogates are written.<br>
+ * Not thread safe.
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public final class JsonLength implements JsonEscape.Target {
+	/** The extra chars written for each ASCII char by {@link JsonEscape}, 0 for chars which are written as-is */
+	private static final byte[] ASCII_ESCAPE_EXTRA = new byte[128];
+	/** The extra length of each char when escaped, indexed by char so the counting loop has no branches:
+	 * the low 4 bits are the extra chars (escape sequence length - 1), the next 3 bits are the extra UTF-8 bytes
+	 * (the same for ASCII escapes, 1 or 2 for non-ASCII chars), surrogates are negative since they depend on the next char */
+	private static final byte[] ESCAPED_EXTRA = new byte[65536];
+
+	static {
+		for(int i = 0; i < ASCII_ESCAPE_EXTRA.length; i++) {
+			String esc = JsonEscape.ASCII_ESCAPES[i];
+			ASCII_ESCAPE_EXTRA[i] = (byte)(esc != null ? esc.length() - 1 : 0);
+			ESCAPED_EXTRA[i] = (byte)(ASCII_ESCAPE_EXTRA[i] | ASCII_ESCAPE_EXTRA[i] << 4);
+		}
+		for(int i = 0x80; i < ESCAPED_EXTRA.length; i++) {
+			ESCAPED_EXTRA[i] = (byte)(Character.isSurrogate((char)i) ? -1 : (i < 0x800 ? 1 : 2) << 4);
+		}
+	}
+
+	private long chars;
+	private long utf8Bytes;
+	/** true if the last char appended was a high surrogate, which is held by {@link JsonByteSink} until the next char */
+	private boolean pendingHighSurrogate;
+
+
+	public JsonLength() {
+	}
+
+
+	/** Measure the output of {@code obj.toJson(dst, params)}
+	 */
+	public static <T> JsonLength of(JsonWritable<T> obj, T params) throws IOException {
+		JsonLength len = new JsonLength();
+		obj.toJson(len, params);
+		return len;
+	}
+
+
+	/** Measure the output of any write call, i.e. {@code JsonLength.of((dst) -> JsonStringify.inst.toArray(vals, dst))}
+	 */
+	public static JsonLength of(ConsumerIo<? super Appendable> writer) throws IOException {
+		JsonLength len = new JsonLength();
+		writer.accept(len);
+		return len;
+	}
+
+
+	/** Measure an object, then render it to a {@link StringBuilder} allocated with exactly the measured capacity
+	 */
+	public static <T> String render(JsonWritable<T> obj, T params) {
+		try {
+			StringBuilder sb = of(obj, params).newStringBuilder();
+			obj.toJson(sb, params);
+			return sb.toString();
+		} catch(IOException ioe) {
+			throw new UncheckedIOException(ioe);
+		}
+	}
+
+
+	/** The number of chars written to an {@link Appendable} by the measured calls
+	 */
+	public long chars() {
+		return chars;
+	}
+
+
+	/** The number of bytes written to a {@link JsonByteSink} by the measured calls
+	 */
+	public long utf8Bytes() {
+		return utf8Bytes + (pendingHighSurrogate ? 1 : 0);
+	}
+
+
+	/** A {@link StringBuilder} with a capacity of exactly {@link #chars()}
+	 * @throws ArithmeticException if the length does not fit in an int
+	 */
+	public StringBuilder newStringBuilder() {
+		return new StringBuilder(Math.toIntExact(chars));
+	}
+
+
+	/** A {@link JsonByteSink.ByteArraySink} large enough to hold {@link #utf8Bytes()} without growing.  The capacity includes
+	 * the few bytes of headroom the sink requires before each encoded char, {@link JsonByteSink.ByteArraySink#size()} is exact
+	 * @throws ArithmeticException if the length does not fit in an int
+	 */
+	public JsonByteSink.ByteArraySink newByteSink() {
+		return JsonByteSink.ofArray(Math.toIntExact(utf8Bytes() + 6));
+	}
+
+
+	/** Clear the counts so this instance can measure another call
+	 */
+	public JsonLength reset() {
+		chars = 0;
+		utf8Bytes = 0;
+		pendingHighSurrogate = false;
+		return this;
+	}
+
+
+	@Override
+	public JsonLength append(CharSequence csq) {
+		if(csq == null) {
+			csq = "null";
+		}
+		return append(csq, 0, csq.length());
+	}
+
+
+	@Override
+	public JsonLength append(CharSequence csq, int start, int end) {
+		if(csq == null) {
+			csq = "null";
+		}
+		chars += end - start;
+		long bytes = 0;
+		for(int i = start; i < end; i++) {
+			char ch = csq.charAt(i);
+			if(ch < 0x80 && !pendingHighSurrogate) {
+				bytes++;
+			}
+			else {
+				bytes += utf8Length(ch);
+			}
+		}
+		utf8Bytes += bytes;
+		return this;
+	}
+
+
+	@Override
+	public JsonLength append(char ch) {
+		chars++;
+		utf8Bytes += (ch < 0x80 && !pendingHighSurrogate) ? 1 : utf8Length(ch);
+		return this;
+	}
+
+
+	/** Count {@code n} ASCII chars, i.e. number text
+	 */
+	void addAscii(long n) {
+		flushPendingSurrogate();
+		chars += n;
+		utf8Bytes += n;
+	}
+
+
+	/** Count a pre-rendered property name
+	 */
+	@Override
+	public void appendKey(JsonKey key) {
+		flushPendingSurrogate();
+		chars += key.text.length();
+		utf8Bytes += key.utf8.length;
+	}
+
+
+	/** Count the int array text written by {@code JsonStringify.toArray(int[], ...)}, without brackets
+	 */
+	void addInts(int[] vals, int off, int len) {
+		long n = 0;
+		for(int i = off, end = off + len; i < end; i++) {
+			n += JsonNumberWriter.intLength(vals[i]);
+		}
+		addAscii(n + (len > 0 ? 2L * (len - 1) : 0));
+	}
+
+
+	/** Count the long array text written by {@code JsonStringify.toArray(long[], ...)}, without brackets
+	 */
+	void addLongs(long[] vals, int off, int len) {
+		long n = 0;
+		for(int i = off, end = off + len; i < end; i++) {
+			n += JsonNumberWriter.longLength(vals[i]);
+		}
+		addAscii(n + (len > 0 ? 2L * (len - 1) : 0));
+	}
+
+
+	/** Count the output of {@link JsonEscape#escape(CharSequence, int, int, Appendable)}, and of
+	 * {@link JsonByteSink#writeEscaped(CharSequence, int, int)} which writes unpaired surrogates as 6 byte {@code \}{@code uXXXX} escapes
+	 */
+	@Override
+	public void appendEscaped(CharSequence src, int start, int end) {
+		flushPendingSurrogate();
+		byte[] extra = ESCAPED_EXTRA;
+		long escapeChars = 0;
+		long extraBytes = 0;
+		for(int i = start; i < end; i++) {
+			char ch = src.charAt(i);
+			int e = extra[ch];
+			if(e >= 0) {
+				escapeChars += e & 0xF;
+				extraBytes += e >> 4;
+			}
+			else if(Character.isHighSurrogate(ch) && i + 1 < end && Character.isLowSurrogate(src.charAt(i + 1))) {
+				// 2 chars, 4 bytes
+				extraBytes += 2;
+				i++;
+			}
+			else {
+				extraBytes += 5;
+			}
+		}
+		chars += (end - start) + escapeChars;
+		utf8Bytes += (end - start) + extraBytes;
+	}
+
+
+	/** Count the output of {@link JsonEscape#escape(char, Appendable)} and {@link JsonByteSink#writeEscaped(char)}
+	 */
+	@Override
+	public void appendEscaped(char ch) {
+		flushPendingSurrogate();
+		if(ch < 0x80) {
+			int n = 1 + ASCII_ESCAPE_EXTRA[ch];
+			chars += n;
+			utf8Bytes += n;
+		}
+		else {
+			chars++;
+			utf8Bytes += Character.isSurrogate(ch) ? 6 : (ch < 0x800 ? 2 : 3);
+		}
+	}
+
+
+	/** The UTF-8 byte count of one appended char, following {@link JsonByteSink#append(char)}: surrogate pairs are
+	 * 4 bytes (counted when the low surrogate arrives) and unpaired surrogates are written as {@code '?'}
+	 */
+	private int utf8Length(char ch) {
+		int n = 0;
+		if(pendingHighSurrogate) {
+			pendingHighSurrogate = false;
+			if(Character.isLowSurrogate(ch)) {
+				return 4;
+			}
+			n = 1;
+		}
+		if(ch < 0x80) {
+			return n + 1;
+		}
+		if(ch < 0x800) {
+			return n + 2;
+		}
+		if(Character.isHighSurrogate(ch)) {
+			pendingHighSurrogate = true;
+			return n;
+		}
+		return n + (Character.isLowSurrogate(ch) ? 1 : 3);
+	}
+
+
+	private void flushPendingSurrogate() {
+		if(pendingHighSurrogate) {
+			pendingHighSurrogate = false;
+			utf8Bytes++;
+		}
+	}
+
+
+	@Override
+	public String toString() {
+		return "JsonLength: { chars: " + chars + ", utf8Bytes: " + utf8Bytes() + " }";
+	}
+
+}
@@ -0,0 +1,282 @@
+package twg2.io.json.stringify;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/** A newline delimited JSON (NDJSON / JSON Lines) writer shared by many producer threads.  Each {@code write()} call renders
+ * its record to UTF-8 on the calling thread, into a buffer sized from a moving average of recent records, and adds it to a
+ * lock free queue.  A single writer thread drains the queue and writes each batch of records with one gathering
+ * {@link GatheringByteChannel#write(ByteBuffer[])} call (group commit), so producers never wait for I/O or for each other.<br>
+ * A batch is written once it holds {@code maxBatchRecords} records, or once the queue is empty and the first record
+ * in the batch has waited {@code maxLatency}, a latency of 0 writes whatever has accumulated as soon as the previous write
+ * completes.  A {@link #flush()} call writes the partial batch without waiting for {@code maxLatency}.
+ * With {@code fsync} enabled, {@link FileChannel} destinations are forced to the storage device after each batch.<br>
+ * Records must not contain raw line breaks, which the compact output of this library never does.  {@link #flush()} waits
+ * until all records written before the call are written to the channel, {@link #close()} writes the remaining records,
+ * stops the writer thread, and closes the channel.  An I/O error stops the writer, later calls throw it.<br>
+ * Thread safe.
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public final class JsonLinesWriter implements Flushable, Closeable {
+	/** The default largest batch, in records */
+	public static final int DEFAULT_MAX_BATCH_RECORDS = 1024;
+
+	private final GatheringByteChannel channel;
+	private final int maxBatchRecords;
+	private final long maxLatencyNanos;
+	private final boolean fsync;
+	private final ConcurrentLinkedQueue<ByteBuffer> queue = new ConcurrentLinkedQueue<>();
+	private final JsonBufferPool.SizeEstimate recordSize = new JsonBufferPool.SizeEstimate();
+	private final Thread writerThread;
+	/** The number of records added to the queue */
+	private final AtomicLong submitted = new AtomicLong();
+	/** The highest {@link #submitted} count a {@link #flush()} call is waiting for, partial batches are written without
+	 * waiting for {@code maxLatency} while fewer records than this have been written */
+	private final AtomicLong flushTarget = new AtomicLong();
+	/** The number of records written to the channel, only updated by the writer thread */
+	private volatile long completed;
+	private volatile long batches;
+	/** true while the writer thread is parked waiting for records */
+	private volatile boolean idle;
+	private volatile boolean closed;
+	private volatile IOException failure;
+
+
+	/**
+	 * @param channel the destination, i.e. a {@link FileChannel} opened for appending
+	 * @param maxBatchRecords the most records written in one gathering write
+	 * @param maxLatency how long a partial batch waits for more records once the queue is empty, 0 to write it immediately
+	 * @param fsync true to force {@link FileChannel} destinations to the storage device after each batch
+	 */
+	public JsonLinesWriter(GatheringByteChannel channel, int maxBatchRecords, long maxLatency, TimeUnit unit, boolean fsync) {
+		if(maxBatchRecords < 1) {
+			throw new IllegalArgumentException("maxBatchRecords must be positive: " + maxBatchRecords);
+		}
+		if(maxLatency < 0) {
+			throw new IllegalArgumentException("maxLatency must not be negative: " + maxLatency);
+		}
+		this.channel = channel;
+		this.maxBatchRecords = maxBatchRecords;
+		this.maxLatencyNanos = unit.toNanos(maxLatency);
+		this.fsync = fsync;
+		this.writerThread = new Thread(this::run, "JsonLinesWriter");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+
+	/** Append to {@code file}, creating it if necessary, with {@value #DEFAULT_MAX_BATCH_RECORDS} record batches, no batching latency, and no fsync
+	 */
+	public static JsonLinesWriter open(Path file) throws IOException {
+		return open(file, DEFAULT_MAX_BATCH_RECORDS, 0, TimeUnit.MILLISECONDS, false);
+	}
+
+
+	public static JsonLinesWriter open(Path file, int maxBatchRecords, long maxLatency, TimeUnit unit, boolean fsync) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		return new JsonLinesWriter(channel, maxBatchRecords, maxLatency, unit, fsync);
+	}
+
+
+	/** Render a record and queue it to be written
+	 */
+	public <T> JsonLinesWriter write(JsonWritable<T> writable, T params) throws IOException {
+		checkOpen();
+		JsonByteSink.ByteArraySink sink = JsonByteSink.ofArray(recordSize.get());
+		writable.toJson(sink, params);
+		return enqueue(sink);
+	}
+
+
+	/** Render a map as a JSON object record, see {@link JsonStringify#toObject(Map, JsonByteSink)}, and queue it to be written
+	 */
+	public JsonLinesWriter write(Map<String, ? extends Object> record) throws IOException {
+		checkOpen();
+		JsonByteSink.ByteArraySink sink = JsonByteSink.ofArray(recordSize.get());
+		JsonStringify.inst.toObject(record, sink);
+		return enqueue(sink);
+	}
+
+
+	/** The number of records written to the channel
+	 */
+	public long recordsWritten() {
+		return completed;
+	}
+
+
+	/** The number of gathering writes (batches) made
+	 */
+	public long batchesWritten() {
+		return batches;
+	}
+
+
+	/** Wait until all records queued before this call have been written to the channel (and forced, with {@code fsync})
+	 */
+	@Override
+	public void flush() throws IOException {
+		long target = submitted.get();
+		if(completed < target) {
+			flushTarget.accumulateAndGet(target, Math::max);
+		}
+		while(completed < target) {
+			checkFailure();
+			if(!writerThread.isAlive()) {
+				break;
+			}
+			LockSupport.unpark(writerThread);
+			LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(100));
+			if(Thread.interrupted()) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("interrupted while flushing");
+			}
+		}
+		checkFailure();
+	}
+
+
+	/** Write all queued records, stop the writer thread, and close the channel, records written concurrently with this call may be dropped
+	 */
+	@Override
+	public void close() throws IOException {
+		if(closed) {
+			return;
+		}
+		closed = true;
+		LockSupport.unpark(writerThread);
+		boolean interrupted = false;
+		while(writerThread.isAlive()) {
+			try {
+				writerThread.join();
+			} catch(InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if(interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		try {
+			checkFailure();
+		} finally {
+			channel.close();
+		}
+	}
+
+
+	private JsonLinesWriter enqueue(JsonByteSink.ByteArraySink sink) throws IOException {
+		sink.writeAscii('\n');
+		int size = sink.size();
+		recordSize.record(size);
+		queue.offer(ByteBuffer.wrap(sink.array(), 0, size));
+		submitted.incrementAndGet();
+		if(idle) {
+			LockSupport.unpark(writerThread);
+		}
+		return this;
+	}
+
+
+	/** The writer thread loop
+	 */
+	private void run() {
+		ByteBuffer[] batch = new ByteBuffer[maxBatchRecords];
+		int count = 0;
+		long batchStart = 0;
+		try {
+			while(true) {
+				ByteBuffer rec = queue.poll();
+				if(rec != null) {
+					if(count == 0) {
+						batchStart = System.nanoTime();
+					}
+					batch[count++] = rec;
+					if(count == batch.length) {
+						writeBatch(batch, count);
+						count = 0;
+					}
+					continue;
+				}
+				// the queue is empty
+				long waited = System.nanoTime() - batchStart;
+				if(count > 0 && (waited >= maxLatencyNanos || closed || completed < flushTarget.get())) {
+					writeBatch(batch, count);
+					count = 0;
+					continue;
+				}
+				if(closed) {
+					if(queue.isEmpty()) {
+						return;
+					}
+					continue;
+				}
+				idle = true;
+				if(queue.isEmpty() && !closed && (count == 0 || completed >= flushTarget.get())) {
+					if(count > 0) {
+						LockSupport.parkNanos(this, maxLatencyNanos - waited);
+					}
+					else {
+						LockSupport.park(this);
+					}
+				}
+				idle = false;
+			}
+		} catch(IOException e) {
+			failure = e;
+		} catch(RuntimeException | Error e) {
+			failure = new IOException("JSON lines writer failed", e);
+			throw e;
+		} finally {
+			queue.clear();
+		}
+	}
+
+
+	private void writeBatch(ByteBuffer[] batch, int count) throws IOException {
+		int first = 0;
+		while(first < count) {
+			channel.write(batch, first, count - first);
+			while(first < count && !batch[first].hasRemaining()) {
+				first++;
+			}
+		}
+		if(fsync && channel instanceof FileChannel) {
+			((FileChannel)channel).force(false);
+		}
+		for(int i = 0; i < count; i++) {
+			batch[i] = null;
+		}
+		batches++;
+		completed += count;
+	}
+
+
+	private void checkOpen() throws IOException {
+		checkFailure();
+		if(closed) {
+			throw new IOException("writer is closed");
+		}
+	}
+
+
+	private void checkFailure() throws IOException {
+		IOException err = failure;
+		if(err != null) {
+			throw new IOException("JSON lines writer failed", err);
+		}
+	}
+
+}
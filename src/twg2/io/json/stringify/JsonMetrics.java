@@ -0,0 +1,811 @@
+package twg2.io.json.stringify;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Opt-in serialization metrics.  Nothing in {@link JsonStringify} is instrumented, instead wrap the calls to measure:
+ * {@link #instrument(JsonWritable)} returns a {@link JsonWritable} which records calls, output size, and latency per class,
+ * and {@link #wrap(JsonStringify)} returns an {@link InstrumentedStringify} whose {@code toArray()}, {@code toObject()},
+ * {@code toProp()}, and {@code render()} methods record output size, elements per call, and how many escaped strings
+ * actually contained chars which needed escaping.  Code which is not wrapped pays nothing.<br>
+ * Counters are {@link LongAdder}s and histograms use power-of-2 buckets of {@link LongAdder}s, so concurrent recording
+ * does not contend.  {@link #snapshot()} returns the current figures as nested maps, ready to be written with
+ * {@link JsonStringify#toObject(Map, Appendable)} by a metrics endpoint.<br>
+ * Calls which write at least {@code eventThreshold} chars or bytes are also recorded as {@code twg2.json.Serialization}
+ * JDK Flight Recorder events when the {@code jdk.jfr} API is available, the optional {@code src-jfr} classes are on the
+ * class path, and the event is enabled in a recording.  This class only references JFR by name, so it compiles and runs
+ * on any Java 8 runtime.<br>
+ * Thread safe.
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public final class JsonMetrics {
+	/** The default JFR event threshold, 1M chars or bytes */
+	public static final long DEFAULT_EVENT_THRESHOLD = 1 << 20;
+
+	/** The JFR event sink, null if {@code jdk.jfr} or the {@code src-jfr} classes are not available */
+	private static final EventSink JFR_EVENTS = loadJfrEventSink();
+
+	private final long eventThreshold;
+	private final EventSink events;
+	private final LongAdder charsWritten = new LongAdder();
+	private final LongAdder bytesWritten = new LongAdder();
+	private final LongAdder arrays = new LongAdder();
+	private final Histogram arrayElements = new Histogram();
+	private final LongAdder objects = new LongAdder();
+	private final Histogram objectProperties = new Histogram();
+	private final LongAdder escapedStrings = new LongAdder();
+	private final LongAdder escapeHits = new LongAdder();
+	private final ConcurrentHashMap<Class<?>, WritableStats> writables = new ConcurrentHashMap<>();
+
+
+	public JsonMetrics() {
+		this(DEFAULT_EVENT_THRESHOLD);
+	}
+
+
+	/**
+	 * @param eventThreshold the minimum number of chars or bytes written by a call to emit a JFR event, {@link Long#MAX_VALUE} to disable events
+	 */
+	public JsonMetrics(long eventThreshold) {
+		this.eventThreshold = eventThreshold;
+		this.events = eventThreshold < Long.MAX_VALUE ? JFR_EVENTS : null;
+	}
+
+
+	/** Wrap a {@link JsonWritable} so that every call records its output size and latency under {@code writable}'s class,
+	 * writables already instrumented by this {@code JsonMetrics} are returned as-is
+	 */
+	public <T> JsonWritable<T> instrument(JsonWritable<T> writable) {
+		if(writable instanceof InstrumentedWritable && ((InstrumentedWritable<T>)writable).metrics == this) {
+			return writable;
+		}
+		return new InstrumentedWritable<>(writable, this);
+	}
+
+
+	/** Wrap a {@link JsonStringify} instance so that calls made through the returned object are recorded
+	 */
+	public InstrumentedStringify wrap(JsonStringify stringify) {
+		return new InstrumentedStringify(stringify, this);
+	}
+
+
+	/** The current figures as nested maps of names to numbers:
+	 * {@code charsWritten, bytesWritten, arrays: {calls, elements}, objects: {calls, properties}, escape: {strings, hits, hitRatio},
+	 * writables: {className: {calls, chars, bytes, latencyNanos}}}, where {@code elements}, {@code properties}, and
+	 * {@code latencyNanos} are histograms: {@code {count, sum, mean, max, p50, p90, p99}}
+	 */
+	public Map<String, Object> snapshot() {
+		Map<String, Object> res = new LinkedHashMap<>();
+		res.put("charsWritten", charsWritten.sum());
+		res.put("bytesWritten", bytesWritten.sum());
+
+		Map<String, Object> arys = new LinkedHashMap<>();
+		arys.put("calls", arrays.sum());
+		arys.put("elements", arrayElements.snapshot());
+		res.put("arrays", arys);
+
+		Map<String, Object> objs = new LinkedHashMap<>();
+		objs.put("calls", objects.sum());
+		objs.put("properties", objectProperties.snapshot());
+		res.put("objects", objs);
+
+		Map<String, Object> escape = new LinkedHashMap<>();
+		long strings = escapedStrings.sum();
+		long hits = escapeHits.sum();
+		escape.put("strings", strings);
+		escape.put("hits", hits);
+		escape.put("hitRatio", strings > 0 ? hits / (double)strings : 0.0);
+		res.put("escape", escape);
+
+		Map<String, Object> types = new LinkedHashMap<>();
+		for(Map.Entry<Class<?>, WritableStats> entry : writables.entrySet()) {
+			types.put(entry.getKey().getName(), entry.getValue().snapshot());
+		}
+		res.put("writables", types);
+		return res;
+	}
+
+
+	/** Reset all counters and histograms to zero, concurrent recordings may be partially kept.
+	 * Per-class stats are reset in place since existing {@link #instrument(JsonWritable)} wrappers keep recording into them
+	 */
+	public void reset() {
+		charsWritten.reset();
+		bytesWritten.reset();
+		arrays.reset();
+		arrayElements.reset();
+		objects.reset();
+		objectProperties.reset();
+		escapedStrings.reset();
+		escapeHits.reset();
+		for(WritableStats stats : writables.values()) {
+			stats.reset();
+		}
+	}
+
+
+	// ==== recording ====
+	/** Start timing a call which may become a JFR event
+	 * @return an event handle to pass to {@code end()}, or null
+	 */
+	Object begin() {
+		return events != null ? events.start() : null;
+	}
+
+
+	void endChars(Object event, String operation, Class<?> type, long elements, long chars) {
+		charsWritten.add(chars);
+		if(event != null && chars >= eventThreshold) {
+			events.finish(event, operation, type, elements, chars);
+		}
+	}
+
+
+	void endBytes(Object event, String operation, Class<?> type, long elements, long bytes) {
+		bytesWritten.add(bytes);
+		if(event != null && bytes >= eventThreshold) {
+			events.finish(event, operation, type, elements, bytes);
+		}
+	}
+
+
+	void recordArray(long elements) {
+		arrays.increment();
+		arrayElements.record(elements);
+	}
+
+
+	void recordObject(long properties) {
+		objects.increment();
+		objectProperties.record(properties);
+	}
+
+
+	/** Add the escape statistics counted during one instrumented call
+	 */
+	void recordEscapes(EscapeCounter escapes) {
+		if(escapes != null && escapes.strings > 0) {
+			escapedStrings.add(escapes.strings);
+			escapeHits.add(escapes.hits);
+		}
+	}
+
+
+	WritableStats statsFor(Class<?> type) {
+		WritableStats stats = writables.get(type);
+		if(stats == null) {
+			stats = writables.computeIfAbsent(type, (k) -> new WritableStats());
+		}
+		return stats;
+	}
+
+
+	private static EventSink loadJfrEventSink() {
+		try {
+			ClassLoader loader = JsonMetrics.class.getClassLoader();
+			Class.forName("jdk.jfr.Event", false, loader);
+			Class<?> sinkClass = Class.forName("twg2.io.json.stringify.JsonSerializationEvent$Sink", true, loader);
+			return (EventSink)sinkClass.getDeclaredConstructor().newInstance();
+		} catch(ReflectiveOperationException | LinkageError | ClassCastException e) {
+			return null;
+		}
+	}
+
+
+
+
+	/** Receives the calls which may become events, implemented by the optional JFR event class
+	 */
+	interface EventSink {
+
+		/** Start timing a call
+		 * @return an event handle to pass to {@link #finish}, or null if events are not enabled
+		 */
+		Object start();
+
+		void finish(Object started, String operation, Class<?> type, long elements, long size);
+	}
+
+
+
+
+	/** A concurrent histogram of non-negative values in power-of-2 buckets, percentiles are reported as the
+	 * upper bound of the bucket which contains them (so they are accurate to within a factor of 2)
+	 * @author TeamworkGuy2
+	 * @since 2026-10-18
+	 */
+	public static final class Histogram {
+		private final LongAdder[] buckets = new LongAdder[65];
+		private final LongAdder count = new LongAdder();
+		private final LongAdder sum = new LongAdder();
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+
+		public Histogram() {
+			for(int i = 0; i < buckets.length; i++) {
+				buckets[i] = new LongAdder();
+			}
+		}
+
+
+		/** Record a value, negative values are recorded as 0
+		 */
+		public void record(long value) {
+			long val = Math.max(0, value);
+			// bucket i holds values in [2^(i-1), 2^i), bucket 0 holds 0
+			buckets[64 - Long.numberOfLeadingZeros(val)].increment();
+			count.increment();
+			sum.add(val);
+			max.accumulate(val);
+		}
+
+
+		public long getCount() {
+			return count.sum();
+		}
+
+
+		/** The approximate value below which {@code percentile} (0.0 to 1.0) of the recorded values fall
+		 */
+		public long percentile(double percentile) {
+			long[] counts = new long[buckets.length];
+			long total = 0;
+			for(int i = 0; i < counts.length; i++) {
+				counts[i] = buckets[i].sum();
+				total += counts[i];
+			}
+			return percentile(counts, total, percentile);
+		}
+
+
+		/** {@code {count, sum, mean, max, p50, p90, p99}}
+		 */
+		public Map<String, Object> snapshot() {
+			long[] counts = new long[buckets.length];
+			long total = 0;
+			for(int i = 0; i < counts.length; i++) {
+				counts[i] = buckets[i].sum();
+				total += counts[i];
+			}
+			long sumVal = sum.sum();
+			Map<String, Object> res = new LinkedHashMap<>();
+			res.put("count", total);
+			res.put("sum", sumVal);
+			res.put("mean", total > 0 ? sumVal / (double)total : 0.0);
+			res.put("max", max.get());
+			res.put("p50", percentile(counts, total, 0.50));
+			res.put("p90", percentile(counts, total, 0.90));
+			res.put("p99", percentile(counts, total, 0.99));
+			return res;
+		}
+
+
+		public void reset() {
+			for(LongAdder bucket : buckets) {
+				bucket.reset();
+			}
+			count.reset();
+			sum.reset();
+			max.reset();
+		}
+
+
+		private long percentile(long[] counts, long total, double percentile) {
+			if(total == 0) {
+				return 0;
+			}
+			long rank = (long)Math.ceil(total * percentile);
+			long seen = 0;
+			for(int i = 0; i < counts.length; i++) {
+				seen += counts[i];
+				if(seen >= Math.max(1, rank)) {
+					long upper = i == 0 ? 0 : (i >= 63 ? Long.MAX_VALUE : (1L << i) - 1);
+					return Math.min(upper, max.get());
+				}
+			}
+			return max.get();
+		}
+	}
+
+
+
+
+	/** Calls, output size, and latency for one {@link JsonWritable} class
+	 */
+	static final class WritableStats {
+		final LongAdder calls = new LongAdder();
+		final LongAdder chars = new LongAdder();
+		final LongAdder bytes = new LongAdder();
+		final Histogram latencyNanos = new Histogram();
+
+
+		Map<String, Object> snapshot() {
+			Map<String, Object> res = new LinkedHashMap<>();
+			res.put("calls", calls.sum());
+			res.put("chars", chars.sum());
+			res.put("bytes", bytes.sum());
+			res.put("latencyNanos", latencyNanos.snapshot());
+			return res;
+		}
+
+
+		void reset() {
+			calls.reset();
+			chars.reset();
+			bytes.reset();
+			latencyNanos.reset();
+		}
+	}
+
+
+
+
+	/** A {@link JsonWritable} decorator which records each call in {@link JsonMetrics}
+	 */
+	static final class InstrumentedWritable<T> implements JsonWritable<T> {
+		private final JsonWritable<T> writable;
+		private final JsonMetrics metrics;
+		private final WritableStats stats;
+
+
+		InstrumentedWritable(JsonWritable<T> writable, JsonMetrics metrics) {
+			this.writable = writable;
+			this.metrics = metrics;
+			this.stats = metrics.statsFor(writable.getClass());
+		}
+
+
+		@Override
+		public void toJson(Appendable dst, T params) throws IOException {
+			Object event = metrics.begin();
+			long start = System.nanoTime();
+			long chars;
+			if(dst instanceof StringBuilder) {
+				StringBuilder sb = (StringBuilder)dst;
+				int len0 = sb.length();
+				writable.toJson(dst, params);
+				chars = sb.length() - len0;
+			}
+			else {
+				CountingAppendable counter = new CountingAppendable(dst, null);
+				writable.toJson(counter, params);
+				chars = counter.count;
+			}
+			stats.latencyNanos.record(System.nanoTime() - start);
+			stats.calls.increment();
+			stats.chars.add(chars);
+			metrics.endChars(event, "toJson", writable.getClass(), 0, chars);
+		}
+
+
+		@Override
+		public void toJson(JsonByteSink dst, T params) throws IOException {
+			Object event = metrics.begin();
+			long start = System.nanoTime();
+			long bytes0 = dst.bytesWritten();
+			writable.toJson(dst, params);
+			long bytes = dst.bytesWritten() - bytes0;
+			stats.latencyNanos.record(System.nanoTime() - start);
+			stats.calls.increment();
+			stats.bytes.add(bytes);
+			metrics.endBytes(event, "toJson", writable.getClass(), 0, bytes);
+		}
+	}
+
+
+
+
+	/** Escape statistics for one instrumented call, updated by {@link CountingAppendable} and {@link CountingByteSink} from
+	 * the results of the escape scans so strings are not scanned a second time.  Confined to the calling thread
+	 */
+	static final class EscapeCounter {
+		long strings;
+		long hits;
+
+
+		void record(boolean escaped) {
+			strings++;
+			if(escaped) {
+				hits++;
+			}
+		}
+	}
+
+
+
+
+	/** An {@link Appendable} decorator which counts the chars written through it, and optionally the escaped strings and keys.
+	 * It is a {@link Writer} so that the bulk {@code write()} paths in {@link JsonEscape} and {@link JsonNumberWriter} are used
+	 */
+	static final class CountingAppendable extends Writer implements JsonEscape.Target {
+		private final Appendable dst;
+		/** null to skip escape statistics */
+		private final EscapeCounter escapes;
+		long count;
+
+
+		CountingAppendable(Appendable dst, EscapeCounter escapes) {
+			this.dst = dst;
+			this.escapes = escapes;
+		}
+
+
+		@Override
+		public void appendEscaped(CharSequence src, int start, int end) throws IOException {
+			boolean escaped = JsonEscape.escapeChars(src, start, end, this);
+			if(escapes != null) {
+				escapes.record(escaped);
+			}
+		}
+
+
+		@Override
+		public void appendEscaped(char ch) throws IOException {
+			JsonEscape.escapeChar(ch, this);
+		}
+
+
+		@Override
+		public void appendKey(JsonKey key) throws IOException {
+			if(dst instanceof JsonEscape.Target) {
+				((JsonEscape.Target)dst).appendKey(key);
+			}
+			else {
+				dst.append(key.text);
+			}
+			count += key.text.length();
+			if(escapes != null) {
+				escapes.record(key.escaped);
+			}
+		}
+
+
+		@Override
+		public CountingAppendable append(CharSequence csq) throws IOException {
+			dst.append(csq);
+			count += (csq != null ? csq.length() : 4);
+			return this;
+		}
+
+
+		@Override
+		public CountingAppendable append(CharSequence csq, int start, int end) throws IOException {
+			dst.append(csq, start, end);
+			count += end - start;
+			return this;
+		}
+
+
+		@Override
+		public CountingAppendable append(char c) throws IOException {
+			dst.append(c);
+			count++;
+			return this;
+		}
+
+
+		@Override
+		public void write(int c) throws IOException {
+			append((char)c);
+		}
+
+
+		@Override
+		public void write(char[] cbuf, int off, int len) throws IOException {
+			if(dst instanceof StringBuilder) {
+				((StringBuilder)dst).append(cbuf, off, len);
+			}
+			else if(dst instanceof Writer) {
+				((Writer)dst).write(cbuf, off, len);
+			}
+			else {
+				for(int i = off, end = off + len; i < end; i++) {
+					dst.append(cbuf[i]);
+				}
+			}
+			count += len;
+		}
+
+
+		@Override
+		public void write(String str, int off, int len) throws IOException {
+			if(dst instanceof Writer) {
+				((Writer)dst).write(str, off, len);
+			}
+			else {
+				dst.append(str, off, off + len);
+			}
+			count += len;
+		}
+
+
+		@Override
+		public void flush() throws IOException {
+		}
+
+
+		@Override
+		public void close() throws IOException {
+		}
+	}
+
+
+
+
+	/** A {@link JsonByteSink} decorator which counts the escaped strings and keys written through it.  The output is
+	 * buffered in a small chunk and copied to the wrapped sink as the chunk fills and on {@link #flush()}, which does not
+	 * flush the wrapped sink
+	 */
+	static final class CountingByteSink extends JsonByteSink {
+		private static final int CHUNK_SIZE = 1024;
+		private final JsonByteSink dst;
+		private final EscapeCounter escapes;
+
+
+		CountingByteSink(JsonByteSink dst, EscapeCounter escapes) {
+			super(new byte[CHUNK_SIZE]);
+			this.dst = dst;
+			this.escapes = escapes;
+		}
+
+
+		@Override
+		protected void require(int n) throws IOException {
+			drain();
+		}
+
+
+		@Override
+		public JsonByteSink write(byte[] src, int off, int len) throws IOException {
+			// large pre-encoded blocks skip the chunk
+			if(len >= buf.length) {
+				drain();
+				dst.write(src, off, len);
+				drained += len;
+				return this;
+			}
+			return super.write(src, off, len);
+		}
+
+
+		@Override
+		public JsonByteSink writeEscaped(CharSequence str, int start, int end) throws IOException {
+			escapes.record(writeEscapedChars(str, start, end));
+			return this;
+		}
+
+
+		@Override
+		JsonByteSink writeKey(JsonKey key) throws IOException {
+			escapes.record(key.escaped);
+			return super.writeKey(key);
+		}
+
+
+		@Override
+		public void flush() throws IOException {
+			super.flush();
+			drain();
+		}
+
+
+		private void drain() throws IOException {
+			if(pos > 0) {
+				dst.write(buf, 0, pos);
+				drained += pos;
+				pos = 0;
+			}
+		}
+	}
+
+
+
+
+	/** Instrumented versions of the main {@link JsonStringify} methods, each call delegates to the wrapped
+	 * {@link JsonStringify} and records the chars or bytes written, the elements or properties written,
+	 * and for escaped output, whether each escaped string and property name needed escaping, reported by the escape
+	 * scans to a counting destination which wraps {@code dst}
+	 * @author TeamworkGuy2
+	 * @since 2026-10-18
+	 */
+	public static final class InstrumentedStringify {
+		private final JsonStringify stringify;
+		private final JsonMetrics metrics;
+
+
+		InstrumentedStringify(JsonStringify stringify, JsonMetrics metrics) {
+			this.stringify = stringify;
+			this.metrics = metrics;
+		}
+
+
+		public JsonMetrics getMetrics() {
+			return metrics;
+		}
+
+
+		public InstrumentedStringify toArray(List<? extends Object> vals, String whitespaceSeparator, boolean quote, boolean escape, Appendable dst) throws IOException {
+			Object event = metrics.begin();
+			long chars;
+			EscapeCounter escapes = escape ? new EscapeCounter() : null;
+			if(dst instanceof StringBuilder && escapes == null) {
+				StringBuilder sb = (StringBuilder)dst;
+				int len0 = sb.length();
+				stringify.toArray(vals, whitespaceSeparator, quote, escape, dst);
+				chars = sb.length() - len0;
+			}
+			else {
+				CountingAppendable counter = new CountingAppendable(dst, escapes);
+				stringify.toArray(vals, whitespaceSeparator, quote, escape, counter);
+				chars = counter.count;
+			}
+			metrics.recordEscapes(escapes);
+			metrics.recordArray(vals.size());
+			metrics.endChars(event, "toArray", null, vals.size(), chars);
+			return this;
+		}
+
+
+		public InstrumentedStringify toArray(List<? extends Object> vals, String whitespaceSeparator, boolean quote, boolean escape, JsonByteSink dst) throws IOException {
+			Object event = metrics.begin();
+			EscapeCounter escapes = escape ? new EscapeCounter() : null;
+			long bytes;
+			if(escapes == null) {
+				long bytes0 = dst.bytesWritten();
+				stringify.toArray(vals, whitespaceSeparator, quote, escape, dst);
+				bytes = dst.bytesWritten() - bytes0;
+			}
+			else {
+				CountingByteSink counter = new CountingByteSink(dst, escapes);
+				stringify.toArray(vals, whitespaceSeparator, quote, escape, counter);
+				counter.flush();
+				bytes = counter.bytesWritten();
+			}
+			metrics.recordEscapes(escapes);
+			metrics.recordArray(vals.size());
+			metrics.endBytes(event, "toArray", null, vals.size(), bytes);
+			return this;
+		}
+
+
+		public InstrumentedStringify toArray(Iterator<? extends Object> vals, String whitespaceSeparator, boolean quote, boolean escape, Appendable dst) throws IOException {
+			Object event = metrics.begin();
+			CountingIterator<Object> iter = new CountingIterator<>(vals);
+			long chars;
+			EscapeCounter escapes = escape ? new EscapeCounter() : null;
+			if(dst instanceof StringBuilder && escapes == null) {
+				StringBuilder sb = (StringBuilder)dst;
+				int len0 = sb.length();
+				stringify.toArray(iter, whitespaceSeparator, quote, escape, dst);
+				chars = sb.length() - len0;
+			}
+			else {
+				CountingAppendable counter = new CountingAppendable(dst, escapes);
+				stringify.toArray(iter, whitespaceSeparator, quote, escape, counter);
+				chars = counter.count;
+			}
+			metrics.recordEscapes(escapes);
+			metrics.recordArray(iter.count);
+			metrics.endChars(event, "toArray", null, iter.count, chars);
+			return this;
+		}
+
+
+		public InstrumentedStringify toArray(Iterator<? extends Object> vals, String whitespaceSeparator, boolean quote, boolean escape, JsonByteSink dst) throws IOException {
+			Object event = metrics.begin();
+			CountingIterator<Object> iter = new CountingIterator<>(vals);
+			EscapeCounter escapes = escape ? new EscapeCounter() : null;
+			long bytes;
+			if(escapes == null) {
+				long bytes0 = dst.bytesWritten();
+				stringify.toArray(iter, whitespaceSeparator, quote, escape, dst);
+				bytes = dst.bytesWritten() - bytes0;
+			}
+			else {
+				CountingByteSink counter = new CountingByteSink(dst, escapes);
+				stringify.toArray(iter, whitespaceSeparator, quote, escape, counter);
+				counter.flush();
+				bytes = counter.bytesWritten();
+			}
+			metrics.recordEscapes(escapes);
+			metrics.recordArray(iter.count);
+			metrics.endBytes(event, "toArray", null, iter.count, bytes);
+			return this;
+		}
+
+
+		public InstrumentedStringify toObject(Map<String, ? extends Object> map, String whitespaceSeparator, boolean sortKeys, Appendable dst) throws IOException {
+			Object event = metrics.begin();
+			EscapeCounter escapes = new EscapeCounter();
+			CountingAppendable counter = new CountingAppendable(dst, escapes);
+			stringify.toObject(map, whitespaceSeparator, sortKeys, counter);
+			metrics.recordEscapes(escapes);
+			metrics.recordObject(map.size());
+			metrics.endChars(event, "toObject", null, map.size(), counter.count);
+			return this;
+		}
+
+
+		public InstrumentedStringify toObject(Map<String, ? extends Object> map, String whitespaceSeparator, boolean sortKeys, JsonByteSink dst) throws IOException {
+			Object event = metrics.begin();
+			EscapeCounter escapes = new EscapeCounter();
+			CountingByteSink counter = new CountingByteSink(dst, escapes);
+			stringify.toObject(map, whitespaceSeparator, sortKeys, counter);
+			counter.flush();
+			metrics.recordEscapes(escapes);
+			metrics.recordObject(map.size());
+			metrics.endBytes(event, "toObject", null, map.size(), counter.bytesWritten());
+			return this;
+		}
+
+
+		public InstrumentedStringify toProp(JsonKey propName, String value, Appendable dst) throws IOException {
+			EscapeCounter escapes = new EscapeCounter();
+			CountingAppendable counter = new CountingAppendable(dst, escapes);
+			stringify.toProp(propName, value, counter);
+			metrics.recordEscapes(escapes);
+			metrics.endChars(null, "toProp", null, 1, counter.count);
+			return this;
+		}
+
+
+		public InstrumentedStringify toProp(JsonKey propName, String value, JsonByteSink dst) throws IOException {
+			EscapeCounter escapes = new EscapeCounter();
+			CountingByteSink counter = new CountingByteSink(dst, escapes);
+			stringify.toProp(propName, value, counter);
+			counter.flush();
+			metrics.recordEscapes(escapes);
+			metrics.endBytes(null, "toProp", null, 1, counter.bytesWritten());
+			return this;
+		}
+
+
+		/** Same as {@link JsonStringify#render(JsonWritable, Object)} with the call recorded under {@code obj}'s class
+		 */
+		public <T> String render(JsonWritable<T> obj, T params) {
+			JsonWritable<T> writable = metrics.instrument(obj);
+			Class<?> type = (writable instanceof InstrumentedWritable ? ((InstrumentedWritable<T>)writable).writable : writable).getClass();
+			return JsonBufferPool.inst.render(JsonBufferPool.estimateFor(type), (sb) -> writable.toJson(sb, params));
+		}
+
+	}
+
+
+
+
+	/** Counts elements as they are iterated
+	 */
+	static final class CountingIterator<T> implements Iterator<T> {
+		private final Iterator<? extends T> iter;
+		long count;
+
+
+		CountingIterator(Iterator<? extends T> iter) {
+			this.iter = iter;
+		}
+
+
+		@Override
+		public boolean hasNext() {
+			return iter.hasNext();
+		}
+
+
+		@Override
+		public T next() {
+			T val = iter.next();
+			count++;
+			return val;
+		}
+	}
+
+}
@@ -0,0 +1,752 @@
+package twg2.io.json.stringify;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Locale;
+
+/** Allocation free number to text conversion for JSON output.
+ * Integers are written using two-digit lookup tables and floating point values are written using the Schubfach
+ * shortest round-trip algorithm (Raffaello Giulietti, "The Schubfach way to render doubles", 2020).<br>
+ * The Schubfach text follows the {@link Double#toString(double)} and {@link Float#toString(float)} specification
+ * exactly and is identical to the output of those methods on JDK 19+.  On older JDKs, {@code Double.toString()}
+ * occasionally prints one or two more digits than needed (JDK-4511638).  So that output does not change with this
+ * library, the default {@link FloatingPointFormat#JDK} format matches the running JDK: on JDK 19+ it uses Schubfach,
+ * on older JDKs it copies the {@code toString()} text (allocating a {@code String} per value).
+ * {@link FloatingPointFormat#SHORTEST} (set with the {@value #FLOATING_POINT_FORMAT_PROPERTY} system property) always
+ * uses Schubfach, and {@link #writeDoubleShortest(double, char[], int)}/{@link #writeFloatShortest(float, char[], int)}
+ * use it for a single call.<br>
+ * The {@code write*()} methods write into a caller supplied {@code char[]} and return the new offset, the
+ * {@code append*()} methods write to an {@link Appendable} through a reusable per-thread scratch buffer.
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public final class JsonNumberWriter {
+	/** Max chars written by {@link #writeInt(int, char[], int)} */
+	public static final int MAX_INT_CHARS = 11;
+	/** Max chars written by {@link #writeLong(long, char[], int)} */
+	public static final int MAX_LONG_CHARS = 20;
+	/** Max chars written by {@link #writeFloat(float, char[], int)} */
+	public static final int MAX_FLOAT_CHARS = 15;
+	/** Max chars written by {@link #writeDouble(double, char[], int)} */
+	public static final int MAX_DOUBLE_CHARS = 24;
+	/** The system property naming the {@link FloatingPointFormat} used by {@link #writeDouble(double, char[], int)}
+	 * and {@link #writeFloat(float, char[], int)}, read once when this class is loaded */
+	public static final String FLOATING_POINT_FORMAT_PROPERTY = "twg2.io.json.stringify.floatingPointFormat";
+	/** The format used by {@link #writeDouble(double, char[], int)} and {@link #writeFloat(float, char[], int)}, and so by
+	 * all float and double output in this package.  {@link FloatingPointFormat#JDK} unless overridden by the
+	 * {@value #FLOATING_POINT_FORMAT_PROPERTY} system property */
+	public static final FloatingPointFormat FLOATING_POINT_FORMAT = floatingPointFormat(System.getProperty(FLOATING_POINT_FORMAT_PROPERTY));
+	/** Size of the buffer returned by {@link #scratch()}, large enough for any single number */
+	static final int SCRATCH_SIZE = 32;
+
+	/** true to copy {@link Double#toString(double)}/{@link Float#toString(float)}, which differ from Schubfach before JDK 19 */
+	private static final boolean USE_JDK_TO_STRING = FLOATING_POINT_FORMAT == FloatingPointFormat.JDK && javaVersion() < 19;
+
+	private static final ThreadLocal<char[]> scratchBuf = ThreadLocal.withInitial(() -> new char[SCRATCH_SIZE]);
+
+	private static final char[] DIGIT_TENS = new char[100];
+	private static final char[] DIGIT_ONES = new char[100];
+	private static final char[] INT_MIN_CHARS = "-2147483648".toCharArray();
+	private static final char[] LONG_MIN_CHARS = "-9223372036854775808".toCharArray();
+	/** 10^i for i in [0, 18] */
+	private static final long[] DIGIT_COUNT_POW10 = new long[19];
+
+	static {
+		for(int i = 0; i < 100; i++) {
+			DIGIT_TENS[i] = (char)('0' + i / 10);
+			DIGIT_ONES[i] = (char)('0' + i % 10);
+		}
+		long p = 1;
+		for(int i = 0; i < DIGIT_COUNT_POW10.length; i++, p *= 10) {
+			DIGIT_COUNT_POW10[i] = p;
+		}
+	}
+
+
+	private JsonNumberWriter() { throw new AssertionError("cannot instantiate static class JsonNumberWriter"); }
+
+
+	/** Returns this thread's scratch buffer (at least {@link #SCRATCH_SIZE} chars) for use with the {@code write*()} methods.
+	 * The buffer is shared by all callers on the thread, so it must not be held across calls that may also use it.
+	 */
+	static char[] scratch() {
+		return scratchBuf.get();
+	}
+
+
+	// ==== append to Appendable ====
+	public static void appendInt(int val, Appendable dst) throws IOException {
+		if(dst instanceof StringBuilder) { ((StringBuilder)dst).append(val); return; }
+		if(dst instanceof JsonLength) { ((JsonLength)dst).addAscii(intLength(val)); return; }
+		char[] buf = scratch();
+		appendChars(buf, writeInt(val, buf, 0), dst);
+	}
+
+
+	public static void appendLong(long val, Appendable dst) throws IOException {
+		if(dst instanceof StringBuilder) { ((StringBuilder)dst).append(val); return; }
+		if(dst instanceof JsonLength) { ((JsonLength)dst).addAscii(longLength(val)); return; }
+		char[] buf = scratch();
+		appendChars(buf, writeLong(val, buf, 0), dst);
+	}
+
+
+	public static void appendFloat(float val, Appendable dst) throws IOException {
+		char[] buf = scratch();
+		appendChars(buf, writeFloat(val, buf, 0), dst);
+	}
+
+
+	public static void appendDouble(double val, Appendable dst) throws IOException {
+		char[] buf = scratch();
+		appendChars(buf, writeDouble(val, buf, 0), dst);
+	}
+
+
+	/** Append {@code buf[0, len)}, which must only contain ASCII chars, to {@code dst}, using a bulk copy when the destination supports one
+	 */
+	static void appendChars(char[] buf, int len, Appendable dst) throws IOException {
+		if(dst instanceof StringBuilder) {
+			((StringBuilder)dst).append(buf, 0, len);
+		}
+		else if(dst instanceof Writer) {
+			((Writer)dst).write(buf, 0, len);
+		}
+		else if(dst instanceof JsonLength) {
+			((JsonLength)dst).addAscii(len);
+		}
+		else {
+			for(int i = 0; i < len; i++) {
+				dst.append(buf[i]);
+			}
+		}
+	}
+
+
+	// ==== integers ====
+	/** Write the decimal text of {@code val} to {@code dst} starting at {@code off}
+	 * @return the offset after the last char written
+	 */
+	public static int writeInt(int val, char[] dst, int off) {
+		if(val < 0) {
+			if(val == Integer.MIN_VALUE) {
+				System.arraycopy(INT_MIN_CHARS, 0, dst, off, INT_MIN_CHARS.length);
+				return off + INT_MIN_CHARS.length;
+			}
+			dst[off++] = '-';
+			val = -val;
+		}
+		int end = off + digitCount(val);
+		writeDigits(val, dst, end);
+		return end;
+	}
+
+
+	/** Write the decimal text of {@code val} to {@code dst} starting at {@code off}
+	 * @return the offset after the last char written
+	 */
+	public static int writeLong(long val, char[] dst, int off) {
+		if(val == (int)val) {
+			return writeInt((int)val, dst, off);
+		}
+		if(val < 0) {
+			if(val == Long.MIN_VALUE) {
+				System.arraycopy(LONG_MIN_CHARS, 0, dst, off, LONG_MIN_CHARS.length);
+				return off + LONG_MIN_CHARS.length;
+			}
+			dst[off++] = '-';
+			val = -val;
+		}
+		int end = off + digitCount(val);
+		int pos = end;
+		// reduce to an int 2 digits at a time
+		while(val > Integer.MAX_VALUE) {
+			long q = val / 100;
+			int r = (int)(val - q * 100);
+			val = q;
+			dst[--pos] = DIGIT_ONES[r];
+			dst[--pos] = DIGIT_TENS[r];
+		}
+		writeDigits((int)val, dst, pos);
+		return end;
+	}
+
+
+	/** The number of chars written by {@link #writeInt(int, char[], int)}, computed without formatting
+	 */
+	public static int intLength(int val) {
+		if(val < 0) {
+			return val == Integer.MIN_VALUE ? INT_MIN_CHARS.length : 1 + digitCount(-val);
+		}
+		return digitCount(val);
+	}
+
+
+	/** The number of chars written by {@link #writeLong(long, char[], int)}, computed without formatting
+	 */
+	public static int longLength(long val) {
+		if(val < 0) {
+			return val == Long.MIN_VALUE ? LONG_MIN_CHARS.length : 1 + digitCount(-val);
+		}
+		return digitCount(val);
+	}
+
+
+	/** The number of decimal digits in a non-negative int.
+	 * The bit length times log10(2) (1233 / 4096) is the digit count or one less, a single comparison picks between them
+	 */
+	static int digitCount(int val) {
+		int t = (32 - Integer.numberOfLeadingZeros(val | 1)) * 1233 >>> 12;
+		return t + ((val | 1) >= DIGIT_COUNT_POW10[t] ? 1 : 0);
+	}
+
+
+	/** The number of decimal digits in a non-negative long, see {@link #digitCount(int)}
+	 */
+	static int digitCount(long val) {
+		int t = (64 - Long.numberOfLeadingZeros(val | 1)) * 1233 >>> 12;
+		return t + ((val | 1) >= DIGIT_COUNT_POW10[t] ? 1 : 0);
+	}
+
+
+	/** Write the digits of non-negative {@code val} right aligned so that the last digit is at {@code end - 1}
+	 */
+	private static void writeDigits(int val, char[] dst, int end) {
+		int pos = end;
+		while(val >= 100) {
+			int q = val / 100;
+			int r = val - q * 100;
+			val = q;
+			dst[--pos] = DIGIT_ONES[r];
+			dst[--pos] = DIGIT_TENS[r];
+		}
+		if(val >= 10) {
+			dst[--pos] = DIGIT_ONES[val];
+			dst[--pos] = DIGIT_TENS[val];
+		}
+		else {
+			dst[--pos] = (char)('0' + val);
+		}
+	}
+
+
+	// ==== floating point ====
+	/** How float and double values are written
+	 */
+	public enum FloatingPointFormat {
+		/** The {@link Double#toString(double)}/{@link Float#toString(float)} text of the running JDK, the default */
+		JDK,
+		/** The shortest text which parses back to the same value, on every JDK (the JDK 19+ {@code toString()} text) */
+		SHORTEST;
+	}
+
+
+	/** Write the {@link Double#toString(double)} text of {@code val} to {@code dst} starting at {@code off}, formatted
+	 * according to {@link #FLOATING_POINT_FORMAT}
+	 * @return the offset after the last char written
+	 */
+	public static int writeDouble(double val, char[] dst, int off) {
+		if(USE_JDK_TO_STRING) {
+			String str = Double.toString(val);
+			if(str.length() <= MAX_DOUBLE_CHARS) {
+				return writeString(str, dst, off);
+			}
+		}
+		return DoubleFormat.write(val, dst, off);
+	}
+
+
+	/** Write the {@link Float#toString(float)} text of {@code val} to {@code dst} starting at {@code off}, formatted
+	 * according to {@link #FLOATING_POINT_FORMAT}
+	 * @return the offset after the last char written
+	 */
+	public static int writeFloat(float val, char[] dst, int off) {
+		if(USE_JDK_TO_STRING) {
+			String str = Float.toString(val);
+			if(str.length() <= MAX_FLOAT_CHARS) {
+				return writeString(str, dst, off);
+			}
+		}
+		return FloatFormat.write(val, dst, off);
+	}
+
+
+	/** Write the shortest round-trip text of {@code val} to {@code dst} starting at {@code off}, regardless of
+	 * {@link #FLOATING_POINT_FORMAT}, see {@link FloatingPointFormat#SHORTEST}
+	 * @return the offset after the last char written
+	 */
+	public static int writeDoubleShortest(double val, char[] dst, int off) {
+		return DoubleFormat.write(val, dst, off);
+	}
+
+
+	/** Write the shortest round-trip text of {@code val} to {@code dst} starting at {@code off}, regardless of
+	 * {@link #FLOATING_POINT_FORMAT}, see {@link FloatingPointFormat#SHORTEST}
+	 * @return the offset after the last char written
+	 */
+	public static int writeFloatShortest(float val, char[] dst, int off) {
+		return FloatFormat.write(val, dst, off);
+	}
+
+
+	private static FloatingPointFormat floatingPointFormat(String name) {
+		if(name == null || name.isEmpty()) {
+			return FloatingPointFormat.JDK;
+		}
+		try {
+			return FloatingPointFormat.valueOf(name.trim().toUpperCase(Locale.ROOT));
+		} catch(IllegalArgumentException iae) {
+			throw new IllegalArgumentException("unknown " + FLOATING_POINT_FORMAT_PROPERTY + " '" + name + "', expected one of " + Arrays.toString(FloatingPointFormat.values()), iae);
+		}
+	}
+
+
+	/** The major Java version, i.e. 8 for "1.8" and 17 for "17"
+	 */
+	private static int javaVersion() {
+		String ver = System.getProperty("java.specification.version", "1.8");
+		if(ver.startsWith("1.")) {
+			ver = ver.substring(2);
+		}
+		int end = 0;
+		while(end < ver.length() && Character.isDigit(ver.charAt(end))) {
+			end++;
+		}
+		return end > 0 ? Integer.parseInt(ver.substring(0, end)) : 8;
+	}
+
+
+	private static int writeString(String str, char[] dst, int off) {
+		int len = str.length();
+		str.getChars(0, len, dst, off);
+		return off + len;
+	}
+
+
+	/** Shared Schubfach helpers and the 126-bit power of ten table
+	 */
+	private static final class MathUtils {
+		static final long MASK_63 = (1L << 63) - 1;
+		static final int MASK_28 = (1 << 28) - 1;
+		static final int K_MIN = -324;
+		static final int K_MAX = 292;
+		/** g1 and g0 of floor(10^-k * 2^-r) + 1 for each k in [K_MIN, K_MAX], where r = flog2pow10(-k) - 125 */
+		static final long[] G = new long[(K_MAX - K_MIN + 1) * 2];
+		static final long[] POW10 = new long[18];
+
+		static {
+			BigInteger mask63 = BigInteger.valueOf(MASK_63);
+			for(int k = K_MIN; k <= K_MAX; k++) {
+				int e = -k;
+				int r = flog2pow10(e) - 125;
+				BigInteger g;
+				if(e >= 0) {
+					BigInteger pow = BigInteger.TEN.pow(e);
+					g = r >= 0 ? pow.shiftRight(r) : pow.shiftLeft(-r);
+				}
+				else {
+					g = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(-e));
+				}
+				g = g.add(BigInteger.ONE);
+				int idx = (k - K_MIN) << 1;
+				G[idx] = g.shiftRight(63).longValue();
+				G[idx + 1] = g.and(mask63).longValue();
+			}
+			long p = 1;
+			for(int i = 0; i < POW10.length; i++, p *= 10) {
+				POW10[i] = p;
+			}
+		}
+
+
+		static long g1(int k) { return G[(k - K_MIN) << 1]; }
+
+		static long g0(int k) { return G[(k - K_MIN) << 1 | 1]; }
+
+		/** floor(e * log10(2)) */
+		static int flog10pow2(int e) { return (int)(e * 661_971_961_083L >> 41); }
+
+		/** floor(e * log10(2) + log10(3/4)) */
+		static int flog10threeQuartersPow2(int e) { return (int)(e * 661_971_961_083L + (-274_743_187_321L) >> 41); }
+
+		/** floor(e * log2(10)) */
+		static int flog2pow10(int e) { return (int)(e * 913_124_641_741L >> 38); }
+
+		/** The high 64 bits of the signed 128 bit product (Java 8 has no {@code Math.multiplyHigh()}) */
+		static long multiplyHigh(long x, long y) {
+			long x1 = x >> 32;
+			long x2 = x & 0xFFFFFFFFL;
+			long y1 = y >> 32;
+			long y2 = y & 0xFFFFFFFFL;
+			long z2 = x2 * y2;
+			long t = x1 * y2 + (z2 >>> 32);
+			long z1 = t & 0xFFFFFFFFL;
+			long z0 = t >> 32;
+			z1 += x2 * y1;
+			return x1 * y1 + z0 + (z1 >> 32);
+		}
+
+		/** Scale an 8 digit value to a 28 bit binary fraction so digits can be peeled off with multiplication */
+		static int y(int a) {
+			return (int)(multiplyHigh((long)(a + 1) << 28, 193_428_131_138_340_668L) >>> 20) - 1;
+		}
+
+		static int append8Digits(int m, char[] dst, int pos) {
+			int y = y(m);
+			for(int i = 0; i < 8; i++) {
+				int t = 10 * y;
+				dst[pos++] = (char)('0' + (t >>> 28));
+				y = t & MASK_28;
+			}
+			return pos;
+		}
+
+		/** Remove trailing zeros, but keep one digit after the decimal point */
+		static int removeTrailingZeroes(char[] dst, int pos) {
+			while(dst[pos - 1] == '0') {
+				pos--;
+			}
+			if(dst[pos - 1] == '.') {
+				pos++;
+			}
+			return pos;
+		}
+
+		static int exponent(int e, char[] dst, int pos) {
+			dst[pos++] = 'E';
+			if(e < 0) {
+				dst[pos++] = '-';
+				e = -e;
+			}
+			if(e < 10) {
+				dst[pos++] = (char)('0' + e);
+				return pos;
+			}
+			if(e >= 100) {
+				int d = e * 1_311 >>> 17;
+				dst[pos++] = (char)('0' + d);
+				e -= 100 * d;
+			}
+			dst[pos++] = DIGIT_TENS[e];
+			dst[pos++] = DIGIT_ONES[e];
+			return pos;
+		}
+	}
+
+
+	private static final class DoubleFormat {
+		static final int P = 53;
+		static final int W = (Double.SIZE - 1) - (P - 1);
+		static final int Q_MIN = (-1 << W - 1) - P + 3;
+		static final int H = 17;
+		static final long C_MIN = 1L << P - 1;
+		static final int BQ_MASK = (1 << W) - 1;
+		static final long T_MASK = (1L << P - 1) - 1;
+		static final long C_TINY = 3;
+
+
+		static int write(double v, char[] dst, int off) {
+			long bits = Double.doubleToRawLongBits(v);
+			long t = bits & T_MASK;
+			int bq = (int)(bits >>> P - 1) & BQ_MASK;
+			if(bq < BQ_MASK) {
+				if(bits < 0) {
+					dst[off++] = '-';
+				}
+				if(bq != 0) {
+					// normal value, mq = -q
+					int mq = -Q_MIN + 1 - bq;
+					long c = C_MIN | t;
+					// integer fast path
+					if(0 < mq & mq < P) {
+						long f = c >> mq;
+						if(f << mq == c) {
+							return toChars(f, 0, dst, off);
+						}
+					}
+					return toDecimal(-mq, c, 0, dst, off);
+				}
+				if(t != 0) {
+					// subnormal value
+					return t < C_TINY ? toDecimal(Q_MIN, 10 * t, -1, dst, off) : toDecimal(Q_MIN, t, 0, dst, off);
+				}
+				return writeString("0.0", dst, off);
+			}
+			if(t != 0) {
+				return writeString("NaN", dst, off);
+			}
+			return writeString(bits > 0 ? "Infinity" : "-Infinity", dst, off);
+		}
+
+
+		private static int toDecimal(int q, long c, int dk, char[] dst, int off) {
+			int out = (int)c & 0x1;
+			long cb = c << 2;
+			long cbr = cb + 2;
+			long cbl;
+			int k;
+			if(c != C_MIN | q == Q_MIN) {
+				cbl = cb - 2;
+				k = MathUtils.flog10pow2(q);
+			}
+			else {
+				cbl = cb - 1;
+				k = MathUtils.flog10threeQuartersPow2(q);
+			}
+			int h = q + MathUtils.flog2pow10(-k) + 2;
+
+			long g1 = MathUtils.g1(k);
+			long g0 = MathUtils.g0(k);
+
+			long vb = rop(g1, g0, cb << h);
+			long vbl = rop(g1, g0, cbl << h);
+			long vbr = rop(g1, g0, cbr << h);
+
+			long s = vb >> 2;
+			if(s >= 100) {
+				// try one digit shorter first: sp10 = 10 * floor(s / 10)
+				long sp10 = 10 * MathUtils.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+				long tp10 = sp10 + 10;
+				boolean upin = vbl + out <= sp10 << 2;
+				boolean wpin = (tp10 << 2) + out <= vbr;
+				if(upin != wpin) {
+					return toChars(upin ? sp10 : tp10, k, dst, off);
+				}
+			}
+
+			long t = s + 1;
+			boolean uin = vbl + out <= s << 2;
+			boolean win = (t << 2) + out <= vbr;
+			if(uin != win) {
+				return toChars(uin ? s : t, k + dk, dst, off);
+			}
+			long cmp = vb - (s + t << 1);
+			return toChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, dst, off);
+		}
+
+
+		private static long rop(long g1, long g0, long cp) {
+			long x1 = MathUtils.multiplyHigh(g0, cp);
+			long y0 = g1 * cp;
+			long y1 = MathUtils.multiplyHigh(g1, cp);
+			long z = (y0 >>> 1) + x1;
+			long vbp = y1 + (z >>> 63);
+			return vbp | (z & MathUtils.MASK_63) + MathUtils.MASK_63 >>> 63;
+		}
+
+
+		/** Write the decimal f * 10^e, f has at most H digits */
+		private static int toChars(long f, int e, char[] dst, int pos) {
+			int len = MathUtils.flog10pow2(Long.SIZE - Long.numberOfLeadingZeros(f));
+			if(f >= MathUtils.POW10[len]) {
+				len += 1;
+			}
+			// normalize f to exactly H digits, split into 1 + 8 + 8 digits
+			f *= MathUtils.POW10[H - len];
+			e += len;
+			long hm = MathUtils.multiplyHigh(f, 193_428_131_138_340_668L) >>> 20;
+			int l = (int)(f - 100_000_000L * hm);
+			int h = (int)(hm * 1_441_151_881L >>> 57);
+			int m = (int)(hm - 100_000_000 * h);
+
+			if(0 < e && e <= 7) {
+				// plain format without leading zeroes
+				dst[pos++] = (char)('0' + h);
+				int y = MathUtils.y(m);
+				int t;
+				int i = 1;
+				for(; i < e; i++) {
+					t = 10 * y;
+					dst[pos++] = (char)('0' + (t >>> 28));
+					y = t & MathUtils.MASK_28;
+				}
+				dst[pos++] = '.';
+				for(; i <= 8; i++) {
+					t = 10 * y;
+					dst[pos++] = (char)('0' + (t >>> 28));
+					y = t & MathUtils.MASK_28;
+				}
+				if(l != 0) {
+					pos = MathUtils.append8Digits(l, dst, pos);
+				}
+				return MathUtils.removeTrailingZeroes(dst, pos);
+			}
+			if(-3 < e && e <= 0) {
+				// plain format with leading zeroes
+				dst[pos++] = '0';
+				dst[pos++] = '.';
+				for(; e < 0; e++) {
+					dst[pos++] = '0';
+				}
+				dst[pos++] = (char)('0' + h);
+				pos = MathUtils.append8Digits(m, dst, pos);
+				if(l != 0) {
+					pos = MathUtils.append8Digits(l, dst, pos);
+				}
+				return MathUtils.removeTrailingZeroes(dst, pos);
+			}
+			// computerized scientific notation
+			dst[pos++] = (char)('0' + h);
+			dst[pos++] = '.';
+			pos = MathUtils.append8Digits(m, dst, pos);
+			if(l != 0) {
+				pos = MathUtils.append8Digits(l, dst, pos);
+			}
+			pos = MathUtils.removeTrailingZeroes(dst, pos);
+			return MathUtils.exponent(e - 1, dst, pos);
+		}
+	}
+
+
+	private static final class FloatFormat {
+		static final int P = 24;
+		static final int W = (Float.SIZE - 1) - (P - 1);
+		static final int Q_MIN = (-1 << W - 1) - P + 3;
+		static final int H = 9;
+		static final int C_MIN = 1 << P - 1;
+		static final int BQ_MASK = (1 << W) - 1;
+		static final int T_MASK = (1 << P - 1) - 1;
+		static final int C_TINY = 8;
+		static final long MASK_32 = (1L << 32) - 1;
+
+
+		static int write(float v, char[] dst, int off) {
+			int bits = Float.floatToRawIntBits(v);
+			int t = bits & T_MASK;
+			int bq = (bits >>> P - 1) & BQ_MASK;
+			if(bq < BQ_MASK) {
+				if(bits < 0) {
+					dst[off++] = '-';
+				}
+				if(bq != 0) {
+					// normal value, mq = -q
+					int mq = -Q_MIN + 1 - bq;
+					int c = C_MIN | t;
+					// integer fast path
+					if(0 < mq & mq < P) {
+						int f = c >> mq;
+						if(f << mq == c) {
+							return toChars(f, 0, dst, off);
+						}
+					}
+					return toDecimal(-mq, c, 0, dst, off);
+				}
+				if(t != 0) {
+					// subnormal value
+					return t < C_TINY ? toDecimal(Q_MIN, 10 * t, -1, dst, off) : toDecimal(Q_MIN, t, 0, dst, off);
+				}
+				return writeString("0.0", dst, off);
+			}
+			if(t != 0) {
+				return writeString("NaN", dst, off);
+			}
+			return writeString(bits > 0 ? "Infinity" : "-Infinity", dst, off);
+		}
+
+
+		private static int toDecimal(int q, int c, int dk, char[] dst, int off) {
+			int out = c & 0x1;
+			long cb = (long)c << 2;
+			long cbr = cb + 2;
+			long cbl;
+			int k;
+			if(c != C_MIN | q == Q_MIN) {
+				cbl = cb - 2;
+				k = MathUtils.flog10pow2(q);
+			}
+			else {
+				cbl = cb - 1;
+				k = MathUtils.flog10threeQuartersPow2(q);
+			}
+			int h = q + MathUtils.flog2pow10(-k) + 33;
+
+			long g = MathUtils.g1(k) + 1;
+
+			int vb = rop(g, cb << h);
+			int vbl = rop(g, cbl << h);
+			int vbr = rop(g, cbr << h);
+
+			int s = vb >> 2;
+			if(s >= 100) {
+				// try one digit shorter first: sp10 = 10 * floor(s / 10)
+				int sp10 = 10 * (int)(s * 1_717_986_919L >>> 34);
+				int tp10 = sp10 + 10;
+				boolean upin = vbl + out <= sp10 << 2;
+				boolean wpin = (tp10 << 2) + out <= vbr;
+				if(upin != wpin) {
+					return toChars(upin ? sp10 : tp10, k, dst, off);
+				}
+			}
+
+			int t = s + 1;
+			boolean uin = vbl + out <= s << 2;
+			boolean win = (t << 2) + out <= vbr;
+			if(uin != win) {
+				return toChars(uin ? s : t, k + dk, dst, off);
+			}
+			int cmp = vb - (s + t << 1);
+			return toChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, dst, off);
+		}
+
+
+		private static int rop(long g, long cp) {
+			long x1 = MathUtils.multiplyHigh(g, cp);
+			long vbp = x1 >>> 31;
+			return (int)(vbp | (x1 & MASK_32) + MASK_32 >>> 32);
+		}
+
+
+		/** Write the decimal f * 10^e, f has at most H digits */
+		private static int toChars(int f, int e, char[] dst, int pos) {
+			int len = MathUtils.flog10pow2(Integer.SIZE - Integer.numberOfLeadingZeros(f));
+			if(f >= MathUtils.POW10[len]) {
+				len += 1;
+			}
+			// normalize f to exactly H digits, split into 1 + 8 digits
+			f *= (int)MathUtils.POW10[H - len];
+			e += len;
+			int h = (int)(f * 1_441_151_881L >>> 57);
+			int l = f - 100_000_000 * h;
+
+			if(0 < e && e <= 7) {
+				// plain format without leading zeroes
+				dst[pos++] = (char)('0' + h);
+				int y = MathUtils.y(l);
+				int t;
+				int i = 1;
+				for(; i < e; i++) {
+					t = 10 * y;
+					dst[pos++] = (char)('0' + (t >>> 28));
+					y = t & MathUtils.MASK_28;
+				}
+				dst[pos++] = '.';
+				for(; i <= 8; i++) {
+					t = 10 * y;
+					dst[pos++] = (char)('0' + (t >>> 28));
+					y = t & MathUtils.MASK_28;
+				}
+				return MathUtils.removeTrailingZeroes(dst, pos);
+			}
+			if(-3 < e && e <= 0) {
+				// plain format with leading zeroes
+				dst[pos++] = '0';
+				dst[pos++] = '.';
+				for(; e < 0; e++) {
+					dst[pos++] = '0';
+				}
+				dst[pos++] = (char)('0' + h);
+				pos = MathUtils.append8Digits(l, dst, pos);
+				return MathUtils.removeTrailingZeroes(dst, pos);
+			}
+			// computerized scientific notation
+			dst[pos++] = (char)('0' + h);
+			dst[pos++] = '.';
+			pos = MathUtils.append8Digits(l, dst, pos);
+			pos = MathUtils.removeTrailingZeroes(dst, pos);
+			return MathUtils.exponent(e - 1, dst, pos);
+		}
+	}
+
+}
@@ -0,0 +1,253 @@
+package twg2.io.json.stringify;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import twg2.functions.FunctionIo;
+
+/** Parallel versions of the {@link JsonStringify} {@code toArray()} methods for large lists and primitive arrays.
+ * Inputs with at least {@code threshold} elements are split into {@code chunkSize} element chunks, each chunk is
+ * rendered by {@link JsonStringify} into its own buffer on a {@link ForkJoinPool}, and the chunks are stitched together
+ * in order with the same separator the serial methods use, so the output is identical to the serial output.
+ * Smaller inputs are written serially.<br>
+ * At most two chunks per pool thread are rendered ahead of the chunk being written, which bounds the memory used
+ * for chunk buffers regardless of the input size.  The {@code List} must not be modified while it is being written.<br>
+ * Instances are immutable and thread safe.
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public final class JsonParallelStringify {
+	/** Inputs with fewer elements than this are written serially */
+	public static final int DEFAULT_THRESHOLD = 1 << 16;
+	public static final int DEFAULT_CHUNK_SIZE = 1 << 14;
+	/** Uses the {@link ForkJoinPool#commonPool()} */
+	public static final JsonParallelStringify inst = new JsonParallelStringify(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD, DEFAULT_CHUNK_SIZE);
+
+	private final ForkJoinPool pool;
+	private final int threshold;
+	private final int chunkSize;
+
+
+	public JsonParallelStringify(ForkJoinPool pool, int threshold, int chunkSize) {
+		if(chunkSize < 1) {
+			throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+		}
+		this.pool = pool;
+		this.threshold = threshold;
+		this.chunkSize = chunkSize;
+	}
+
+
+	// ==== object lists ====
+	public JsonParallelStringify toArray(List<? extends Object> vals, String whitespaceSeparator, boolean quote, boolean escape, Appendable dst) throws IOException {
+		int size = vals.size();
+		if(size < threshold) {
+			JsonStringify.inst.toArray(vals, whitespaceSeparator, quote, escape, dst);
+		}
+		else {
+			renderChars(0, size, whitespaceSeparator, (from, to, sb) -> JsonStringify.inst.toArray(vals.subList(from, to), whitespaceSeparator, quote, escape, sb), dst);
+		}
+		return this;
+	}
+
+
+	public JsonParallelStringify toArray(List<? extends Object> vals, String whitespaceSeparator, boolean quote, boolean escape, JsonByteSink dst) throws IOException {
+		int size = vals.size();
+		if(size < threshold) {
+			JsonStringify.inst.toArray(vals, whitespaceSeparator, quote, escape, dst);
+		}
+		else {
+			renderBytes(0, size, whitespaceSeparator, (from, to, bs) -> JsonStringify.inst.toArray(vals.subList(from, to), whitespaceSeparator, quote, escape, bs), dst);
+		}
+		return this;
+	}
+
+
+	public <T extends Object> JsonParallelStringify toArray(List<? extends T> vals, String whitespaceSeparator,
+			boolean quote, boolean escape, Appendable dst, FunctionIo<? super T, String> toString) throws IOException {
+		int size = vals.size();
+		if(size < threshold) {
+			JsonStringify.inst.toArray(vals, whitespaceSeparator, quote, escape, dst, toString);
+		}
+		else {
+			renderChars(0, size, whitespaceSeparator, (from, to, sb) -> JsonStringify.inst.toArray(vals.subList(from, to), whitespaceSeparator, quote, escape, sb, toString), dst);
+		}
+		return this;
+	}
+
+
+	public <T extends Object> JsonParallelStringify toArray(List<? extends T> vals, String whitespaceSeparator,
+			boolean quote, boolean escape, JsonByteSink dst, FunctionIo<? super T, String> toString) throws IOException {
+		int size = vals.size();
+		if(size < threshold) {
+			JsonStringify.inst.toArray(vals, whitespaceSeparator, quote, escape, dst, toString);
+		}
+		else {
+			renderBytes(0, size, whitespaceSeparator, (from, to, bs) -> JsonStringify.inst.toArray(vals.subList(from, to), whitespaceSeparator, quote, escape, bs, toString), dst);
+		}
+		return this;
+	}
+
+
+	// ==== primitive arrays ====
+	public JsonParallelStringify toArray(int[] vals, Appendable dst) throws IOException { return toArray(vals, 0, vals.length, dst); }
+	public JsonParallelStringify toArray(int[] vals, int off, int len, Appendable dst) throws IOException {
+		if(len < threshold) { JsonStringify.inst.toArray(vals, off, len, dst); }
+		else { renderChars(off, len, " ", (from, to, sb) -> JsonStringify.inst.toArray(vals, from, to - from, sb), dst); }
+		return this;
+	}
+
+	public JsonParallelStringify toArray(int[] vals, JsonByteSink dst) throws IOException { return toArray(vals, 0, vals.length, dst); }
+	public JsonParallelStringify toArray(int[] vals, int off, int len, JsonByteSink dst) throws IOException {
+		if(len < threshold) { JsonStringify.inst.toArray(vals, off, len, dst); }
+		else { renderBytes(off, len, " ", (from, to, bs) -> JsonStringify.inst.toArray(vals, from, to - from, bs), dst); }
+		return this;
+	}
+
+
+	public JsonParallelStringify toArray(long[] vals, Appendable dst) throws IOException { return toArray(vals, 0, vals.length, dst); }
+	public JsonParallelStringify toArray(long[] vals, int off, int len, Appendable dst) throws IOException {
+		if(len < threshold) { JsonStringify.inst.toArray(vals, off, len, dst); }
+		else { renderChars(off, len, " ", (from, to, sb) -> JsonStringify.inst.toArray(vals, from, to - from, sb), dst); }
+		return this;
+	}
+
+	public JsonParallelStringify toArray(long[] vals, JsonByteSink dst) throws IOException { return toArray(vals, 0, vals.length, dst); }
+	public JsonParallelStringify toArray(long[] vals, int off, int len, JsonByteSink dst) throws IOException {
+		if(len < threshold) { JsonStringify.inst.toArray(vals, off, len, dst); }
+		else { renderBytes(off, len, " ", (from, to, bs) -> JsonStringify.inst.toArray(vals, from, to - from, bs), dst); }
+		return this;
+	}
+
+
+	public JsonParallelStringify toArray(float[] vals, Appendable dst) throws IOException { return toArray(vals, 0, vals.length, dst); }
+	public JsonParallelStringify toArray(float[] vals, int off, int len, Appendable dst) throws IOException {
+		if(len < threshold) { JsonStringify.inst.toArray(vals, off, len, dst); }
+		else { renderChars(off, len, " ", (from, to, sb) -> JsonStringify.inst.toArray(vals, from, to - from, sb), dst); }
+		return this;
+	}
+
+	public JsonParallelStringify toArray(float[] vals, JsonByteSink dst) throws IOException { return toArray(vals, 0, vals.length, dst); }
+	public JsonParallelStringify toArray(float[] vals, int off, int len, JsonByteSink dst) throws IOException {
+		if(len < threshold) { JsonStringify.inst.toArray(vals, off, len, dst); }
+		else { renderBytes(off, len, " ", (from, to, bs) -> JsonStringify.inst.toArray(vals, from, to - from, bs), dst); }
+		return this;
+	}
+
+
+	public JsonParallelStringify toArray(double[] vals, Appendable dst) throws IOException { return toArray(vals, 0, vals.length, dst); }
+	public JsonParallelStringify toArray(double[] vals, int off, int len, Appendable dst) throws IOException {
+		if(len < threshold) { JsonStringify.inst.toArray(vals, off, len, dst); }
+		else { renderChars(off, len, " ", (from, to, sb) -> JsonStringify.inst.toArray(vals, from, to - from, sb), dst); }
+		return this;
+	}
+
+	public JsonParallelStringify toArray(double[] vals, JsonByteSink dst) throws IOException { return toArray(vals, 0, vals.length, dst); }
+	public JsonParallelStringify toArray(double[] vals, int off, int len, JsonByteSink dst) throws IOException {
+		if(len < threshold) { JsonStringify.inst.toArray(vals, off, len, dst); }
+		else { renderBytes(off, len, " ", (from, to, bs) -> JsonStringify.inst.toArray(vals, from, to - from, bs), dst); }
+		return this;
+	}
+
+
+	// ==== chunking ====
+	/** Renders the elements {@code [from, to)} as a complete JSON array (including brackets) into a chunk buffer
+	 */
+	@FunctionalInterface
+	interface ChunkRenderer<D> {
+		public void render(int from, int to, D dst) throws IOException;
+	}
+
+
+	private void renderChars(int off, int len, String whitespaceSeparator, ChunkRenderer<StringBuilder> renderer, Appendable dst) throws IOException {
+		ArrayDeque<ForkJoinTask<StringBuilder>> inFlight = new ArrayDeque<>();
+		try {
+			int chunks = (int)(((long)len + chunkSize - 1) / chunkSize);
+			int window = Math.max(2, pool.getParallelism() * 2);
+			int next = 0;
+			dst.append('[');
+			for(int i = 0; i < chunks; i++) {
+				for(; next < chunks && inFlight.size() < window; next++) {
+					int from = off + next * chunkSize;
+					int to = Math.min(off + len, from + chunkSize);
+					inFlight.add(pool.submit(() -> {
+						StringBuilder sb = new StringBuilder((to - from) * 8);
+						renderer.render(from, to, sb);
+						return sb;
+					}));
+				}
+				StringBuilder chunk = await(inFlight.poll());
+				if(i > 0) {
+					dst.append(',').append(whitespaceSeparator);
+				}
+				// strip the chunk's brackets
+				dst.append(chunk, 1, chunk.length() - 1);
+			}
+			dst.append(']');
+		} finally {
+			cancelAll(inFlight);
+		}
+	}
+
+
+	private void renderBytes(int off, int len, String whitespaceSeparator, ChunkRenderer<JsonByteSink> renderer, JsonByteSink dst) throws IOException {
+		ArrayDeque<ForkJoinTask<JsonByteSink.ByteArraySink>> inFlight = new ArrayDeque<>();
+		try {
+			int chunks = (int)(((long)len + chunkSize - 1) / chunkSize);
+			int window = Math.max(2, pool.getParallelism() * 2);
+			int next = 0;
+			dst.writeAscii('[');
+			for(int i = 0; i < chunks; i++) {
+				for(; next < chunks && inFlight.size() < window; next++) {
+					int from = off + next * chunkSize;
+					int to = Math.min(off + len, from + chunkSize);
+					inFlight.add(pool.submit(() -> {
+						JsonByteSink.ByteArraySink bs = JsonByteSink.ofArray((to - from) * 8);
+						renderer.render(from, to, bs);
+						return bs;
+					}));
+				}
+				JsonByteSink.ByteArraySink chunk = await(inFlight.poll());
+				if(i > 0) {
+					dst.writeAscii(',').writeUtf8(whitespaceSeparator);
+				}
+				// strip the chunk's brackets
+				dst.write(chunk.array(), 1, chunk.size() - 2);
+			}
+			dst.writeAscii(']');
+		} finally {
+			cancelAll(inFlight);
+		}
+	}
+
+
+	private static <R> R await(ForkJoinTask<R> task) throws IOException {
+		try {
+			return task.get();
+		} catch(InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException iioe = new InterruptedIOException("interrupted while waiting for a JSON chunk");
+			iioe.initCause(ie);
+			throw iioe;
+		} catch(ExecutionException ee) {
+			Throwable cause = ee.getCause();
+			if(cause instanceof IOException) { throw (IOException)cause; }
+			if(cause instanceof RuntimeException) { throw (RuntimeException)cause; }
+			if(cause instanceof Error) { throw (Error)cause; }
+			throw new IOException(cause);
+		}
+	}
+
+
+	private static void cancelAll(ArrayDeque<? extends ForkJoinTask<?>> tasks) {
+		for(ForkJoinTask<?> task : tasks) {
+			task.cancel(false);
+		}
+	}
+
+}
@@ -0,0 +1,587 @@
+package twg2.io.json.stringify;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Sends a repeatedly serialized object as a stream of deltas.  Each {@link #writePatch(Object, Appendable)} call renders
+ * the object with its {@link JsonWritable}, compares it to the previous snapshot, and writes only the difference as an
+ * RFC 6902 JSON Patch ({@code [{"op": "replace", "path": "/a/b", "value": 2}]}) or an RFC 7386 JSON Merge Patch
+ * ({@code {"a": {"b": 2}}}), nothing is written when the object has not changed.<br>
+ * Snapshots are kept as a compact tree of text spans of the rendered document with a 64-bit fingerprint per subtree, so
+ * unchanged subtrees are skipped with one comparison and changed values are copied into the patch from the rendered
+ * text without serializing them again.  Object properties are matched by name, arrays element by element, with elements
+ * added to or removed from the end of an array written as {@code add}/{@code remove} operations.<br>
+ * The first patch (and the first after {@link #reset()}) contains the whole document: a {@code replace} of the root
+ * path for JSON Patch, the document itself for Merge Patch.  A Merge Patch cannot set a property to {@code null}
+ * (that removes it), use JSON Patch for documents with null properties.  Fingerprint collisions are possible in
+ * theory, at 64 bits they are not a practical concern.<br>
+ * Not thread safe, use one instance per stream (i.e. per subscription).
+ * @param <T> the {@link JsonWritable} params type
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public final class JsonPatchStream<T> {
+
+	/** The patch format written by a {@link JsonPatchStream}
+	 */
+	public enum Format {
+		/** RFC 6902 JSON Patch, media type {@code application/json-patch+json} */
+		JSON_PATCH,
+		/** RFC 7386 JSON Merge Patch, media type {@code application/merge-patch+json} */
+		MERGE_PATCH;
+	}
+
+
+	private static final byte OBJECT = 0;
+	private static final byte ARRAY = 1;
+	private static final byte STRING = 2;
+	private static final byte LITERAL = 3;
+	private static final byte NULL = 4;
+	/** Objects with more properties than this use a hash map to match property names */
+	private static final int MAX_LINEAR_KEYS = 8;
+
+	private final JsonWritable<T> writable;
+	private final Format format;
+	private final StringBuilder render = new StringBuilder();
+	private final StringBuilder patch = new StringBuilder();
+	private String lastText;
+	private Node lastTree;
+
+
+	public JsonPatchStream(JsonWritable<T> writable, Format format) {
+		this.writable = writable;
+		this.format = format;
+	}
+
+
+	public Format getFormat() {
+		return format;
+	}
+
+
+	/** The last rendered document, null before the first patch or after {@link #reset()}.
+	 * Use it to send the current state to a new subscriber
+	 */
+	public String getDocument() {
+		return lastText;
+	}
+
+
+	/** Forget the last snapshot, the next patch contains the whole document
+	 */
+	public void reset() {
+		lastText = null;
+		lastTree = null;
+	}
+
+
+	/** Render {@code params} and write the patch from the previous snapshot to it
+	 * @return true if a patch was written, false if the document has not changed and nothing was written
+	 */
+	public boolean writePatch(T params, Appendable dst) throws IOException {
+		render.setLength(0);
+		writable.toJson(render, params);
+		String text = render.toString();
+		Node tree = new Parser(text).parseDocument();
+		Node prevTree = lastTree;
+		lastText = text;
+		lastTree = tree;
+		if(prevTree != null && prevTree.hash == tree.hash) {
+			return false;
+		}
+		StringBuilder sb = dst instanceof StringBuilder ? (StringBuilder)dst : patch;
+		if(sb != dst) {
+			patch.setLength(0);
+		}
+		int start = sb.length();
+		if(!writePatch(prevTree, tree, text, sb)) {
+			sb.setLength(start);
+			return false;
+		}
+		if(sb != dst) {
+			dst.append(patch);
+		}
+		return true;
+	}
+
+
+	/** Render {@code params} and write the patch from the previous snapshot to it, see {@link #writePatch(Object, Appendable)}
+	 */
+	public boolean writePatch(T params, JsonByteSink dst) throws IOException {
+		patch.setLength(0);
+		if(!writePatch(params, (Appendable)patch)) {
+			return false;
+		}
+		dst.writeUtf8(patch);
+		return true;
+	}
+
+
+	/** Render {@code params} and return the patch from the previous snapshot, or null if the document has not changed
+	 */
+	public String patch(T params) {
+		try {
+			StringBuilder sb = new StringBuilder();
+			return writePatch(params, sb) ? sb.toString() : null;
+		} catch(IOException ioe) {
+			throw new UncheckedIOException(ioe);
+		}
+	}
+
+
+	/** Write the patch from {@code prev} (null for the first snapshot) to {@code next}
+	 * @return false if no changes were found (i.e. only property order differs) and the output should be discarded
+	 */
+	private boolean writePatch(Node prev, Node next, String text, StringBuilder dst) {
+		if(format == Format.JSON_PATCH) {
+			dst.append('[');
+			int opsStart = dst.length();
+			StringBuilder path = new StringBuilder();
+			if(prev == null) {
+				writeOp("replace", path, next, text, dst);
+			}
+			else {
+				diffPatch(prev, next, text, path, dst);
+			}
+			dst.append(']');
+			return dst.length() > opsStart + 1;
+		}
+		else {
+			if(prev == null || prev.type != OBJECT || next.type != OBJECT) {
+				appendSpan(text, next, dst);
+				return true;
+			}
+			int start = dst.length();
+			diffMerge(prev, next, text, dst);
+			return dst.length() > start + 2;
+		}
+	}
+
+
+	// ==== JSON Patch ====
+	private void diffPatch(Node prev, Node next, String text, StringBuilder path, StringBuilder dst) {
+		if(prev.hash == next.hash) {
+			return;
+		}
+		if(prev.type == OBJECT && next.type == OBJECT) {
+			int pathLen = path.length();
+			KeyIndex prevKeys = new KeyIndex(prev);
+			for(int i = 0; i < next.keys.length; i++) {
+				String key = next.keys[i];
+				int prevIdx = prevKeys.indexOf(key, i);
+				appendPointerSegment(key, path);
+				if(prevIdx < 0) {
+					writeOp("add", path, next.children[i], text, dst);
+				}
+				else {
+					prevKeys.matched[prevIdx] = true;
+					diffPatch(prev.children[prevIdx], next.children[i], text, path, dst);
+				}
+				path.setLength(pathLen);
+			}
+			for(int i = 0; i < prev.keys.length; i++) {
+				if(!prevKeys.matched[i]) {
+					appendPointerSegment(prev.keys[i], path);
+					writeOp("remove", path, null, text, dst);
+					path.setLength(pathLen);
+				}
+			}
+		}
+		else if(prev.type == ARRAY && next.type == ARRAY) {
+			int pathLen = path.length();
+			int common = Math.min(prev.children.length, next.children.length);
+			for(int i = 0; i < common; i++) {
+				path.append('/').append(i);
+				diffPatch(prev.children[i], next.children[i], text, path, dst);
+				path.setLength(pathLen);
+			}
+			for(int i = common; i < next.children.length; i++) {
+				path.append('/').append(i);
+				writeOp("add", path, next.children[i], text, dst);
+				path.setLength(pathLen);
+			}
+			// remove from the end so earlier indexes stay valid
+			for(int i = prev.children.length - 1; i >= common; i--) {
+				path.append('/').append(i);
+				writeOp("remove", path, null, text, dst);
+				path.setLength(pathLen);
+			}
+		}
+		else {
+			writeOp("replace", path, next, text, dst);
+		}
+	}
+
+
+	private static void writeOp(String op, CharSequence path, Node value, String text, StringBuilder dst) {
+		if(dst.charAt(dst.length() - 1) != '[') {
+			dst.append(", ");
+		}
+		dst.append("{\"op\": \"").append(op).append("\", \"path\": \"");
+		try {
+			JsonEscape.escape(path, dst);
+		} catch(IOException ioe) {
+			throw new UncheckedIOException(ioe);
+		}
+		dst.append('"');
+		if(value != null) {
+			dst.append(", \"value\": ");
+			appendSpan(text, value, dst);
+		}
+		dst.append('}');
+	}
+
+
+	/** Append {@code /key} to a JSON Pointer, escaping {@code ~} and {@code /} as required by RFC 6901
+	 */
+	private static void appendPointerSegment(String key, StringBuilder path) {
+		path.append('/');
+		for(int i = 0, n = key.length(); i < n; i++) {
+			char ch = key.charAt(i);
+			if(ch == '~') { path.append("~0"); }
+			else if(ch == '/') { path.append("~1"); }
+			else { path.append(ch); }
+		}
+	}
+
+
+	// ==== JSON Merge Patch ====
+	private void diffMerge(Node prev, Node next, String text, StringBuilder dst) {
+		dst.append('{');
+		boolean first = true;
+		KeyIndex prevKeys = new KeyIndex(prev);
+		for(int i = 0; i < next.keys.length; i++) {
+			int prevIdx = prevKeys.indexOf(next.keys[i], i);
+			Node val = next.children[i];
+			Node prevVal = null;
+			if(prevIdx >= 0) {
+				prevKeys.matched[prevIdx] = true;
+				prevVal = prev.children[prevIdx];
+				if(prevVal.hash == val.hash) {
+					continue;
+				}
+			}
+			if(!first) { dst.append(", "); }
+			appendSpan(text, next.keySpans[i], dst);
+			dst.append(": ");
+			if(prevVal != null && prevVal.type == OBJECT && val.type == OBJECT) {
+				diffMerge(prevVal, val, text, dst);
+			}
+			else {
+				appendSpan(text, val, dst);
+			}
+			first = false;
+		}
+		for(int i = 0; i < prev.keys.length; i++) {
+			if(!prevKeys.matched[i]) {
+				if(!first) { dst.append(", "); }
+				dst.append('"');
+				try {
+					JsonEscape.escape(prev.keys[i], dst);
+				} catch(IOException ioe) {
+					throw new UncheckedIOException(ioe);
+				}
+				dst.append("\": null");
+				first = false;
+			}
+		}
+		dst.append('}');
+	}
+
+
+	private static void appendSpan(String text, Node node, StringBuilder dst) {
+		dst.append(text, node.start, node.end);
+	}
+
+
+	private static void appendSpan(String text, long span, StringBuilder dst) {
+		dst.append(text, (int)(span >>> 32), (int)span);
+	}
+
+
+
+
+	/** A parsed value: a span of the rendered text, its fingerprint, and for objects and arrays, its children
+	 */
+	static final class Node {
+		final byte type;
+		final int start;
+		final int end;
+		final long hash;
+		/** Unescaped property names, null for non-objects */
+		final String[] keys;
+		/** The quoted property name spans ({@code start << 32 | end}) in the text, null for non-objects */
+		final long[] keySpans;
+		/** Property values or array elements, null for primitives */
+		final Node[] children;
+
+
+		Node(byte type, int start, int end, long hash, String[] keys, long[] keySpans, Node[] children) {
+			this.type = type;
+			this.start = start;
+			this.end = end;
+			this.hash = hash;
+			this.keys = keys;
+			this.keySpans = keySpans;
+			this.children = children;
+		}
+	}
+
+
+
+
+	/** Finds property names in an object node, assuming most objects keep their property order between snapshots
+	 */
+	private static final class KeyIndex {
+		private final String[] keys;
+		private final boolean[] matched;
+		private Map<String, Integer> index;
+
+
+		KeyIndex(Node obj) {
+			this.keys = obj.keys;
+			this.matched = new boolean[obj.keys.length];
+		}
+
+
+		/** The index of {@code key}, trying {@code hint} first, or -1
+		 */
+		int indexOf(String key, int hint) {
+			if(hint < keys.length && keys[hint].equals(key)) {
+				return hint;
+			}
+			if(keys.length <= MAX_LINEAR_KEYS) {
+				for(int i = 0; i < keys.length; i++) {
+					if(keys[i].equals(key)) {
+						return i;
+					}
+				}
+				return -1;
+			}
+			if(index == null) {
+				index = new HashMap<>(keys.length * 2);
+				for(int i = 0; i < keys.length; i++) {
+					index.put(keys[i], i);
+				}
+			}
+			Integer idx = index.get(key);
+			return idx != null ? idx : -1;
+		}
+	}
+
+
+
+
+	/** Parses rendered JSON text into {@link Node}s, fingerprints ignore insignificant whitespace
+	 */
+	static final class Parser {
+		private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+		private static final long FNV_PRIME = 0x100000001B3L;
+		private static final long MIX = 0x9E3779B97F4A7C15L;
+
+		private final String text;
+		private int pos;
+
+
+		Parser(String text) {
+			this.text = text;
+		}
+
+
+		Node parseDocument() {
+			Node res = parseValue();
+			skipWhitespace();
+			if(pos != text.length()) {
+				throw error("unexpected text after the document");
+			}
+			return res;
+		}
+
+
+		private Node parseValue() {
+			skipWhitespace();
+			if(pos >= text.length()) {
+				throw error("unexpected end of document");
+			}
+			char ch = text.charAt(pos);
+			if(ch == '{') { return parseObject(); }
+			if(ch == '[') { return parseArray(); }
+			if(ch == '"') {
+				int start = pos;
+				skipString();
+				return new Node(STRING, start, pos, hashSpan(STRING, start, pos), null, null, null);
+			}
+			int start = pos;
+			while(pos < text.length() && isLiteralChar(text.charAt(pos))) {
+				pos++;
+			}
+			if(pos == start) {
+				throw error("unexpected '" + ch + "'");
+			}
+			boolean isNull = pos - start == 4 && text.startsWith("null", start);
+			byte type = isNull ? NULL : LITERAL;
+			return new Node(type, start, pos, hashSpan(type, start, pos), null, null, null);
+		}
+
+
+		private Node parseObject() {
+			int start = pos++;
+			List<String> keys = new ArrayList<>();
+			List<Long> keySpans = new ArrayList<>();
+			List<Node> children = new ArrayList<>();
+			long hash = mix(FNV_OFFSET, OBJECT);
+			skipWhitespace();
+			if(peek() == '}') {
+				pos++;
+			}
+			else {
+				while(true) {
+					skipWhitespace();
+					if(peek() != '"') {
+						throw error("expected a property name");
+					}
+					int keyStart = pos;
+					skipString();
+					int keyEnd = pos;
+					skipWhitespace();
+					if(peek() != ':') {
+						throw error("expected ':'");
+					}
+					pos++;
+					Node val = parseValue();
+					keys.add(unescape(keyStart + 1, keyEnd - 1));
+					keySpans.add(((long)keyStart << 32) | keyEnd);
+					children.add(val);
+					hash = mix(mix(hash, hashSpan(STRING, keyStart, keyEnd)), val.hash);
+					skipWhitespace();
+					char ch = peek();
+					pos++;
+					if(ch == '}') { break; }
+					if(ch != ',') { throw error("expected ',' or '}'"); }
+				}
+			}
+			long[] spans = new long[keySpans.size()];
+			for(int i = 0; i < spans.length; i++) {
+				spans[i] = keySpans.get(i);
+			}
+			return new Node(OBJECT, start, pos, hash, keys.toArray(new String[keys.size()]), spans, children.toArray(new Node[children.size()]));
+		}
+
+
+		private Node parseArray() {
+			int start = pos++;
+			List<Node> children = new ArrayList<>();
+			long hash = mix(FNV_OFFSET, ARRAY);
+			skipWhitespace();
+			if(peek() == ']') {
+				pos++;
+			}
+			else {
+				while(true) {
+					Node val = parseValue();
+					children.add(val);
+					hash = mix(hash, val.hash);
+					skipWhitespace();
+					char ch = peek();
+					pos++;
+					if(ch == ']') { break; }
+					if(ch != ',') { throw error("expected ',' or ']'"); }
+				}
+			}
+			return new Node(ARRAY, start, pos, hash, null, null, children.toArray(new Node[children.size()]));
+		}
+
+
+		/** Advance past a quoted string starting at {@link #pos}
+		 */
+		private void skipString() {
+			pos++;
+			while(pos < text.length()) {
+				char ch = text.charAt(pos++);
+				if(ch == '"') {
+					return;
+				}
+				if(ch == '\\') {
+					pos++;
+				}
+			}
+			throw error("unterminated string");
+		}
+
+
+		private String unescape(int start, int end) {
+			int esc = text.indexOf('\\', start);
+			if(esc < 0 || esc >= end) {
+				return text.substring(start, end);
+			}
+			StringBuilder sb = new StringBuilder(end - start);
+			for(int i = start; i < end; i++) {
+				char ch = text.charAt(i);
+				if(ch != '\\') {
+					sb.append(ch);
+					continue;
+				}
+				char e = text.charAt(++i);
+				switch(e) {
+				case 'b': sb.append('\b'); break;
+				case 'f': sb.append('\f'); break;
+				case 'n': sb.append('\n'); break;
+				case 'r': sb.append('\r'); break;
+				case 't': sb.append('\t'); break;
+				case 'u': sb.append((char)Integer.parseInt(text.substring(i + 1, i + 5), 16)); i += 4; break;
+				default: sb.append(e); break;
+				}
+			}
+			return sb.toString();
+		}
+
+
+		private long hashSpan(byte type, int start, int end) {
+			long h = FNV_OFFSET ^ type;
+			for(int i = start; i < end; i++) {
+				h = (h ^ text.charAt(i)) * FNV_PRIME;
+			}
+			return h;
+		}
+
+
+		private static long mix(long hash, long val) {
+			long h = (hash ^ val) * MIX;
+			return h ^ (h >>> 29);
+		}
+
+
+		private char peek() {
+			if(pos >= text.length()) {
+				throw error("unexpected end of document");
+			}
+			return text.charAt(pos);
+		}
+
+
+		private void skipWhitespace() {
+			while(pos < text.length()) {
+				char ch = text.charAt(pos);
+				if(ch != ' ' && ch != '\n' && ch != '\r' && ch != '\t') {
+					return;
+				}
+				pos++;
+			}
+		}
+
+
+		private static boolean isLiteralChar(char ch) {
+			return (ch >= '0' && ch <= '9') || (ch >= 'a' && ch <= 'z') || ch == '-' || ch == '+' || ch == '.' || ch == 'E';
+		}
+
+
+		private IllegalArgumentException error(String msg) {
+			return new IllegalArgumentException("invalid JSON at index " + pos + ": " + msg);
+		}
+	}
+
+}
@@ -0,0 +1,421 @@
+package twg2.io.json.stringify;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/** A compiled layout for writing flat records as JSON objects, built once from a list of (key, typed accessor) fields
+ * with {@link #builder()}.  The constant text between values ({@code {"id": }, {@code , "name": "}, ...) is rendered
+ * when the template is built, as a {@link String} and UTF-8 bytes, so writing a record is a fixed run of constant
+ * copies and typed value writes, with no per-record key escaping, separator logic, or boxing of primitive values.<br>
+ * Records are written as {@code {"key": value, "key": value}}, the same text as {@link JsonStringify#toProp(JsonKey, int, Appendable)}
+ * and {@link JsonStringify#comma(Appendable)} calls, and arrays of records as {@code [record, record]} with a caller
+ * specified separator like the {@code toArrayConsume()} methods.<br>
+ * The column mode ({@link #toArrayColumns(int, Object[], String, Appendable)}) writes the same objects from parallel
+ * arrays (one {@code int[]}, {@code long[]}, {@code double[]}, etc. per field) so exports of columnar data never create
+ * record objects.  Templates used only for columns may be built with null accessors.<br>
+ * Immutable and thread safe.
+ * @param <T> the record type
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public final class JsonRecordTemplate<T> implements JsonWritable<T> {
+	private static final byte INT = 0;
+	private static final byte LONG = 1;
+	private static final byte DOUBLE = 2;
+	private static final byte BOOLEAN = 3;
+	private static final byte STRING = 4;
+	private static final byte VALUE = 5;
+
+	private final String[] names;
+	private final byte[] kinds;
+	/** The accessor for each field, a {@link ToIntFunction}, {@link ToLongFunction}, {@link ToDoubleFunction}, {@link Predicate}, or {@link Function} */
+	private final Object[] accessors;
+	/** The text before each value: {@code {"key": } for the first field and {@code , "key": } for the rest */
+	private final String[] prefixes;
+	private final byte[][] prefixBytes;
+	/** The prefixes with the opening quote of a string value appended, only used for string fields */
+	private final String[] quotedPrefixes;
+	private final byte[][] quotedPrefixBytes;
+	/** The name of the first field with a null accessor, null if the template can write records */
+	private final String missingAccessor;
+
+
+	private JsonRecordTemplate(List<String> names, List<Byte> kinds, List<Object> accessors) {
+		int size = names.size();
+		this.names = names.toArray(new String[size]);
+		this.kinds = new byte[size];
+		this.accessors = accessors.toArray();
+		this.prefixes = new String[size];
+		this.prefixBytes = new byte[size][];
+		this.quotedPrefixes = new String[size];
+		this.quotedPrefixBytes = new byte[size][];
+		String missing = null;
+		for(int i = 0; i < size; i++) {
+			this.kinds[i] = kinds.get(i);
+			JsonKey key = JsonKey.of(names.get(i));
+			String prefix = (i == 0 ? "{" : ", ") + key.text;
+			this.prefixes[i] = prefix;
+			this.prefixBytes[i] = utf8(prefix);
+			this.quotedPrefixes[i] = prefix + '"';
+			this.quotedPrefixBytes[i] = utf8(prefix + '"');
+			if(missing == null && this.accessors[i] == null) {
+				missing = names.get(i);
+			}
+		}
+		this.missingAccessor = missing;
+	}
+
+
+	public static <T> Builder<T> builder() {
+		return new Builder<>();
+	}
+
+
+	/** The number of fields
+	 */
+	public int size() {
+		return names.length;
+	}
+
+
+	/** The name of field {@code idx}
+	 */
+	public String getName(int idx) {
+		return names[idx];
+	}
+
+
+	// ==== records ====
+	public JsonRecordTemplate<T> toArray(List<? extends T> vals,                             StringBuilder dst)                 { try { return toArray(vals, " ", (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
+	public JsonRecordTemplate<T> toArray(List<? extends T> vals, String whitespaceSeparator, StringBuilder dst)                 { try { return toArray(vals, whitespaceSeparator, (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
+
+	public JsonRecordTemplate<T> toArray(List<? extends T> vals,                             Appendable dst) throws IOException { return toArray(vals, " ", dst); }
+	public JsonRecordTemplate<T> toArray(List<? extends T> vals, String whitespaceSeparator, Appendable dst) throws IOException {
+		checkAccessors();
+		dst.append('[');
+		for(int i = 0, size = vals.size(); i < size; i++) {
+			if(i > 0) {
+				dst.append(',').append(whitespaceSeparator);
+			}
+			writeRecord(vals.get(i), dst);
+		}
+		dst.append(']');
+		return this;
+	}
+
+
+	public JsonRecordTemplate<T> toArray(List<? extends T> vals,                             JsonByteSink dst) throws IOException { return toArray(vals, " ", dst); }
+	public JsonRecordTemplate<T> toArray(List<? extends T> vals, String whitespaceSeparator, JsonByteSink dst) throws IOException {
+		checkAccessors();
+		dst.writeAscii('[');
+		for(int i = 0, size = vals.size(); i < size; i++) {
+			if(i > 0) {
+				dst.writeAscii(',').writeUtf8(whitespaceSeparator);
+			}
+			writeRecord(vals.get(i), dst);
+		}
+		dst.writeAscii(']');
+		return this;
+	}
+
+
+	public JsonRecordTemplate<T> toArray(Iterator<? extends T> vals, String whitespaceSeparator, Appendable dst) throws IOException {
+		checkAccessors();
+		dst.append('[');
+		boolean first = true;
+		while(vals.hasNext()) {
+			if(!first) {
+				dst.append(',').append(whitespaceSeparator);
+			}
+			writeRecord(vals.next(), dst);
+			first = false;
+		}
+		dst.append(']');
+		return this;
+	}
+
+
+	public JsonRecordTemplate<T> toArray(Iterator<? extends T> vals, String whitespaceSeparator, JsonByteSink dst) throws IOException {
+		checkAccessors();
+		dst.writeAscii('[');
+		boolean first = true;
+		while(vals.hasNext()) {
+			if(!first) {
+				dst.writeAscii(',').writeUtf8(whitespaceSeparator);
+			}
+			writeRecord(vals.next(), dst);
+			first = false;
+		}
+		dst.writeAscii(']');
+		return this;
+	}
+
+
+	/** Write one record as a JSON object
+	 */
+	@Override
+	public void toJson(Appendable dst, T obj) throws IOException {
+		checkAccessors();
+		writeRecord(obj, dst);
+	}
+
+
+	/** Write one record as a JSON object
+	 */
+	@Override
+	public void toJson(JsonByteSink dst, T obj) throws IOException {
+		checkAccessors();
+		writeRecord(obj, dst);
+	}
+
+
+	// ==== columns ====
+	/** Write {@code rows} records from parallel column arrays, one per field in template order: an {@code int[]} for int fields,
+	 * {@code long[]} for long fields, {@code double[]} or {@code float[]} for double fields, {@code boolean[]} for boolean fields,
+	 * and an {@code Object[]} (i.e. {@code String[]}) for string and value fields.  Each column must have at least {@code rows} elements
+	 * @throws IllegalArgumentException if the number or types of columns do not match the template
+	 */
+	public JsonRecordTemplate<T> toArrayColumns(int rows, Object[] columns,                             StringBuilder dst)                 { try { return toArrayColumns(rows, columns, " ", (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
+	public JsonRecordTemplate<T> toArrayColumns(int rows, Object[] columns, String whitespaceSeparator, StringBuilder dst)                 { try { return toArrayColumns(rows, columns, whitespaceSeparator, (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
+
+	public JsonRecordTemplate<T> toArrayColumns(int rows, Object[] columns,                             Appendable dst) throws IOException { return toArrayColumns(rows, columns, " ", dst); }
+	public JsonRecordTemplate<T> toArrayColumns(int rows, Object[] columns, String whitespaceSeparator, Appendable dst) throws IOException {
+		checkColumns(rows, columns);
+		dst.append('[');
+		for(int r = 0; r < rows; r++) {
+			if(r > 0) {
+				dst.append(',').append(whitespaceSeparator);
+			}
+			writeColumnRecord(columns, r, dst);
+		}
+		dst.append(']');
+		return this;
+	}
+
+
+	public JsonRecordTemplate<T> toArrayColumns(int rows, Object[] columns,                             JsonByteSink dst) throws IOException { return toArrayColumns(rows, columns, " ", dst); }
+	public JsonRecordTemplate<T> toArrayColumns(int rows, Object[] columns, String whitespaceSeparator, JsonByteSink dst) throws IOException {
+		checkColumns(rows, columns);
+		dst.writeAscii('[');
+		for(int r = 0; r < rows; r++) {
+			if(r > 0) {
+				dst.writeAscii(',').writeUtf8(whitespaceSeparator);
+			}
+			writeColumnRecord(columns, r, dst);
+		}
+		dst.writeAscii(']');
+		return this;
+	}
+
+
+	// ==== record writers ====
+	@SuppressWarnings("unchecked")
+	private void writeRecord(T obj, Appendable dst) throws IOException {
+		if(obj == null) {
+			dst.append("null");
+			return;
+		}
+		byte[] kinds = this.kinds;
+		Object[] accessors = this.accessors;
+		for(int i = 0; i < kinds.length; i++) {
+			switch(kinds[i]) {
+			case INT: dst.append(prefixes[i]); JsonNumberWriter.appendInt(((ToIntFunction<T>)accessors[i]).applyAsInt(obj), dst); break;
+			case LONG: dst.append(prefixes[i]); JsonNumberWriter.appendLong(((ToLongFunction<T>)accessors[i]).applyAsLong(obj), dst); break;
+			case DOUBLE: dst.append(prefixes[i]); JsonNumberWriter.appendDouble(((ToDoubleFunction<T>)accessors[i]).applyAsDouble(obj), dst); break;
+			case BOOLEAN: dst.append(prefixes[i]).append(((Predicate<T>)accessors[i]).test(obj) ? "true" : "false"); break;
+			case STRING: writeString(i, ((Function<T, String>)accessors[i]).apply(obj), dst); break;
+			default: dst.append(prefixes[i]); JsonValueWriter.JSON.write(((Function<T, ?>)accessors[i]).apply(obj), dst); break;
+			}
+		}
+		dst.append('}');
+	}
+
+
+	@SuppressWarnings("unchecked")
+	private void writeRecord(T obj, JsonByteSink dst) throws IOException {
+		if(obj == null) {
+			dst.writeAscii("null");
+			return;
+		}
+		byte[] kinds = this.kinds;
+		Object[] accessors = this.accessors;
+		for(int i = 0; i < kinds.length; i++) {
+			switch(kinds[i]) {
+			case INT: dst.write(prefixBytes[i]).writeInt(((ToIntFunction<T>)accessors[i]).applyAsInt(obj)); break;
+			case LONG: dst.write(prefixBytes[i]).writeLong(((ToLongFunction<T>)accessors[i]).applyAsLong(obj)); break;
+			case DOUBLE: dst.write(prefixBytes[i]).writeDouble(((ToDoubleFunction<T>)accessors[i]).applyAsDouble(obj)); break;
+			case BOOLEAN: dst.write(prefixBytes[i]).writeBoolean(((Predicate<T>)accessors[i]).test(obj)); break;
+			case STRING: writeString(i, ((Function<T, String>)accessors[i]).apply(obj), dst); break;
+			default: dst.write(prefixBytes[i]); JsonValueWriter.JSON.write(((Function<T, ?>)accessors[i]).apply(obj), dst); break;
+			}
+		}
+		dst.writeAscii('}');
+	}
+
+
+	private void writeColumnRecord(Object[] columns, int r, Appendable dst) throws IOException {
+		byte[] kinds = this.kinds;
+		for(int i = 0; i < kinds.length; i++) {
+			Object col = columns[i];
+			switch(kinds[i]) {
+			case INT: dst.append(prefixes[i]); JsonNumberWriter.appendInt(((int[])col)[r], dst); break;
+			case LONG: dst.append(prefixes[i]); JsonNumberWriter.appendLong(((long[])col)[r], dst); break;
+			case DOUBLE:
+				dst.append(prefixes[i]);
+				if(col instanceof double[]) { JsonNumberWriter.appendDouble(((double[])col)[r], dst); }
+				else { JsonNumberWriter.appendFloat(((float[])col)[r], dst); }
+				break;
+			case BOOLEAN: dst.append(prefixes[i]).append(((boolean[])col)[r] ? "true" : "false"); break;
+			case STRING:
+				Object str = ((Object[])col)[r];
+				writeString(i, str != null ? str.toString() : null, dst);
+				break;
+			default: dst.append(prefixes[i]); JsonValueWriter.JSON.write(((Object[])col)[r], dst); break;
+			}
+		}
+		dst.append('}');
+	}
+
+
+	private void writeColumnRecord(Object[] columns, int r, JsonByteSink dst) throws IOException {
+		byte[] kinds = this.kinds;
+		for(int i = 0; i < kinds.length; i++) {
+			Object col = columns[i];
+			switch(kinds[i]) {
+			case INT: dst.write(prefixBytes[i]).writeInt(((int[])col)[r]); break;
+			case LONG: dst.write(prefixBytes[i]).writeLong(((long[])col)[r]); break;
+			case DOUBLE:
+				dst.write(prefixBytes[i]);
+				if(col instanceof double[]) { dst.writeDouble(((double[])col)[r]); }
+				else { dst.writeFloat(((float[])col)[r]); }
+				break;
+			case BOOLEAN: dst.write(prefixBytes[i]).writeBoolean(((boolean[])col)[r]); break;
+			case STRING:
+				Object str = ((Object[])col)[r];
+				writeString(i, str != null ? str.toString() : null, dst);
+				break;
+			default: dst.write(prefixBytes[i]); JsonValueWriter.JSON.write(((Object[])col)[r], dst); break;
+			}
+		}
+		dst.writeAscii('}');
+	}
+
+
+	private void writeString(int i, String str, Appendable dst) throws IOException {
+		if(str != null) {
+			dst.append(quotedPrefixes[i]);
+			JsonEscape.escape(str, dst);
+			dst.append('"');
+		}
+		else {
+			dst.append(prefixes[i]).append("null");
+		}
+	}
+
+
+	private void writeString(int i, String str, JsonByteSink dst) throws IOException {
+		if(str != null) {
+			dst.write(quotedPrefixBytes[i]).writeEscaped(str).writeAscii('"');
+		}
+		else {
+			dst.write(prefixBytes[i]).writeAscii("null");
+		}
+	}
+
+
+	private void checkAccessors() {
+		if(missingAccessor != null) {
+			throw new IllegalStateException("template field '" + missingAccessor + "' has no accessor, it can only write columns");
+		}
+	}
+
+
+	private void checkColumns(int rows, Object[] columns) {
+		if(columns.length != kinds.length) {
+			throw new IllegalArgumentException("expected " + kinds.length + " columns, found " + columns.length);
+		}
+		for(int i = 0; i < kinds.length; i++) {
+			Object col = columns[i];
+			int len;
+			switch(kinds[i]) {
+			case INT: len = col instanceof int[] ? ((int[])col).length : -1; break;
+			case LONG: len = col instanceof long[] ? ((long[])col).length : -1; break;
+			case DOUBLE: len = col instanceof double[] ? ((double[])col).length : (col instanceof float[] ? ((float[])col).length : -1); break;
+			case BOOLEAN: len = col instanceof boolean[] ? ((boolean[])col).length : -1; break;
+			default: len = col instanceof Object[] ? ((Object[])col).length : -1; break;
+			}
+			if(len < 0) {
+				throw new IllegalArgumentException("column '" + names[i] + "' has the wrong array type: " + (col != null ? col.getClass().getSimpleName() : "null"));
+			}
+			if(len < rows) {
+				throw new IllegalArgumentException("column '" + names[i] + "' has " + len + " values, expected at least " + rows);
+			}
+		}
+	}
+
+
+	private static byte[] utf8(String str) {
+		try {
+			JsonByteSink.ByteArraySink bytes = JsonByteSink.ofArray(str.length() + 8);
+			bytes.writeUtf8(str);
+			return bytes.toByteArray();
+		} catch(IOException ioe) {
+			throw new UncheckedIOException(ioe);
+		}
+	}
+
+
+
+
+	/** Builds a {@link JsonRecordTemplate}, fields are written in the order they are added
+	 * @author TeamworkGuy2
+	 * @since 2026-10-18
+	 */
+	public static final class Builder<T> {
+		private final List<String> names = new ArrayList<>();
+		private final List<Byte> kinds = new ArrayList<>();
+		private final List<Object> accessors = new ArrayList<>();
+
+
+		Builder() {
+		}
+
+
+		public Builder<T> intField(String name, ToIntFunction<? super T> accessor)       { return add(name, INT, accessor); }
+		public Builder<T> longField(String name, ToLongFunction<? super T> accessor)     { return add(name, LONG, accessor); }
+		public Builder<T> doubleField(String name, ToDoubleFunction<? super T> accessor) { return add(name, DOUBLE, accessor); }
+		public Builder<T> booleanField(String name, Predicate<? super T> accessor)       { return add(name, BOOLEAN, accessor); }
+		/** A string field, written quoted and escaped, or {@code null} */
+		public Builder<T> stringField(String name, Function<? super T, String> accessor) { return add(name, STRING, accessor); }
+		/** A field of any type, written by {@link JsonValueWriter#JSON} */
+		public Builder<T> field(String name, Function<? super T, ?> accessor)            { return add(name, VALUE, accessor); }
+
+
+		public JsonRecordTemplate<T> build() {
+			if(names.isEmpty()) {
+				throw new IllegalStateException("a template needs at least one field");
+			}
+			return new JsonRecordTemplate<>(names, kinds, accessors);
+		}
+
+
+		private Builder<T> add(String name, byte kind, Object accessor) {
+			if(names.contains(name)) {
+				throw new IllegalArgumentException("duplicate field name '" + name + "'");
+			}
+			names.add(name);
+			kinds.add(kind);
+			accessors.add(accessor);
+			return this;
+		}
+	}
+
+}
@@ -2,12 +2,16 @@ package twg2.io.json.stringify;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.SortedMap;
 
 import twg2.functions.ConsumerIo;
 import twg2.functions.FunctionIo;
-import twg2.text.stringEscape.StringEscapeJson;
 
 /**
  * @author TeamworkGuy2
@@ -16,9 +20,15 @@ import twg2.text.stringEscape.StringEscapeJson;
 public final class JsonStringify {
 	public static final JsonStringify inst = new JsonStringify();
 
+	private static final JsonBufferPool.SizeEstimate listArrayEstimate = new JsonBufferPool.SizeEstimate();
+	private static final JsonBufferPool.SizeEstimate stringArrayEstimate = new JsonBufferPool.SizeEstimate();
+	private static final JsonBufferPool.SizeEstimate intArrayEstimate = new JsonBufferPool.SizeEstimate();
+	private static final JsonBufferPool.SizeEstimate longArrayEstimate = new JsonBufferPool.SizeEstimate();
+	private static final JsonBufferPool.SizeEstimate doubleArrayEstimate = new JsonBufferPool.SizeEstimate();
+
 
 	// ==== Function ====
-	/** Same as {@link #join(Iterable, String, boolean, StringBuilder, FunctionIo)} except all strings are JSON escaped first ({@link StringEscapeJson#toJsonString(String)})
+	/** Same as {@link #join(Iterable, String, boolean, StringBuilder, FunctionIo)} except all strings are JSON escaped first ({@link JsonEscape#escape(CharSequence, Appendable)})
 	 */
 	public <T extends Object> JsonStringify joinEscape(Iterable<? extends T> objs, String delimiter, StringBuilder dst, FunctionIo<T, String> toString) {
 		return join(objs, delimiter, true, dst, toString);
@@ -37,7 +47,7 @@ public final class JsonStringify {
 	}
 
 
-	/** Same as {@link #join(Iterable, String, boolean, Appendable, FunctionIo)} except all strings are JSON escaped first ({@link StringEscapeJson#toJsonString(String)})
+	/** Same as {@link #join(Iterable, String, boolean, Appendable, FunctionIo)} except all strings are JSON escaped first ({@link JsonEscape#escape(CharSequence, Appendable)})
 	 */
 	public <T extends Object> JsonStringify join(Iterable<? extends T> objs, String delimiter, Appendable dst, FunctionIo<T, String> toString) throws IOException {
 		return join(objs, delimiter, true, dst, toString);
@@ -55,7 +65,8 @@ public final class JsonStringify {
 			}
 			if(obj != null) {
 				String str = toString.apply(obj);
-				dst.append(escape ? StringEscapeJson.toJsonString(str) : str);
+				if(escape) { JsonEscape.escape(str, dst); }
+				else { dst.append(str); }
 			}
 			else {
 				dst.append("null");
@@ -66,6 +77,35 @@ public final class JsonStringify {
 	}
 
 
+	/** Same as {@link #join(Iterable, String, boolean, JsonByteSink, FunctionIo)} except all strings are JSON escaped first
+	 */
+	public <T extends Object> JsonStringify joinEscape(Iterable<? extends T> objs, String delimiter, JsonByteSink dst, FunctionIo<T, String> toString) throws IOException {
+		return join(objs, delimiter, true, dst, toString);
+	}
+
+
+	/** Same as {@link #join(Iterable, String, boolean, Appendable, FunctionIo)} except the output is written UTF-8 encoded to a {@link JsonByteSink}
+	 */
+	public <T extends Object> JsonStringify join(Iterable<? extends T> objs, String delimiter, boolean escape, JsonByteSink dst, FunctionIo<T, String> toString) throws IOException {
+		boolean firstLoop = true;
+		for(T obj : objs) {
+			if(!firstLoop) {
+				dst.writeUtf8(delimiter);
+			}
+			if(obj != null) {
+				String str = toString.apply(obj);
+				if(escape) { dst.writeEscaped(str); }
+				else { dst.writeUtf8(str); }
+			}
+			else {
+				dst.writeAscii("null");
+			}
+			firstLoop = false;
+		}
+		return this;
+	}
+
+
 	/** Stringify a group of objects, but let a consumer function write the non-null values.  All this method does is write "null" for null values and the separator between elements
 	 */
 	public <T extends Object> JsonStringify joinConsume(Iterable<? extends T> objs, String delimiter, StringBuilder dst, ConsumerIo<T> toString) {
@@ -97,6 +137,26 @@ public final class JsonStringify {
 	}
 
 
+	/** Stringify a group of objects, but let a consumer function write the non-null values.  All this method does is write "null" for null values and the separator between elements
+	 */
+	public <T extends Object> JsonStringify joinConsume(Iterable<? extends T> objs, String delimiter, JsonByteSink dst, ConsumerIo<T> toString) throws IOException {
+		boolean firstLoop = true;
+		for(T obj : objs) {
+			if(!firstLoop) {
+				dst.writeUtf8(delimiter);
+			}
+			if(obj != null) {
+				toString.accept(obj);
+			}
+			else {
+				dst.writeAscii("null");
+			}
+			firstLoop = false;
+		}
+		return this;
+	}
+
+
 	// ==== to array ====
 
 	// object array (toString())
@@ -110,7 +170,12 @@ public final class JsonStringify {
 	public JsonStringify toArray(List<? extends Object> vals,                             Appendable dst) throws IOException { return toArray(vals, " ", false, false, dst); }
 	public JsonStringify toArray(List<? extends Object> vals, String whitespaceSeparator, Appendable dst) throws IOException { return toArray(vals, whitespaceSeparator, false, false, dst); }
 
+	/** Write a JSON array, elements are written based on their runtime type by {@link JsonValueWriter#of(boolean, boolean, String)}:
+	 * numbers, booleans, {@link JsonWritable}s, maps, collections, and arrays as JSON values, and all other elements as their
+	 * {@code toString()} text, quoted if {@code quote} is true and JSON escaped if {@code escape} is true
+	 */
 	public JsonStringify toArray(List<? extends Object> vals, String whitespaceSeparator, boolean quote, boolean escape, Appendable dst) throws IOException {
+		JsonValueWriter writer = JsonValueWriter.of(quote, escape, whitespaceSeparator);
 		boolean firstLoop = true;
 		dst.append('[');
 		for(int i = 0, size = vals.size(); i < size; i++) {
@@ -118,16 +183,7 @@ public final class JsonStringify {
 			if(!firstLoop) {
 				dst.append(',').append(whitespaceSeparator);
 			}
-			if(obj != null) {
-				String str = obj.toString();
-				if(quote) { dst.append('"'); }
-				if(escape) { StringEscapeJson.toJsonString(str, dst); }
-				else { dst.append(str); }
-				if(quote) { dst.append('"'); }
-			}
-			else {
-				dst.append("null");
-			}
+			writer.write(obj, dst);
 			firstLoop = false;
 		}
 		dst.append(']');
@@ -135,6 +191,28 @@ public final class JsonStringify {
 	}
 
 
+	public JsonStringify toStringArray(List<? extends CharSequence> vals,                             JsonByteSink dst) throws IOException { return toArray(vals, " ", true, true, dst); }
+	public JsonStringify toStringArray(List<? extends CharSequence> vals, String whitespaceSeparator, JsonByteSink dst) throws IOException { return toArray(vals, whitespaceSeparator, true, true, dst); }
+	public JsonStringify toArray(List<? extends Object> vals,                             JsonByteSink dst) throws IOException { return toArray(vals, " ", false, false, dst); }
+	public JsonStringify toArray(List<? extends Object> vals, String whitespaceSeparator, JsonByteSink dst) throws IOException { return toArray(vals, whitespaceSeparator, false, false, dst); }
+
+	public JsonStringify toArray(List<? extends Object> vals, String whitespaceSeparator, boolean quote, boolean escape, JsonByteSink dst) throws IOException {
+		JsonValueWriter writer = JsonValueWriter.of(quote, escape, whitespaceSeparator);
+		boolean firstLoop = true;
+		dst.writeAscii('[');
+		for(int i = 0, size = vals.size(); i < size; i++) {
+			Object obj = vals.get(i);
+			if(!firstLoop) {
+				dst.writeAscii(',').writeUtf8(whitespaceSeparator);
+			}
+			writer.write(obj, dst);
+			firstLoop = false;
+		}
+		dst.writeAscii(']');
+		return this;
+	}
+
+
 	public JsonStringify toStringArray(Iterable<? extends CharSequence> vals,                             StringBuilder dst)                 { try { return toArray(vals.iterator(), " ", true, true, dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
 	public JsonStringify toStringArray(Iterable<? extends CharSequence> vals, String whitespaceSeparator, StringBuilder dst)                 { try { return toArray(vals.iterator(), whitespaceSeparator, true, true, dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
 	public JsonStringify toStringArray(Iterable<? extends CharSequence> vals,                             Appendable dst) throws IOException { return toArray(vals.iterator(), " ", true, true, dst); }
@@ -146,6 +224,7 @@ public final class JsonStringify {
 	public JsonStringify toArray(Iterable<? extends Object> vals, String whitespaceSeparator, Appendable dst) throws IOException { return toArray(vals.iterator(), whitespaceSeparator, false, false, dst); }
 
 	public JsonStringify toArray(Iterator<? extends Object> vals, String whitespaceSeparator, boolean quote, boolean escape, Appendable dst) throws IOException {
+		JsonValueWriter writer = JsonValueWriter.of(quote, escape, whitespaceSeparator);
 		boolean firstLoop = true;
 		dst.append('[');
 		while(vals.hasNext()) {
@@ -153,16 +232,7 @@ public final class JsonStringify {
 				dst.append(',').append(whitespaceSeparator);
 			}
 			Object obj = vals.next();
-			if(obj != null) {
-				String str = obj.toString();
-				if(quote) { dst.append('"'); }
-				if(escape) { StringEscapeJson.toJsonString(str, dst); }
-				else { dst.append(str); }
-				if(quote) { dst.append('"'); }
-			}
-			else {
-				dst.append("null");
-			}
+			writer.write(obj, dst);
 			firstLoop = false;
 		}
 		dst.append(']');
@@ -170,6 +240,28 @@ public final class JsonStringify {
 	}
 
 
+	public JsonStringify toStringArray(Iterable<? extends CharSequence> vals,                             JsonByteSink dst) throws IOException { return toArray(vals.iterator(), " ", true, true, dst); }
+	public JsonStringify toStringArray(Iterable<? extends CharSequence> vals, String whitespaceSeparator, JsonByteSink dst) throws IOException { return toArray(vals.iterator(), whitespaceSeparator, true, true, dst); }
+	public JsonStringify toArray(Iterable<? extends Object> vals,                             JsonByteSink dst) throws IOException { return toArray(vals.iterator(), " ", false, false, dst); }
+	public JsonStringify toArray(Iterable<? extends Object> vals, String whitespaceSeparator, JsonByteSink dst) throws IOException { return toArray(vals.iterator(), whitespaceSeparator, false, false, dst); }
+
+	public JsonStringify toArray(Iterator<? extends Object> vals, String whitespaceSeparator, boolean quote, boolean escape, JsonByteSink dst) throws IOException {
+		JsonValueWriter writer = JsonValueWriter.of(quote, escape, whitespaceSeparator);
+		boolean firstLoop = true;
+		dst.writeAscii('[');
+		while(vals.hasNext()) {
+			if(!firstLoop) {
+				dst.writeAscii(',').writeUtf8(whitespaceSeparator);
+			}
+			Object obj = vals.next();
+			writer.write(obj, dst);
+			firstLoop = false;
+		}
+		dst.writeAscii(']');
+		return this;
+	}
+
+
 	// object array Function
 	public <T extends Object> JsonStringify toStringArray(List<? extends T> vals,                             StringBuilder dst, FunctionIo<T, String> toString)                    { try { return toArray(vals, " ", true, true, dst, toString); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
 	public <T extends Object> JsonStringify toStringArray(List<? extends T> vals, String whitespaceSeparator, StringBuilder dst, FunctionIo<T, String> toString)                    { try { return toArray(vals, whitespaceSeparator, true, true, dst, toString); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
@@ -193,7 +285,7 @@ public final class JsonStringify {
 			if(obj != null) {
 				String str = toString.apply(obj);
 				if(quote) { dst.append('"'); }
-				if(escape) { StringEscapeJson.toJsonString(str, dst); }
+				if(escape) { JsonEscape.escape(str, dst); }
 				else { dst.append(str); }
 				if(quote) { dst.append('"'); }
 			}
@@ -207,6 +299,37 @@ public final class JsonStringify {
 	}
 
 
+	public <T extends Object> JsonStringify toStringArray(List<? extends T> vals,                             JsonByteSink dst, FunctionIo<T, String> toString) throws IOException { return toArray(vals, " ", true, true, dst, toString); }
+	public <T extends Object> JsonStringify toStringArray(List<? extends T> vals, String whitespaceSeparator, JsonByteSink dst, FunctionIo<T, String> toString) throws IOException { return toArray(vals, whitespaceSeparator, true, true, dst, toString); }
+	public <T extends Object> JsonStringify toArray(List<? extends T> vals,                             JsonByteSink dst, FunctionIo<T, String> toString) throws IOException { return toArray(vals, " ", false, false, dst, toString); }
+	public <T extends Object> JsonStringify toArray(List<? extends T> vals, String whitespaceSeparator, JsonByteSink dst, FunctionIo<T, String> toString) throws IOException { return toArray(vals, whitespaceSeparator, false, false, dst, toString); }
+
+	public <T extends Object> JsonStringify toArray(List<? extends T> vals, String whitespaceSeparator,
+			boolean quote, boolean escape, JsonByteSink dst, FunctionIo<? super T, String> toString) throws IOException {
+		boolean firstLoop = true;
+		dst.writeAscii('[');
+		for(int i = 0, size = vals.size(); i < size; i++) {
+			T obj = vals.get(i);
+			if(!firstLoop) {
+				dst.writeAscii(',').writeUtf8(whitespaceSeparator);
+			}
+			if(obj != null) {
+				String str = toString.apply(obj);
+				if(quote) { dst.writeAscii('"'); }
+				if(escape) { dst.writeEscaped(str); }
+				else { dst.writeUtf8(str); }
+				if(quote) { dst.writeAscii('"'); }
+			}
+			else {
+				dst.writeAscii("null");
+			}
+			firstLoop = false;
+		}
+		dst.writeAscii(']');
+		return this;
+	}
+
+
 	public <T extends Object> JsonStringify toStringArray(Iterable<? extends T> vals,                             StringBuilder dst, FunctionIo<T, String> toString)                    { try { return toArray(vals.iterator(), " ", true, true, dst, toString); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
 	public <T extends Object> JsonStringify toStringArray(Iterable<? extends T> vals, String whitespaceSeparator, StringBuilder dst, FunctionIo<T, String> toString)                    { try { return toArray(vals.iterator(), whitespaceSeparator, true, true, dst, toString); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
 	public <T extends Object> JsonStringify toStringArray(Iterable<? extends T> vals,                             Appendable dst,    FunctionIo<T, String> toString) throws IOException { return toArray(vals.iterator(), " ", true, true, dst, toString); }
@@ -229,7 +352,7 @@ public final class JsonStringify {
 			if(obj != null) {
 				String str = toString.apply(obj);
 				if(quote) { dst.append('"'); }
-				if(escape) { StringEscapeJson.toJsonString(str, dst); }
+				if(escape) { JsonEscape.escape(str, dst); }
 				else { dst.append(str); }
 				if(quote) { dst.append('"'); }
 			}
@@ -243,6 +366,37 @@ public final class JsonStringify {
 	}
 
 
+	public <T extends Object> JsonStringify toStringArray(Iterable<? extends T> vals,                             JsonByteSink dst, FunctionIo<T, String> toString) throws IOException { return toArray(vals.iterator(), " ", true, true, dst, toString); }
+	public <T extends Object> JsonStringify toStringArray(Iterable<? extends T> vals, String whitespaceSeparator, JsonByteSink dst, FunctionIo<T, String> toString) throws IOException { return toArray(vals.iterator(), whitespaceSeparator, true, true, dst, toString); }
+	public <T extends Object> JsonStringify toArray(Iterable<? extends T> vals,                             JsonByteSink dst, FunctionIo<T, String> toString) throws IOException { return toArray(vals.iterator(), " ", false, false, dst, toString); }
+	public <T extends Object> JsonStringify toArray(Iterable<? extends T> vals, String whitespaceSeparator, JsonByteSink dst, FunctionIo<T, String> toString) throws IOException { return toArray(vals.iterator(), whitespaceSeparator, false, false, dst, toString); }
+
+	public <T extends Object> JsonStringify toArray(Iterator<? extends T> vals, String whitespaceSeparator,
+			boolean quote, boolean escape, JsonByteSink dst, FunctionIo<? super T, String> toString) throws IOException {
+		boolean firstLoop = true;
+		dst.writeAscii('[');
+		while(vals.hasNext()) {
+			if(!firstLoop) {
+				dst.writeAscii(',').writeUtf8(whitespaceSeparator);
+			}
+			T obj = vals.next();
+			if(obj != null) {
+				String str = toString.apply(obj);
+				if(quote) { dst.writeAscii('"'); }
+				if(escape) { dst.writeEscaped(str); }
+				else { dst.writeUtf8(str); }
+				if(quote) { dst.writeAscii('"'); }
+			}
+			else {
+				dst.writeAscii("null");
+			}
+			firstLoop = false;
+		}
+		dst.writeAscii(']');
+		return this;
+	}
+
+
 	// object array Consumer
 	public <T extends Object> JsonStringify toArrayConsume(List<? extends T> vals,                             StringBuilder dst, ConsumerIo<T> toString)                    { try { return toArrayConsume(vals, " ", (Appendable)dst, toString);  } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
 	public <T extends Object> JsonStringify toArrayConsume(List<? extends T> vals, String whitespaceSeparator, StringBuilder dst, ConsumerIo<T> toString)                    { try { return toArrayConsume(vals, whitespaceSeparator, (Appendable)dst, toString);  } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
@@ -269,6 +423,28 @@ public final class JsonStringify {
 	}
 
 
+	public <T extends Object> JsonStringify toArrayConsume(List<? extends T> vals,                             JsonByteSink dst,  ConsumerIo<T> toString) throws IOException { return toArrayConsume(vals, " ", dst, toString); }
+	public <T extends Object> JsonStringify toArrayConsume(List<? extends T> vals, String whitespaceSeparator, JsonByteSink dst,  ConsumerIo<T> toString) throws IOException {
+		boolean firstLoop = true;
+		dst.writeAscii('[');
+		for(int i = 0, size = vals.size(); i < size; i++) {
+			T obj = vals.get(i);
+			if(!firstLoop) {
+				dst.writeAscii(',').writeUtf8(whitespaceSeparator);
+			}
+			if(obj != null) {
+				toString.accept(obj);
+			}
+			else {
+				dst.writeAscii("null");
+			}
+			firstLoop = false;
+		}
+		dst.writeAscii(']');
+		return this;
+	}
+
+
 	public <T extends Object> JsonStringify toArrayConsume(Iterable<? extends T> vals,                             StringBuilder dst, ConsumerIo<T> toString)                    { try { return toArrayConsume(vals.iterator(), " ", dst, toString);  } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
 	public <T extends Object> JsonStringify toArrayConsume(Iterable<? extends T> vals, String whitespaceSeparator, StringBuilder dst, ConsumerIo<T> toString)                    { try { return toArrayConsume(vals.iterator(), whitespaceSeparator, dst, toString);  } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
 
@@ -296,14 +472,44 @@ public final class JsonStringify {
 	}
 
 
+	public <T extends Object> JsonStringify toArrayConsume(Iterable<? extends T> vals,                             JsonByteSink dst,  ConsumerIo<T> toString) throws IOException { return toArrayConsume(vals.iterator(), " ", dst, toString); }
+	public <T extends Object> JsonStringify toArrayConsume(Iterable<? extends T> vals, String whitespaceSeparator, JsonByteSink dst,  ConsumerIo<T> toString) throws IOException { return toArrayConsume(vals.iterator(), whitespaceSeparator, dst, toString); }
+
+	public <T extends Object> JsonStringify toArrayConsume(Iterator<? extends T> vals, String whitespaceSeparator, JsonByteSink dst, ConsumerIo<? super T> toString) throws IOException {
+		boolean firstLoop = true;
+		dst.writeAscii('[');
+		while(vals.hasNext()) {
+			if(!firstLoop) {
+				dst.writeAscii(',').writeUtf8(whitespaceSeparator);
+			}
+			T obj = vals.next();
+			if(obj != null) {
+				toString.accept(obj);
+			}
+			else {
+				dst.writeAscii("null");
+			}
+			firstLoop = false;
+		}
+		dst.writeAscii(']');
+		return this;
+	}
+
+
 	// int array
 	public JsonStringify toArray(int[] vals, Appendable dst) throws IOException { return toArray(vals, 0, vals.length, dst); }
 	public JsonStringify toArray(int[] vals, int off, int len, Appendable dst) throws IOException {
 		dst.append('[');
-		if(len > 0) {
-			dst.append(Integer.toString(vals[off]));
+		if(dst instanceof JsonLength) {
+			((JsonLength)dst).addInts(vals, off, len);
+		}
+		else if(len > 0) {
+			char[] buf = JsonNumberWriter.scratch();
+			JsonNumberWriter.appendChars(buf, JsonNumberWriter.writeInt(vals[off], buf, 0), dst);
+			buf[0] = ',';
+			buf[1] = ' ';
 			for(int i = off + 1, size = off + len; i < size; i++) {
-				dst.append(',').append(' ').append(Integer.toString(vals[i]));
+				JsonNumberWriter.appendChars(buf, JsonNumberWriter.writeInt(vals[i], buf, 2), dst);
 			}
 		}
 		dst.append(']');
@@ -325,14 +531,31 @@ public final class JsonStringify {
 	}
 
 
+	public JsonStringify toArray(int[] vals, JsonByteSink dst) throws IOException { return toArray(vals, 0, vals.length, dst); }
+	public JsonStringify toArray(int[] vals, int off, int len, JsonByteSink dst) throws IOException {
+		dst.writeAscii('[');
+		if(len > 0) {
+			dst.writeInt(vals[off]);
+			for(int i = off + 1, size = off + len; i < size; i++) {
+				dst.writeAscii(',').writeAscii(' ').writeInt(vals[i]);
+			}
+		}
+		dst.writeAscii(']');
+		return this;
+	}
+
+
 	// float array
 	public JsonStringify toArray(float[] vals, Appendable dst) throws IOException { return toArray(vals, 0, vals.length, dst); }
 	public JsonStringify toArray(float[] vals, int off, int len, Appendable dst) throws IOException {
 		dst.append('[');
 		if(len > 0) {
-			dst.append(Float.toString(vals[off]));
+			char[] buf = JsonNumberWriter.scratch();
+			JsonNumberWriter.appendChars(buf, JsonNumberWriter.writeFloat(vals[off], buf, 0), dst);
+			buf[0] = ',';
+			buf[1] = ' ';
 			for(int i = off + 1, size = off + len; i < size; i++) {
-				dst.append(',').append(' ').append(Float.toString(vals[i]));
+				JsonNumberWriter.appendChars(buf, JsonNumberWriter.writeFloat(vals[i], buf, 2), dst);
 			}
 		}
 		dst.append(']');
@@ -344,9 +567,12 @@ public final class JsonStringify {
 	public JsonStringify toArray(float[] vals, int off, int len, StringBuilder dst) {
 		dst.append('[');
 		if(len > 0) {
-			dst.append(vals[off]);
+			char[] buf = JsonNumberWriter.scratch();
+			dst.append(buf, 0, JsonNumberWriter.writeFloat(vals[off], buf, 0));
+			buf[0] = ',';
+			buf[1] = ' ';
 			for(int i = off + 1, size = off + len; i < size; i++) {
-				dst.append(',').append(' ').append(vals[i]);
+				dst.append(buf, 0, JsonNumberWriter.writeFloat(vals[i], buf, 2));
 			}
 		}
 		dst.append(']');
@@ -354,14 +580,34 @@ public final class JsonStringify {
 	}
 
 
+	public JsonStringify toArray(float[] vals, JsonByteSink dst) throws IOException { return toArray(vals, 0, vals.length, dst); }
+	public JsonStringify toArray(float[] vals, int off, int len, JsonByteSink dst) throws IOException {
+		dst.writeAscii('[');
+		if(len > 0) {
+			dst.writeFloat(vals[off]);
+			for(int i = off + 1, size = off + len; i < size; i++) {
+				dst.writeAscii(',').writeAscii(' ').writeFloat(vals[i]);
+			}
+		}
+		dst.writeAscii(']');
+		return this;
+	}
+
+
 	// long array
 	public JsonStringify toArray(long[] vals, Appendable dst) throws IOException { return toArray(vals, 0, vals.length, dst); }
 	public JsonStringify toArray(long[] vals, int off, int len, Appendable dst) throws IOException {
 		dst.append('[');
-		if(len > 0) {
-			dst.append(Long.toString(vals[off]));
+		if(dst instanceof JsonLength) {
+			((JsonLength)dst).addLongs(vals, off, len);
+		}
+		else if(len > 0) {
+			char[] buf = JsonNumberWriter.scratch();
+			JsonNumberWriter.appendChars(buf, JsonNumberWriter.writeLong(vals[off], buf, 0), dst);
+			buf[0] = ',';
+			buf[1] = ' ';
 			for(int i = off + 1, size = off + len; i < size; i++) {
-				dst.append(',').append(' ').append(Long.toString(vals[i]));
+				JsonNumberWriter.appendChars(buf, JsonNumberWriter.writeLong(vals[i], buf, 2), dst);
 			}
 		}
 		dst.append(']');
@@ -383,14 +629,31 @@ public final class JsonStringify {
 	}
 
 
+	public JsonStringify toArray(long[] vals, JsonByteSink dst) throws IOException { return toArray(vals, 0, vals.length, dst); }
+	public JsonStringify toArray(long[] vals, int off, int len, JsonByteSink dst) throws IOException {
+		dst.writeAscii('[');
+		if(len > 0) {
+			dst.writeLong(vals[off]);
+			for(int i = off + 1, size = off + len; i < size; i++) {
+				dst.writeAscii(',').writeAscii(' ').writeLong(vals[i]);
+			}
+		}
+		dst.writeAscii(']');
+		return this;
+	}
+
+
 	// double array
 	public JsonStringify toArray(double[] vals, Appendable dst) throws IOException { return toArray(vals, 0, vals.length, dst); }
 	public JsonStringify toArray(double[] vals, int off, int len, Appendable dst) throws IOException {
 		dst.append('[');
 		if(len > 0) {
-			dst.append(Double.toString(vals[off]));
+			char[] buf = JsonNumberWriter.scratch();
+			JsonNumberWriter.appendChars(buf, JsonNumberWriter.writeDouble(vals[off], buf, 0), dst);
+			buf[0] = ',';
+			buf[1] = ' ';
 			for(int i = off + 1, size = off + len; i < size; i++) {
-				dst.append(',').append(' ').append(Double.toString(vals[i]));
+				JsonNumberWriter.appendChars(buf, JsonNumberWriter.writeDouble(vals[i], buf, 2), dst);
 			}
 		}
 		dst.append(']');
@@ -402,9 +665,12 @@ public final class JsonStringify {
 	public JsonStringify toArray(double[] vals, int off, int len, StringBuilder dst) {
 		dst.append('[');
 		if(len > 0) {
-			dst.append(vals[off]);
+			char[] buf = JsonNumberWriter.scratch();
+			dst.append(buf, 0, JsonNumberWriter.writeDouble(vals[off], buf, 0));
+			buf[0] = ',';
+			buf[1] = ' ';
 			for(int i = off + 1, size = off + len; i < size; i++) {
-				dst.append(',').append(' ').append(vals[i]);
+				dst.append(buf, 0, JsonNumberWriter.writeDouble(vals[i], buf, 2));
 			}
 		}
 		dst.append(']');
@@ -412,12 +678,243 @@ public final class JsonStringify {
 	}
 
 
+	public JsonStringify toArray(double[] vals, JsonByteSink dst) throws IOException { return toArray(vals, 0, vals.length, dst); }
+	public JsonStringify toArray(double[] vals, int off, int len, JsonByteSink dst) throws IOException {
+		dst.writeAscii('[');
+		if(len > 0) {
+			dst.writeDouble(vals[off]);
+			for(int i = off + 1, size = off + len; i < size; i++) {
+				dst.writeAscii(',').writeAscii(' ').writeDouble(vals[i]);
+			}
+		}
+		dst.writeAscii(']');
+		return this;
+	}
+
+
+	// primitive iterators (i.e. IntStream.iterator()), written without boxing
+	public JsonStringify toArray(PrimitiveIterator.OfInt vals, StringBuilder dst) { try { return toArray(vals, (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
+	public JsonStringify toArray(PrimitiveIterator.OfInt vals, Appendable dst) throws IOException {
+		dst.append('[');
+		if(vals.hasNext()) {
+			char[] buf = JsonNumberWriter.scratch();
+			JsonNumberWriter.appendChars(buf, JsonNumberWriter.writeInt(vals.nextInt(), buf, 0), dst);
+			buf[0] = ',';
+			buf[1] = ' ';
+			while(vals.hasNext()) {
+				JsonNumberWriter.appendChars(buf, JsonNumberWriter.writeInt(vals.nextInt(), buf, 2), dst);
+			}
+		}
+		dst.append(']');
+		return this;
+	}
+
+
+	public JsonStringify toArray(PrimitiveIterator.OfInt vals, JsonByteSink dst) throws IOException {
+		dst.writeAscii('[');
+		if(vals.hasNext()) {
+			dst.writeInt(vals.nextInt());
+			while(vals.hasNext()) {
+				dst.writeAscii(',').writeAscii(' ').writeInt(vals.nextInt());
+			}
+		}
+		dst.writeAscii(']');
+		return this;
+	}
+
+
+	public JsonStringify toArray(PrimitiveIterator.OfLong vals, StringBuilder dst) { try { return toArray(vals, (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
+	public JsonStringify toArray(PrimitiveIterator.OfLong vals, Appendable dst) throws IOException {
+		dst.append('[');
+		if(vals.hasNext()) {
+			char[] buf = JsonNumberWriter.scratch();
+			JsonNumberWriter.appendChars(buf, JsonNumberWriter.writeLong(vals.nextLong(), buf, 0), dst);
+			buf[0] = ',';
+			buf[1] = ' ';
+			while(vals.hasNext()) {
+				JsonNumberWriter.appendChars(buf, JsonNumberWriter.writeLong(vals.nextLong(), buf, 2), dst);
+			}
+		}
+		dst.append(']');
+		return this;
+	}
+
+
+	public JsonStringify toArray(PrimitiveIterator.OfLong vals, JsonByteSink dst) throws IOException {
+		dst.writeAscii('[');
+		if(vals.hasNext()) {
+			dst.writeLong(vals.nextLong());
+			while(vals.hasNext()) {
+				dst.writeAscii(',').writeAscii(' ').writeLong(vals.nextLong());
+			}
+		}
+		dst.writeAscii(']');
+		return this;
+	}
+
+
+	public JsonStringify toArray(PrimitiveIterator.OfDouble vals, StringBuilder dst) { try { return toArray(vals, (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
+	public JsonStringify toArray(PrimitiveIterator.OfDouble vals, Appendable dst) throws IOException {
+		dst.append('[');
+		if(vals.hasNext()) {
+			char[] buf = JsonNumberWriter.scratch();
+			JsonNumberWriter.appendChars(buf, JsonNumberWriter.writeDouble(vals.nextDouble(), buf, 0), dst);
+			buf[0] = ',';
+			buf[1] = ' ';
+			while(vals.hasNext()) {
+				JsonNumberWriter.appendChars(buf, JsonNumberWriter.writeDouble(vals.nextDouble(), buf, 2), dst);
+			}
+		}
+		dst.append(']');
+		return this;
+	}
+
+
+	public JsonStringify toArray(PrimitiveIterator.OfDouble vals, JsonByteSink dst) throws IOException {
+		dst.writeAscii('[');
+		if(vals.hasNext()) {
+			dst.writeDouble(vals.nextDouble());
+			while(vals.hasNext()) {
+				dst.writeAscii(',').writeAscii(' ').writeDouble(vals.nextDouble());
+			}
+		}
+		dst.writeAscii(']');
+		return this;
+	}
+
+
+	// ==== to object ====
+	/** Maps with up to this many entries look up their keys in the {@link JsonKey#intern(String)} cache, larger maps rarely share key sets
+	 */
+	static final int MAX_CACHED_KEYS_MAP_SIZE = 64;
+
+	private static final Comparator<Map.Entry<String, ?>> keyOrder = (a, b) -> {
+		String keyA = a.getKey();
+		String keyB = b.getKey();
+		return keyA == null ? (keyB == null ? 0 : -1) : (keyB == null ? 1 : keyA.compareTo(keyB));
+	};
+
+
+	public JsonStringify toObject(Map<String, ? extends Object> map,                                               StringBuilder dst)                 { try { return toObject(map, " ", false, (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
+	public JsonStringify toObject(Map<String, ? extends Object> map, String whitespaceSeparator, boolean sortKeys, StringBuilder dst)                 { try { return toObject(map, whitespaceSeparator, sortKeys, (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
+	public JsonStringify toObject(Map<String, ? extends Object> map,                                               Appendable dst) throws IOException { return toObject(map, " ", false, dst); }
+
+	/** Write a map as a JSON object, iterating its entry set once.  Keys are JSON escaped, small maps copy the pre-rendered
+	 * text of keys already cached by {@link JsonKey#intern(String)} (other keys are escaped inline and not added to the cache),
+	 * and values are written by {@link JsonValueWriter#of(boolean, boolean, String) JsonValueWriter.of(true, true, whitespaceSeparator)}
+	 * @param whitespaceSeparator written after each comma between properties
+	 * @param sortKeys true to write the properties in key order for deterministic output, this copies the entries unless
+	 * {@code map} is a {@link SortedMap} with natural ordering
+	 */
+	public JsonStringify toObject(Map<String, ? extends Object> map, String whitespaceSeparator, boolean sortKeys, Appendable dst) throws IOException {
+		return toObject(sortKeys ? sortedEntries(map) : map.entrySet().iterator(), whitespaceSeparator, map.size() <= MAX_CACHED_KEYS_MAP_SIZE, dst);
+	}
+
+
+	public JsonStringify toObject(Map<String, ? extends Object> map,                                               JsonByteSink dst) throws IOException { return toObject(map, " ", false, dst); }
+	public JsonStringify toObject(Map<String, ? extends Object> map, String whitespaceSeparator, boolean sortKeys, JsonByteSink dst) throws IOException {
+		return toObject(sortKeys ? sortedEntries(map) : map.entrySet().iterator(), whitespaceSeparator, map.size() <= MAX_CACHED_KEYS_MAP_SIZE, dst);
+	}
+
+
+	/** Stream entries as a JSON object without collecting them first, i.e. from a cursor or a huge map's entry set.
+	 * Keys are JSON escaped as they are written (not cached)
+	 */
+	public JsonStringify toObject(Iterator<? extends Map.Entry<String, ? extends Object>> entries, String whitespaceSeparator, StringBuilder dst)                 { try { return toObject(entries, whitespaceSeparator, false, (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
+	public JsonStringify toObject(Iterator<? extends Map.Entry<String, ? extends Object>> entries, String whitespaceSeparator, Appendable dst) throws IOException { return toObject(entries, whitespaceSeparator, false, dst); }
+	public JsonStringify toObject(Iterator<? extends Map.Entry<String, ? extends Object>> entries, String whitespaceSeparator, JsonByteSink dst) throws IOException { return toObject(entries, whitespaceSeparator, false, dst); }
+
+
+	private JsonStringify toObject(Iterator<? extends Map.Entry<String, ? extends Object>> entries, String whitespaceSeparator, boolean cachedKeys, Appendable dst) throws IOException {
+		JsonValueWriter writer = JsonValueWriter.of(true, true, whitespaceSeparator);
+		boolean firstLoop = true;
+		dst.append('{');
+		while(entries.hasNext()) {
+			Map.Entry<String, ? extends Object> entry = entries.next();
+			if(!firstLoop) {
+				dst.append(',').append(whitespaceSeparator);
+			}
+			String key = String.valueOf(entry.getKey());
+			JsonKey jsonKey = cachedKeys ? JsonKey.cached(key) : null;
+			if(jsonKey != null) {
+				appendKey(jsonKey, dst);
+			}
+			else {
+				dst.append('"');
+				JsonEscape.escape(key, dst);
+				dst.append("\": ");
+			}
+			writer.write(entry.getValue(), dst);
+			firstLoop = false;
+		}
+		dst.append('}');
+		return this;
+	}
+
+
+	private JsonStringify toObject(Iterator<? extends Map.Entry<String, ? extends Object>> entries, String whitespaceSeparator, boolean cachedKeys, JsonByteSink dst) throws IOException {
+		JsonValueWriter writer = JsonValueWriter.of(true, true, whitespaceSeparator);
+		boolean firstLoop = true;
+		dst.writeAscii('{');
+		while(entries.hasNext()) {
+			Map.Entry<String, ? extends Object> entry = entries.next();
+			if(!firstLoop) {
+				dst.writeAscii(',').writeUtf8(whitespaceSeparator);
+			}
+			String key = String.valueOf(entry.getKey());
+			JsonKey jsonKey = cachedKeys ? JsonKey.cached(key) : null;
+			if(jsonKey != null) {
+				dst.writeKey(jsonKey);
+			}
+			else {
+				dst.writeAscii('"').writeEscaped(key).writeAscii("\": ");
+			}
+			writer.write(entry.getValue(), dst);
+			firstLoop = false;
+		}
+		dst.writeAscii('}');
+		return this;
+	}
+
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Iterator<? extends Map.Entry<String, ? extends Object>> sortedEntries(Map<String, ? extends Object> map) {
+		if(map instanceof SortedMap && ((SortedMap<String, ?>)map).comparator() == null) {
+			return map.entrySet().iterator();
+		}
+		Map.Entry<String, ? extends Object>[] entries = map.entrySet().toArray(new Map.Entry[map.size()]);
+		Arrays.sort(entries, keyOrder);
+		return Arrays.asList(entries).iterator();
+	}
+
+
 	// ==== to 'prop: value' string ====
 	public JsonStringify propName(String propName, StringBuilder dst)                 { dst.append('"').append(propName).append("\": "); return this; }
 	public JsonStringify propName(String propName, Appendable dst) throws IOException { dst.append('"').append(propName).append("\": "); return this; }
+	public JsonStringify propName(String propName, JsonByteSink dst) throws IOException { dst.writeAscii('"').writeUtf8(propName).writeAscii("\": "); return this; }
 
 	public JsonStringify propNameUnquoted(String propName, StringBuilder dst)                 { dst.append(propName).append(": "); return this; }
 	public JsonStringify propNameUnquoted(String propName, Appendable dst) throws IOException { dst.append(propName).append(": "); return this; }
+	public JsonStringify propNameUnquoted(String propName, JsonByteSink dst) throws IOException { dst.writeUtf8(propName).writeAscii(": "); return this; }
+
+	/** Write a pre-rendered {@code "name": } property name with a single bulk copy, see {@link JsonKey}
+	 */
+	public JsonStringify propName(JsonKey propName, StringBuilder dst)                   { dst.append(propName.chars); return this; }
+	public JsonStringify propName(JsonKey propName, Appendable dst) throws IOException   { appendKey(propName, dst); return this; }
+	public JsonStringify propName(JsonKey propName, JsonByteSink dst) throws IOException { dst.writeKey(propName); return this; }
+
+
+	/** Append a key's text, a {@link JsonEscape.Target} takes the key itself, i.e. {@link JsonLength} counts the key's
+	 * pre-encoded lengths (the UTF-8 bytes escape unpaired surrogates)
+	 */
+	private static void appendKey(JsonKey key, Appendable dst) throws IOException {
+		if(dst instanceof JsonEscape.Target) {
+			((JsonEscape.Target)dst).appendKey(key);
+		}
+		else {
+			dst.append(key.text);
+		}
+	}
 
 
 	// ==== to 'prop: value' string ====
@@ -429,10 +926,24 @@ public final class JsonStringify {
 	}
 
 
+	public JsonStringify toProp(String propName, boolean value, JsonByteSink dst) throws IOException {
+		propName(propName, dst);
+		dst.writeBoolean(value);
+		return this;
+	}
+
+
 	public JsonStringify toProp(String propName, int value, StringBuilder dst)                 { try { return toProp(propName, value, (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
 	public JsonStringify toProp(String propName, int value, Appendable dst) throws IOException {
 		propName(propName, dst);
-		dst.append(Integer.toString(value));
+		JsonNumberWriter.appendInt(value, dst);
+		return this;
+	}
+
+
+	public JsonStringify toProp(String propName, int value, JsonByteSink dst) throws IOException {
+		propName(propName, dst);
+		dst.writeInt(value);
 		return this;
 	}
 
@@ -440,7 +951,14 @@ public final class JsonStringify {
 	public JsonStringify toProp(String propName, float value, StringBuilder dst)                 { try { return toProp(propName, value, (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
 	public JsonStringify toProp(String propName, float value, Appendable dst) throws IOException {
 		propName(propName, dst);
-		dst.append(Float.toString(value));
+		JsonNumberWriter.appendFloat(value, dst);
+		return this;
+	}
+
+
+	public JsonStringify toProp(String propName, float value, JsonByteSink dst) throws IOException {
+		propName(propName, dst);
+		dst.writeFloat(value);
 		return this;
 	}
 
@@ -448,7 +966,14 @@ public final class JsonStringify {
 	public JsonStringify toProp(String propName, long value, StringBuilder dst)                 { try { return toProp(propName, value, (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
 	public JsonStringify toProp(String propName, long value, Appendable dst) throws IOException {
 		propName(propName, dst);
-		dst.append(Long.toString(value));
+		JsonNumberWriter.appendLong(value, dst);
+		return this;
+	}
+
+
+	public JsonStringify toProp(String propName, long value, JsonByteSink dst) throws IOException {
+		propName(propName, dst);
+		dst.writeLong(value);
 		return this;
 	}
 
@@ -456,7 +981,14 @@ public final class JsonStringify {
 	public JsonStringify toProp(String propName, double value, StringBuilder dst)                 { try { return toProp(propName, value, (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
 	public JsonStringify toProp(String propName, double value, Appendable dst) throws IOException {
 		propName(propName, dst);
-		dst.append(Double.toString(value));
+		JsonNumberWriter.appendDouble(value, dst);
+		return this;
+	}
+
+
+	public JsonStringify toProp(String propName, double value, JsonByteSink dst) throws IOException {
+		propName(propName, dst);
+		dst.writeDouble(value);
 		return this;
 	}
 
@@ -464,21 +996,71 @@ public final class JsonStringify {
 	public JsonStringify toProp(String propName, char value, StringBuilder dst)                 { try { return toProp(propName, value, (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
 	public JsonStringify toProp(String propName, char value, Appendable dst) throws IOException {
 		dst.append('"').append(propName).append("\": \"");
-		StringEscapeJson.toJsonString(value, dst);
+		JsonEscape.escape(value, dst);
 		dst.append('"');
 		return this;
 	}
 
 
+	public JsonStringify toProp(String propName, char value, JsonByteSink dst) throws IOException {
+		dst.writeAscii('"').writeUtf8(propName).writeAscii("\": \"");
+		dst.writeEscaped(value);
+		dst.writeAscii('"');
+		return this;
+	}
+
+
 	public JsonStringify toProp(String propName, String value, StringBuilder dst)                 { try { return toProp(propName, value, (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
 	public JsonStringify toProp(String propName, String value, Appendable dst) throws IOException {
 		dst.append('"').append(propName).append("\": \"");
-		StringEscapeJson.toJsonString(value, dst);
+		JsonEscape.escape(value, dst);
 		dst.append('"');
 		return this;
 	}
 
 
+	public JsonStringify toProp(String propName, String value, JsonByteSink dst) throws IOException {
+		dst.writeAscii('"').writeUtf8(propName).writeAscii("\": \"");
+		dst.writeEscaped(value);
+		dst.writeAscii('"');
+		return this;
+	}
+
+
+	// ==== to 'prop: value' string with pre-rendered JsonKey names ====
+	public JsonStringify toProp(JsonKey propName, boolean value, StringBuilder dst)                   { propName(propName, dst); dst.append(value); return this; }
+	public JsonStringify toProp(JsonKey propName, boolean value, Appendable dst) throws IOException   { propName(propName, dst); dst.append(value ? "true" : "false"); return this; }
+	public JsonStringify toProp(JsonKey propName, boolean value, JsonByteSink dst) throws IOException { propName(propName, dst); dst.writeBoolean(value); return this; }
+
+	public JsonStringify toProp(JsonKey propName, int value, StringBuilder dst)                   { propName(propName, dst); dst.append(value); return this; }
+	public JsonStringify toProp(JsonKey propName, int value, Appendable dst) throws IOException   { propName(propName, dst); JsonNumberWriter.appendInt(value, dst); return this; }
+	public JsonStringify toProp(JsonKey propName, int value, JsonByteSink dst) throws IOException { propName(propName, dst); dst.writeInt(value); return this; }
+
+	public JsonStringify toProp(JsonKey propName, float value, StringBuilder dst)                   { propName(propName, dst); char[] buf = JsonNumberWriter.scratch(); dst.append(buf, 0, JsonNumberWriter.writeFloat(value, buf, 0)); return this; }
+	public JsonStringify toProp(JsonKey propName, float value, Appendable dst) throws IOException   { propName(propName, dst); JsonNumberWriter.appendFloat(value, dst); return this; }
+	public JsonStringify toProp(JsonKey propName, float value, JsonByteSink dst) throws IOException { propName(propName, dst); dst.writeFloat(value); return this; }
+
+	public JsonStringify toProp(JsonKey propName, long value, StringBuilder dst)                   { propName(propName, dst); dst.append(value); return this; }
+	public JsonStringify toProp(JsonKey propName, long value, Appendable dst) throws IOException   { propName(propName, dst); JsonNumberWriter.appendLong(value, dst); return this; }
+	public JsonStringify toProp(JsonKey propName, long value, JsonByteSink dst) throws IOException { propName(propName, dst); dst.writeLong(value); return this; }
+
+	public JsonStringify toProp(JsonKey propName, double value, StringBuilder dst)                   { propName(propName, dst); char[] buf = JsonNumberWriter.scratch(); dst.append(buf, 0, JsonNumberWriter.writeDouble(value, buf, 0)); return this; }
+	public JsonStringify toProp(JsonKey propName, double value, Appendable dst) throws IOException   { propName(propName, dst); JsonNumberWriter.appendDouble(value, dst); return this; }
+	public JsonStringify toProp(JsonKey propName, double value, JsonByteSink dst) throws IOException { propName(propName, dst); dst.writeDouble(value); return this; }
+
+	public JsonStringify toProp(JsonKey propName, char value, StringBuilder dst)                   { try { return toProp(propName, value, (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
+	public JsonStringify toProp(JsonKey propName, char value, Appendable dst) throws IOException   { propName(propName, dst); dst.append('"'); JsonEscape.escape(value, dst); dst.append('"'); return this; }
+	public JsonStringify toProp(JsonKey propName, char value, JsonByteSink dst) throws IOException { propName(propName, dst); dst.writeAscii('"').writeEscaped(value).writeAscii('"'); return this; }
+
+	public JsonStringify toProp(JsonKey propName, String value, StringBuilder dst)                   { try { return toProp(propName, value, (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
+	public JsonStringify toProp(JsonKey propName, String value, Appendable dst) throws IOException   { propName(propName, dst); dst.append('"'); JsonEscape.escape(value, dst); dst.append('"'); return this; }
+	public JsonStringify toProp(JsonKey propName, String value, JsonByteSink dst) throws IOException { propName(propName, dst); dst.writeAscii('"').writeEscaped(value).writeAscii('"'); return this; }
+
+	/** Write a property with a pre-rendered value, the name and value are each written with a single bulk copy */
+	public JsonStringify toProp(JsonKey propName, JsonFragmentCache.Fragment value, StringBuilder dst)                   { propName(propName, dst); dst.append(value.chars); return this; }
+	public JsonStringify toProp(JsonKey propName, JsonFragmentCache.Fragment value, Appendable dst) throws IOException   { propName(propName, dst); value.toJson(dst, null); return this; }
+	public JsonStringify toProp(JsonKey propName, JsonFragmentCache.Fragment value, JsonByteSink dst) throws IOException { propName(propName, dst); dst.write(value.utf8); return this; }
+
 	// ==== comma separator ====
 	public JsonStringify comma(                   StringBuilder dst) { dst.append(',').append(' '); return this; }
 	public JsonStringify comma(char whitespace,   StringBuilder dst) { dst.append(',').append(whitespace); return this; }
@@ -488,6 +1070,10 @@ public final class JsonStringify {
 	public JsonStringify comma(char whitespace,   Appendable dst) throws IOException { dst.append(',').append(whitespace); return this; }
 	public JsonStringify comma(String whitespace, Appendable dst) throws IOException { dst.append(',').append(whitespace); return this; }
 
+	public JsonStringify comma(                   JsonByteSink dst) throws IOException { dst.writeAscii(',').writeAscii(' '); return this; }
+	public JsonStringify comma(char whitespace,   JsonByteSink dst) throws IOException { dst.writeAscii(',').append(whitespace); return this; }
+	public JsonStringify comma(String whitespace, JsonByteSink dst) throws IOException { dst.writeAscii(',').writeUtf8(whitespace); return this; }
+
 	public JsonStringify comma(                      boolean inline, StringBuilder dst)                 { return comma(true, inline, dst); }
 	public JsonStringify comma(boolean includeComma, boolean inline, StringBuilder dst)                 { try { return comma(includeComma, inline, (Appendable)dst); } catch(IOException ioe) { throw new UncheckedIOException(ioe); } }
 	public JsonStringify comma(                      boolean inline, Appendable dst) throws IOException { return comma(true, inline, dst); }
@@ -502,27 +1088,64 @@ public final class JsonStringify {
 	}
 
 
+	public JsonStringify comma(                      boolean inline, JsonByteSink dst) throws IOException { return comma(true, inline, dst); }
+	public JsonStringify comma(boolean includeComma, boolean inline, JsonByteSink dst) throws IOException {
+		if(includeComma) {
+			dst.writeAscii(inline ? ", " : ",\n");
+		}
+		else if(!inline) {
+			dst.writeAscii('\n');
+		}
+		return this;
+	}
+
+
 	// ==== indent ====
 	public JsonStringify indent(char indent, StringBuilder dst)                 { dst.append(indent); return this; }
 	public JsonStringify indent(char indent, Appendable dst) throws IOException { dst.append(indent); return this; }
+	public JsonStringify indent(char indent, JsonByteSink dst) throws IOException { dst.append(indent); return this; }
 
 	public JsonStringify indent(char indent, int repeat, StringBuilder dst)                 { for(int i = 0; i < repeat; i++) { dst.append(indent); } return this; }
 	public JsonStringify indent(char indent, int repeat, Appendable dst) throws IOException { for(int i = 0; i < repeat; i++) { dst.append(indent); } return this; }
+	public JsonStringify indent(char indent, int repeat, JsonByteSink dst) throws IOException { for(int i = 0; i < repeat; i++) { dst.append(indent); } return this; }
 
 	public JsonStringify indent(String indent, StringBuilder dst)                 { dst.append(indent); return this; }
 	public JsonStringify indent(String indent, Appendable dst) throws IOException { dst.append(indent); return this; }
+	public JsonStringify indent(String indent, JsonByteSink dst) throws IOException { dst.writeUtf8(indent); return this; }
 
 	public JsonStringify indent(String indent, int repeat, StringBuilder dst)                 { for(int i = 0; i < repeat; i++) { dst.append(indent); } return this; }
 	public JsonStringify indent(String indent, int repeat, Appendable dst) throws IOException { for(int i = 0; i < repeat; i++) { dst.append(indent); } return this; }
+	public JsonStringify indent(String indent, int repeat, JsonByteSink dst) throws IOException { for(int i = 0; i < repeat; i++) { dst.writeUtf8(indent); } return this; }
 
 
 	// ==== append ====
 	public JsonStringify append(char ch, StringBuilder dst)                 { dst.append(ch); return this; }
 	public JsonStringify append(char ch, Appendable dst) throws IOException { dst.append(ch); return this; }
+	public JsonStringify append(char ch, JsonByteSink dst) throws IOException { dst.append(ch); return this; }
 
 	public JsonStringify append(String str, StringBuilder dst)                 { dst.append(str); return this; }
 	public JsonStringify append(String str, Appendable dst) throws IOException { dst.append(str); return this; }
+	public JsonStringify append(String str, JsonByteSink dst) throws IOException { dst.writeUtf8(str); return this; }
 
 	public JsonStringify append(String str, int start, int end, StringBuilder dst)                 { dst.append(str, start, end); return this; }
 	public JsonStringify append(String str, int start, int end, Appendable dst) throws IOException { dst.append(str, start, end); return this; }
+	public JsonStringify append(String str, int start, int end, JsonByteSink dst) throws IOException { dst.writeUtf8(str, start, end); return this; }
+
+
+	// ==== pooled one-shot rendering ====
+	/** Render an object to a string using a buffer from {@link JsonBufferPool#inst} sized by a moving average of
+	 * the output lengths of {@code obj}'s class
+	 */
+	public <T> String render(JsonWritable<T> obj, T params)                                           { return JsonBufferPool.inst.render(JsonBufferPool.estimateFor(obj.getClass()), (sb) -> obj.toJson(sb, params)); }
+	public <T> String render(JsonWritable<T> obj, T params, JsonBufferPool.SizeEstimate estimate)     { return JsonBufferPool.inst.render(estimate, (sb) -> obj.toJson(sb, params)); }
+
+	/** Same as {@link #toArray(List, StringBuilder)} but returns a string rendered with a buffer from {@link JsonBufferPool#inst}
+	 */
+	public String renderArray(List<? extends Object> vals)                                            { return JsonBufferPool.inst.render(listArrayEstimate, (sb) -> toArray(vals, sb)); }
+	public String renderArray(List<? extends Object> vals, JsonBufferPool.SizeEstimate estimate)      { return JsonBufferPool.inst.render(estimate, (sb) -> toArray(vals, sb)); }
+	public String renderStringArray(List<? extends CharSequence> vals)                                { return JsonBufferPool.inst.render(stringArrayEstimate, (sb) -> toStringArray(vals, sb)); }
+	public String renderStringArray(List<? extends CharSequence> vals, JsonBufferPool.SizeEstimate estimate) { return JsonBufferPool.inst.render(estimate, (sb) -> toStringArray(vals, sb)); }
+	public String renderArray(int[] vals)                                                             { return JsonBufferPool.inst.render(intArrayEstimate, (sb) -> toArray(vals, sb)); }
+	public String renderArray(long[] vals)                                                            { return JsonBufferPool.inst.render(longArrayEstimate, (sb) -> toArray(vals, sb)); }
+	public String renderArray(double[] vals)                                                          { return JsonBufferPool.inst.render(doubleArrayEstimate, (sb) -> toArray(vals, sb)); }
 }
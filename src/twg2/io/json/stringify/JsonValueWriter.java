@@ -0,0 +1,447 @@
+package twg2.io.json.stringify;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/** Writes arbitrary Java values as JSON, dispatching on the value's runtime class through a per-class cached {@link Kind}.
+ * Boxed numbers and booleans use the allocation free {@link JsonNumberWriter} writers, {@link JsonWritable}s write
+ * themselves (with {@code null} params), {@link Map}s become objects, and {@link Iterable}s and arrays become arrays,
+ * with nested values written by the same writer and separated by {@code ","} plus the writer's whitespace separator
+ * (a single space by default, see {@link #of(boolean, boolean, String)}).<br>
+ * {@link CharSequence}s, {@link Character}s, {@link Path}s (which are {@link Iterable}s of their own name elements), and
+ * values of any other class are written as their {@code toString()} text, quoted and/or escaped depending on the writer.
+ * A container which contains itself, or values nested more than {@value #MAX_DEPTH} containers deep, throw an
+ * {@link IllegalArgumentException} instead of overflowing the stack.  {@link #JSON} quotes and escapes all text and writes enums
+ * by {@link Enum#name()} and other unknown classes with {@link JsonWritableFactory#forClass(Class)} instead.<br>
+ * Instances are immutable and thread safe.
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public final class JsonValueWriter {
+	/** Strings are quoted and escaped, unknown classes are written by {@link JsonWritableFactory} */
+	public static final JsonValueWriter JSON = new JsonValueWriter(true, true, true, " ");
+	private static final JsonValueWriter TEXT = new JsonValueWriter(false, false, false, " ");
+	private static final JsonValueWriter ESCAPED_TEXT = new JsonValueWriter(false, true, false, " ");
+	private static final JsonValueWriter QUOTED_TEXT = new JsonValueWriter(true, false, false, " ");
+	private static final JsonValueWriter STRINGS = new JsonValueWriter(true, true, false, " ");
+	/** The most maps, iterables, arrays, and {@link JsonWritableFactory} objects which can be nested inside one another */
+	static final int MAX_DEPTH = 256;
+
+
+	/** The JSON shape of a class
+	 */
+	enum Kind {
+		WRITABLE,
+		TEXT,
+		INT,
+		LONG,
+		FLOAT,
+		DOUBLE,
+		BOOLEAN,
+		NUMBER,
+		ENUM,
+		MAP,
+		ITERABLE,
+		OBJECT_ARRAY,
+		INT_ARRAY,
+		LONG_ARRAY,
+		FLOAT_ARRAY,
+		DOUBLE_ARRAY,
+		SHORT_ARRAY,
+		BYTE_ARRAY,
+		BOOLEAN_ARRAY,
+		OTHER;
+
+
+		static Kind of(Class<?> type) {
+			if(JsonWritable.class.isAssignableFrom(type)) { return WRITABLE; }
+			if(CharSequence.class.isAssignableFrom(type) || type == Character.class || Path.class.isAssignableFrom(type)) { return TEXT; }
+			if(type == Integer.class || type == Short.class || type == Byte.class) { return INT; }
+			if(type == Long.class) { return LONG; }
+			if(type == Float.class) { return FLOAT; }
+			if(type == Double.class) { return DOUBLE; }
+			if(type == Boolean.class) { return BOOLEAN; }
+			if(Number.class.isAssignableFrom(type)) { return NUMBER; }
+			if(Enum.class.isAssignableFrom(type)) { return ENUM; }
+			if(Map.class.isAssignableFrom(type)) { return MAP; }
+			if(Iterable.class.isAssignableFrom(type)) { return ITERABLE; }
+			if(type == int[].class) { return INT_ARRAY; }
+			if(type == long[].class) { return LONG_ARRAY; }
+			if(type == float[].class) { return FLOAT_ARRAY; }
+			if(type == double[].class) { return DOUBLE_ARRAY; }
+			if(type == short[].class) { return SHORT_ARRAY; }
+			if(type == byte[].class) { return BYTE_ARRAY; }
+			if(type == boolean[].class) { return BOOLEAN_ARRAY; }
+			if(type.isArray() && !type.getComponentType().isPrimitive()) { return OBJECT_ARRAY; }
+			return OTHER;
+		}
+	}
+
+
+	private static final ClassValue<Kind> kinds = new ClassValue<Kind>() {
+		@Override
+		protected Kind computeValue(Class<?> type) {
+			return Kind.of(type);
+		}
+	};
+
+	private final boolean quote;
+	private final boolean escape;
+	/** true to write enums by name and unknown classes with {@link JsonWritableFactory}, false to write their {@code toString()} */
+	private final boolean beans;
+	/** Written between the elements and properties of nested containers, {@code ","} plus the whitespace separator */
+	private final String separator;
+	/** true if {@link #separator} is {@code ", "}, the separator written by the {@link JsonStringify} primitive array methods */
+	private final boolean defaultSeparator;
+
+
+	private JsonValueWriter(boolean quote, boolean escape, boolean beans, String whitespaceSeparator) {
+		this.quote = quote;
+		this.escape = escape;
+		this.beans = beans;
+		this.separator = "," + whitespaceSeparator;
+		this.defaultSeparator = " ".equals(whitespaceSeparator);
+	}
+
+
+	/** A writer which writes text values (strings, chars, and the {@code toString()} of unknown classes) with or without
+	 * quotes and escaping, the {@link JsonStringify} {@code toArray(..., quote, escape, ...)} methods use this
+	 */
+	public static JsonValueWriter of(boolean quote, boolean escape) {
+		return quote ? (escape ? STRINGS : QUOTED_TEXT) : (escape ? ESCAPED_TEXT : TEXT);
+	}
+
+
+	/** Same as {@link #of(boolean, boolean)} with {@code whitespaceSeparator} written after the commas in nested maps,
+	 * collections, and arrays, the {@link JsonStringify} methods which take a {@code whitespaceSeparator} use this
+	 */
+	public static JsonValueWriter of(boolean quote, boolean escape, String whitespaceSeparator) {
+		return " ".equals(whitespaceSeparator) ? of(quote, escape) : new JsonValueWriter(quote, escape, false, whitespaceSeparator);
+	}
+
+
+	public void write(Object val, Appendable dst) throws IOException {
+		write(val, dst, 0);
+	}
+
+
+	/**
+	 * @param depth the number of containers {@code val} is nested inside of
+	 */
+	@SuppressWarnings("unchecked")
+	void write(Object val, Appendable dst, int depth) throws IOException {
+		if(val == null) {
+			dst.append("null");
+			return;
+		}
+		switch(kinds.get(val.getClass())) {
+		case WRITABLE: ((JsonWritable<Object>)val).toJson(dst, null); break;
+		case TEXT: writeText(val.toString(), dst); break;
+		case INT: JsonNumberWriter.appendInt(((Number)val).intValue(), dst); break;
+		case LONG: JsonNumberWriter.appendLong((Long)val, dst); break;
+		case FLOAT: JsonNumberWriter.appendFloat((Float)val, dst); break;
+		case DOUBLE: JsonNumberWriter.appendDouble((Double)val, dst); break;
+		case BOOLEAN: dst.append((Boolean)val ? "true" : "false"); break;
+		case NUMBER: dst.append(val.toString()); break;
+		case ENUM: writeText(beans ? ((Enum<?>)val).name() : val.toString(), dst); break;
+		case MAP:
+			checkDepth(val, depth);
+			dst.append('{');
+			boolean firstEntry = true;
+			for(Map.Entry<?, ?> entry : ((Map<?, ?>)val).entrySet()) {
+				if(!firstEntry) { dst.append(separator); }
+				dst.append('"');
+				JsonEscape.escape(String.valueOf(entry.getKey()), dst);
+				dst.append("\": ");
+				write(checkElement(val, entry.getValue()), dst, depth + 1);
+				firstEntry = false;
+			}
+			dst.append('}');
+			break;
+		case ITERABLE:
+			checkDepth(val, depth);
+			dst.append('[');
+			boolean first = true;
+			for(Object elem : (Iterable<?>)val) {
+				if(!first) { dst.append(separator); }
+				write(checkElement(val, elem), dst, depth + 1);
+				first = false;
+			}
+			dst.append(']');
+			break;
+		case OBJECT_ARRAY:
+			checkDepth(val, depth);
+			Object[] ary = (Object[])val;
+			dst.append('[');
+			for(int i = 0; i < ary.length; i++) {
+				if(i > 0) { dst.append(separator); }
+				write(checkElement(val, ary[i]), dst, depth + 1);
+			}
+			dst.append(']');
+			break;
+		case INT_ARRAY:
+			if(defaultSeparator) { JsonStringify.inst.toArray((int[])val, dst); break; }
+			int[] ints = (int[])val;
+			dst.append('[');
+			for(int i = 0; i < ints.length; i++) {
+				if(i > 0) { dst.append(separator); }
+				JsonNumberWriter.appendInt(ints[i], dst);
+			}
+			dst.append(']');
+			break;
+		case LONG_ARRAY:
+			if(defaultSeparator) { JsonStringify.inst.toArray((long[])val, dst); break; }
+			long[] longs = (long[])val;
+			dst.append('[');
+			for(int i = 0; i < longs.length; i++) {
+				if(i > 0) { dst.append(separator); }
+				JsonNumberWriter.appendLong(longs[i], dst);
+			}
+			dst.append(']');
+			break;
+		case FLOAT_ARRAY:
+			if(defaultSeparator) { JsonStringify.inst.toArray((float[])val, dst); break; }
+			float[] floats = (float[])val;
+			dst.append('[');
+			for(int i = 0; i < floats.length; i++) {
+				if(i > 0) { dst.append(separator); }
+				JsonNumberWriter.appendFloat(floats[i], dst);
+			}
+			dst.append(']');
+			break;
+		case DOUBLE_ARRAY:
+			if(defaultSeparator) { JsonStringify.inst.toArray((double[])val, dst); break; }
+			double[] doubles = (double[])val;
+			dst.append('[');
+			for(int i = 0; i < doubles.length; i++) {
+				if(i > 0) { dst.append(separator); }
+				JsonNumberWriter.appendDouble(doubles[i], dst);
+			}
+			dst.append(']');
+			break;
+		case SHORT_ARRAY:
+			short[] shorts = (short[])val;
+			dst.append('[');
+			for(int i = 0; i < shorts.length; i++) {
+				if(i > 0) { dst.append(separator); }
+				JsonNumberWriter.appendInt(shorts[i], dst);
+			}
+			dst.append(']');
+			break;
+		case BYTE_ARRAY:
+			byte[] bytes = (byte[])val;
+			dst.append('[');
+			for(int i = 0; i < bytes.length; i++) {
+				if(i > 0) { dst.append(separator); }
+				JsonNumberWriter.appendInt(bytes[i], dst);
+			}
+			dst.append(']');
+			break;
+		case BOOLEAN_ARRAY:
+			boolean[] bools = (boolean[])val;
+			dst.append('[');
+			for(int i = 0; i < bools.length; i++) {
+				if(i > 0) { dst.append(separator); }
+				dst.append(bools[i] ? "true" : "false");
+			}
+			dst.append(']');
+			break;
+		default:
+			if(beans) { writeBean(val, dst, depth); }
+			else { writeText(val.toString(), dst); }
+			break;
+		}
+	}
+
+
+	public void write(Object val, JsonByteSink dst) throws IOException {
+		write(val, dst, 0);
+	}
+
+
+	/**
+	 * @param depth the number of containers {@code val} is nested inside of
+	 */
+	@SuppressWarnings("unchecked")
+	void write(Object val, JsonByteSink dst, int depth) throws IOException {
+		if(val == null) {
+			dst.writeAscii("null");
+			return;
+		}
+		switch(kinds.get(val.getClass())) {
+		case WRITABLE: ((JsonWritable<Object>)val).toJson(dst, null); break;
+		case TEXT: writeText(val.toString(), dst); break;
+		case INT: dst.writeInt(((Number)val).intValue()); break;
+		case LONG: dst.writeLong((Long)val); break;
+		case FLOAT: dst.writeFloat((Float)val); break;
+		case DOUBLE: dst.writeDouble((Double)val); break;
+		case BOOLEAN: dst.writeBoolean((Boolean)val); break;
+		case NUMBER: dst.writeAscii(val.toString()); break;
+		case ENUM: writeText(beans ? ((Enum<?>)val).name() : val.toString(), dst); break;
+		case MAP:
+			checkDepth(val, depth);
+			dst.writeAscii('{');
+			boolean firstEntry = true;
+			for(Map.Entry<?, ?> entry : ((Map<?, ?>)val).entrySet()) {
+				if(!firstEntry) { dst.writeUtf8(separator); }
+				dst.writeAscii('"').writeEscaped(String.valueOf(entry.getKey())).writeAscii("\": ");
+				write(checkElement(val, entry.getValue()), dst, depth + 1);
+				firstEntry = false;
+			}
+			dst.writeAscii('}');
+			break;
+		case ITERABLE:
+			checkDepth(val, depth);
+			dst.writeAscii('[');
+			boolean first = true;
+			for(Object elem : (Iterable<?>)val) {
+				if(!first) { dst.writeUtf8(separator); }
+				write(checkElement(val, elem), dst, depth + 1);
+				first = false;
+			}
+			dst.writeAscii(']');
+			break;
+		case OBJECT_ARRAY:
+			checkDepth(val, depth);
+			Object[] ary = (Object[])val;
+			dst.writeAscii('[');
+			for(int i = 0; i < ary.length; i++) {
+				if(i > 0) { dst.writeUtf8(separator); }
+				write(checkElement(val, ary[i]), dst, depth + 1);
+			}
+			dst.writeAscii(']');
+			break;
+		case INT_ARRAY:
+			if(defaultSeparator) { JsonStringify.inst.toArray((int[])val, dst); break; }
+			int[] ints = (int[])val;
+			dst.writeAscii('[');
+			for(int i = 0; i < ints.length; i++) {
+				if(i > 0) { dst.writeUtf8(separator); }
+				dst.writeInt(ints[i]);
+			}
+			dst.writeAscii(']');
+			break;
+		case LONG_ARRAY:
+			if(defaultSeparator) { JsonStringify.inst.toArray((long[])val, dst); break; }
+			long[] longs = (long[])val;
+			dst.writeAscii('[');
+			for(int i = 0; i < longs.length; i++) {
+				if(i > 0) { dst.writeUtf8(separator); }
+				dst.writeLong(longs[i]);
+			}
+			dst.writeAscii(']');
+			break;
+		case FLOAT_ARRAY:
+			if(defaultSeparator) { JsonStringify.inst.toArray((float[])val, dst); break; }
+			float[] floats = (float[])val;
+			dst.writeAscii('[');
+			for(int i = 0; i < floats.length; i++) {
+				if(i > 0) { dst.writeUtf8(separator); }
+				dst.writeFloat(floats[i]);
+			}
+			dst.writeAscii(']');
+			break;
+		case DOUBLE_ARRAY:
+			if(defaultSeparator) { JsonStringify.inst.toArray((double[])val, dst); break; }
+			double[] doubles = (double[])val;
+			dst.writeAscii('[');
+			for(int i = 0; i < doubles.length; i++) {
+				if(i > 0) { dst.writeUtf8(separator); }
+				dst.writeDouble(doubles[i]);
+			}
+			dst.writeAscii(']');
+			break;
+		case SHORT_ARRAY:
+			short[] shorts = (short[])val;
+			dst.writeAscii('[');
+			for(int i = 0; i < shorts.length; i++) {
+				if(i > 0) { dst.writeUtf8(separator); }
+				dst.writeInt(shorts[i]);
+			}
+			dst.writeAscii(']');
+			break;
+		case BYTE_ARRAY:
+			byte[] bytes = (byte[])val;
+			dst.writeAscii('[');
+			for(int i = 0; i < bytes.length; i++) {
+				if(i > 0) { dst.writeUtf8(separator); }
+				dst.writeInt(bytes[i]);
+			}
+			dst.writeAscii(']');
+			break;
+		case BOOLEAN_ARRAY:
+			boolean[] bools = (boolean[])val;
+			dst.writeAscii('[');
+			for(int i = 0; i < bools.length; i++) {
+				if(i > 0) { dst.writeUtf8(separator); }
+				dst.writeBoolean(bools[i]);
+			}
+			dst.writeAscii(']');
+			break;
+		default:
+			if(beans) { writeBean(val, dst, depth); }
+			else { writeText(val.toString(), dst); }
+			break;
+		}
+	}
+
+
+	/** Throw if a container or object nested {@code depth} deep exceeds {@link #MAX_DEPTH}, also used by {@link JsonWritableFactory}
+	 */
+	static void checkDepth(Object container, int depth) {
+		if(depth >= MAX_DEPTH) {
+			throw new IllegalArgumentException("values nested more than " + MAX_DEPTH + " deep, at a " + container.getClass().getName() +
+					", the object graph may be cyclic (i.e. a parent/child back-reference)");
+		}
+	}
+
+
+	private static Object checkElement(Object container, Object elem) {
+		if(elem == container) {
+			throw new IllegalArgumentException("a " + container.getClass().getName() + " cannot contain itself");
+		}
+		return elem;
+	}
+
+
+	private void writeText(String str, Appendable dst) throws IOException {
+		if(quote) { dst.append('"'); }
+		if(escape) { JsonEscape.escape(str, dst); }
+		else { dst.append(str); }
+		if(quote) { dst.append('"'); }
+	}
+
+
+	private void writeText(String str, JsonByteSink dst) throws IOException {
+		if(quote) { dst.writeAscii('"'); }
+		if(escape) { dst.writeEscaped(str); }
+		else { dst.writeUtf8(str); }
+		if(quote) { dst.writeAscii('"'); }
+	}
+
+
+	@SuppressWarnings("unchecked")
+	private static <T> void writeBean(T val, Appendable dst, int depth) throws IOException {
+		JsonWritable<T> writable = JsonWritableFactory.forClass((Class<T>)val.getClass());
+		if(writable instanceof JsonWritableFactory.BeanWritable) {
+			((JsonWritableFactory.BeanWritable<T>)writable).write(val, dst, depth);
+		}
+		else {
+			writable.toJson(dst, val);
+		}
+	}
+
+
+	@SuppressWarnings("unchecked")
+	private static <T> void writeBean(T val, JsonByteSink dst, int depth) throws IOException {
+		JsonWritable<T> writable = JsonWritableFactory.forClass((Class<T>)val.getClass());
+		if(writable instanceof JsonWritableFactory.BeanWritable) {
+			((JsonWritableFactory.BeanWritable<T>)writable).write(val, dst, depth);
+		}
+		else {
+			writable.toJson(dst, val);
+		}
+	}
+
+}
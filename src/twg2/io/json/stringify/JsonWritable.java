@@ -10,4 +10,13 @@ public interface JsonWritable<T> {
 
 	public void toJson(Appendable dst, T params) throws IOException;
 
+
+	/** Write this object UTF-8 encoded to a {@link JsonByteSink}.
+	 * The default implementation appends chars to the sink through {@link #toJson(Appendable, Object)},
+	 * implementations can override this to write bytes directly
+	 */
+	public default void toJson(JsonByteSink dst, T params) throws IOException {
+		toJson((Appendable)dst, params);
+	}
+
 }
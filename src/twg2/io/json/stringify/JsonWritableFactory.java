@@ -0,0 +1,383 @@
+package twg2.io.json.stringify;
+
+import java.io.IOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/** Builds {@link JsonWritable} implementations for plain Java classes at runtime, once per class.
+ * The properties of a class are its public no-arg {@code getX()}/{@code isX()} methods and its public non-static,
+ * non-transient fields, written in name order.  Each property gets a pre-rendered {@link JsonKey} and a getter
+ * generated through {@link LambdaMetafactory} (a {@link MethodHandle} when the class is not public), so writing
+ * an object makes no reflective calls and primitive properties are never boxed.<br>
+ * Property values which are not primitives or strings are written by {@link JsonValueWriter#JSON}: boxed numbers and
+ * booleans as JSON numbers and booleans, {@link CharSequence}s, chars, and enums as JSON strings, {@link JsonWritable}s
+ * by their {@code toJson()}, {@link Iterable}s and arrays as JSON arrays, {@code Map}s as JSON objects, and any other
+ * object using the generated serializer for its runtime class.
+ * Cyclic object graphs cannot be written: a property which returns its own object, or objects and containers nested more
+ * than {@value JsonValueWriter#MAX_DEPTH} deep (i.e. a parent/child back-reference), throw an {@link IllegalArgumentException}.
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public final class JsonWritableFactory {
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final ClassValue<JsonWritable<?>> cache = new ClassValue<JsonWritable<?>>() {
+		@Override
+		protected JsonWritable<?> computeValue(Class<?> type) {
+			return create(type);
+		}
+	};
+
+
+	private JsonWritableFactory() { throw new AssertionError("cannot instantiate static class JsonWritableFactory"); }
+
+
+	/** Get the generated {@link JsonWritable} for a class, the serializer is created on the first call for each class
+	 * and cached for the lifetime of the class
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> JsonWritable<T> forClass(Class<T> type) {
+		return (JsonWritable<T>)cache.get(type);
+	}
+
+
+	private static <T> JsonWritable<T> create(Class<T> type) {
+		List<Prop<T>> props = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+
+		for(Method m : type.getMethods()) {
+			String name = getterPropName(m);
+			if(name != null && !names.contains(name)) {
+				names.add(name);
+				props.add(createProp(type, name, m.getReturnType(), unreflect(m), isAccessible(type) && isAccessible(m.getDeclaringClass())));
+			}
+		}
+		for(Field f : type.getFields()) {
+			int mods = f.getModifiers();
+			if(!Modifier.isStatic(mods) && !Modifier.isTransient(mods) && !names.contains(f.getName())) {
+				names.add(f.getName());
+				props.add(createProp(type, f.getName(), f.getType(), unreflect(f), false));
+			}
+		}
+		props.sort(Comparator.comparing((Prop<T> p) -> p.key.getName()));
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		Prop<T>[] propAry = props.toArray(new Prop[props.size()]);
+		return new BeanWritable<>(propAry);
+	}
+
+
+	/** The property name of a public {@code getX()} or boolean {@code isX()} method, null if the method is not a getter
+	 */
+	private static String getterPropName(Method m) {
+		if(Modifier.isStatic(m.getModifiers()) || m.isBridge() || m.isSynthetic() || m.getParameterCount() != 0 ||
+				m.getReturnType() == void.class || m.getDeclaringClass() == Object.class) {
+			return null;
+		}
+		String name = m.getName();
+		int prefixLen = name.startsWith("get") ? 3 : (name.startsWith("is") && m.getReturnType() == boolean.class ? 2 : 0);
+		if(prefixLen == 0 || name.length() == prefixLen) {
+			return null;
+		}
+		return Character.toLowerCase(name.charAt(prefixLen)) + name.substring(prefixLen + 1);
+	}
+
+
+	@SuppressWarnings("unchecked")
+	private static <T> Prop<T> createProp(Class<T> type, String name, Class<?> propType, MethodHandle getter, boolean direct) {
+		JsonKey key = JsonKey.of(name);
+		if(propType == int.class || propType == short.class || propType == byte.class) {
+			return new IntProp<>(key, (ToIntFunction<T>)getter(ToIntFunction.class, "applyAsInt", int.class, type, getter, direct));
+		}
+		if(propType == long.class) {
+			return new LongProp<>(key, (ToLongFunction<T>)getter(ToLongFunction.class, "applyAsLong", long.class, type, getter, direct));
+		}
+		if(propType == double.class) {
+			return new DoubleProp<>(key, (ToDoubleFunction<T>)getter(ToDoubleFunction.class, "applyAsDouble", double.class, type, getter, direct));
+		}
+		if(propType == float.class) {
+			return new FloatProp<>(key, (ToFloatFunction<T>)getter(ToFloatFunction.class, "applyAsFloat", float.class, type, getter, direct));
+		}
+		if(propType == boolean.class) {
+			return new BooleanProp<>(key, (Predicate<T>)getter(Predicate.class, "test", boolean.class, type, getter, direct));
+		}
+		if(propType == char.class) {
+			return new CharProp<>(key, (ToCharFunction<T>)getter(ToCharFunction.class, "applyAsChar", char.class, type, getter, direct));
+		}
+		if(propType == String.class) {
+			return new StringProp<>(key, (Function<T, String>)getter(Function.class, "apply", Object.class, type, getter, direct));
+		}
+		return new ObjectProp<>(key, (Function<T, Object>)getter(Function.class, "apply", Object.class, type, getter, direct));
+	}
+
+
+	/** Create an instance of the functional interface {@code fnType} which calls {@code getter}.
+	 * When {@code direct} is true the class and getter are public and a {@link LambdaMetafactory} class is spun,
+	 * otherwise the getter handle is wrapped
+	 */
+	private static Object getter(Class<?> fnType, String fnName, Class<?> erasedReturn, Class<?> type, MethodHandle getter, boolean direct) {
+		Class<?> returnType = getter.type().returnType();
+		if(direct) {
+			try {
+				MethodType erasedType = MethodType.methodType(erasedReturn, Object.class);
+				MethodType instantiatedType = MethodType.methodType(erasedReturn == Object.class ? wrap(returnType) : erasedReturn, type);
+				CallSite site = LambdaMetafactory.metafactory(LOOKUP, fnName, MethodType.methodType(fnType), erasedType, getter, instantiatedType);
+				return site.getTarget().invoke();
+			} catch(Throwable e) {
+				// fall through to the method handle wrapper
+			}
+		}
+		MethodHandle h = getter.asType(MethodType.methodType(erasedReturn, Object.class));
+		if(fnType == ToIntFunction.class) { return (ToIntFunction<Object>)(o) -> { try { return (int)h.invokeExact(o); } catch(Throwable t) { throw rethrow(t); } }; }
+		if(fnType == ToLongFunction.class) { return (ToLongFunction<Object>)(o) -> { try { return (long)h.invokeExact(o); } catch(Throwable t) { throw rethrow(t); } }; }
+		if(fnType == ToDoubleFunction.class) { return (ToDoubleFunction<Object>)(o) -> { try { return (double)h.invokeExact(o); } catch(Throwable t) { throw rethrow(t); } }; }
+		if(fnType == ToFloatFunction.class) { return (ToFloatFunction<Object>)(o) -> { try { return (float)h.invokeExact(o); } catch(Throwable t) { throw rethrow(t); } }; }
+		if(fnType == Predicate.class) { return (Predicate<Object>)(o) -> { try { return (boolean)h.invokeExact(o); } catch(Throwable t) { throw rethrow(t); } }; }
+		if(fnType == ToCharFunction.class) { return (ToCharFunction<Object>)(o) -> { try { return (char)h.invokeExact(o); } catch(Throwable t) { throw rethrow(t); } }; }
+		return (Function<Object, Object>)(o) -> { try { return (Object)h.invokeExact(o); } catch(Throwable t) { throw rethrow(t); } };
+	}
+
+
+	private static MethodHandle unreflect(Method m) {
+		try {
+			if(!isAccessible(m.getDeclaringClass())) {
+				m.setAccessible(true);
+			}
+			return LOOKUP.unreflect(m);
+		} catch(ReflectiveOperationException | RuntimeException e) {
+			throw new IllegalArgumentException("cannot access getter " + m, e);
+		}
+	}
+
+
+	private static MethodHandle unreflect(Field f) {
+		try {
+			if(!isAccessible(f.getDeclaringClass())) {
+				f.setAccessible(true);
+			}
+			return LOOKUP.unreflectGetter(f);
+		} catch(ReflectiveOperationException | RuntimeException e) {
+			throw new IllegalArgumentException("cannot access field " + f, e);
+		}
+	}
+
+
+	/** Whether a class and all of its enclosing classes are public
+	 */
+	private static boolean isAccessible(Class<?> type) {
+		for(Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+			if(!Modifier.isPublic(c.getModifiers())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	private static Class<?> wrap(Class<?> type) {
+		if(!type.isPrimitive()) { return type; }
+		return MethodType.methodType(type).wrap().returnType();
+	}
+
+
+	private static RuntimeException rethrow(Throwable t) {
+		if(t instanceof RuntimeException) { throw (RuntimeException)t; }
+		if(t instanceof Error) { throw (Error)t; }
+		throw new IllegalStateException(t);
+	}
+
+
+
+
+	/** The generated serializer, an object with one property per getter
+	 * @author TeamworkGuy2
+	 * @since 2026-10-18
+	 */
+	static final class BeanWritable<T> implements JsonWritable<T> {
+		private final Prop<T>[] props;
+
+
+		BeanWritable(Prop<T>[] props) {
+			this.props = props;
+		}
+
+
+		@Override
+		public void toJson(Appendable dst, T obj) throws IOException {
+			write(obj, dst, 0);
+		}
+
+
+		/**
+		 * @param depth the number of objects and containers {@code obj} is nested inside of
+		 */
+		void write(T obj, Appendable dst, int depth) throws IOException {
+			if(obj == null) {
+				dst.append("null");
+				return;
+			}
+			JsonValueWriter.checkDepth(obj, depth);
+			dst.append('{');
+			Prop<T>[] props = this.props;
+			for(int i = 0; i < props.length; i++) {
+				if(i > 0) { dst.append(',').append(' '); }
+				props[i].write(obj, dst, depth + 1);
+			}
+			dst.append('}');
+		}
+
+
+		@Override
+		public void toJson(JsonByteSink dst, T obj) throws IOException {
+			write(obj, dst, 0);
+		}
+
+
+		/**
+		 * @param depth the number of objects and containers {@code obj} is nested inside of
+		 */
+		void write(T obj, JsonByteSink dst, int depth) throws IOException {
+			if(obj == null) {
+				dst.writeAscii("null");
+				return;
+			}
+			JsonValueWriter.checkDepth(obj, depth);
+			dst.writeAscii('{');
+			Prop<T>[] props = this.props;
+			for(int i = 0; i < props.length; i++) {
+				if(i > 0) { dst.writeAscii(',').writeAscii(' '); }
+				props[i].write(obj, dst, depth + 1);
+			}
+			dst.writeAscii('}');
+		}
+
+	}
+
+
+	@FunctionalInterface
+	interface ToFloatFunction<T> {
+		public float applyAsFloat(T value);
+	}
+
+
+	@FunctionalInterface
+	interface ToCharFunction<T> {
+		public char applyAsChar(T value);
+	}
+
+
+	// ==== property writers ====
+	static abstract class Prop<T> {
+		final JsonKey key;
+
+		Prop(JsonKey key) { this.key = key; }
+
+		abstract void write(T obj, Appendable dst) throws IOException;
+
+		abstract void write(T obj, JsonByteSink dst) throws IOException;
+
+		/** Write a property of an object nested {@code depth} deep, only properties which can nest objects need the depth */
+		void write(T obj, Appendable dst, int depth) throws IOException { write(obj, dst); }
+
+		void write(T obj, JsonByteSink dst, int depth) throws IOException { write(obj, dst); }
+	}
+
+
+	static final class IntProp<T> extends Prop<T> {
+		private final ToIntFunction<T> getter;
+		IntProp(JsonKey key, ToIntFunction<T> getter) { super(key); this.getter = getter; }
+		@Override void write(T obj, Appendable dst) throws IOException { JsonStringify.inst.toProp(key, getter.applyAsInt(obj), dst); }
+		@Override void write(T obj, JsonByteSink dst) throws IOException { JsonStringify.inst.toProp(key, getter.applyAsInt(obj), dst); }
+	}
+
+
+	static final class LongProp<T> extends Prop<T> {
+		private final ToLongFunction<T> getter;
+		LongProp(JsonKey key, ToLongFunction<T> getter) { super(key); this.getter = getter; }
+		@Override void write(T obj, Appendable dst) throws IOException { JsonStringify.inst.toProp(key, getter.applyAsLong(obj), dst); }
+		@Override void write(T obj, JsonByteSink dst) throws IOException { JsonStringify.inst.toProp(key, getter.applyAsLong(obj), dst); }
+	}
+
+
+	static final class DoubleProp<T> extends Prop<T> {
+		private final ToDoubleFunction<T> getter;
+		DoubleProp(JsonKey key, ToDoubleFunction<T> getter) { super(key); this.getter = getter; }
+		@Override void write(T obj, Appendable dst) throws IOException { JsonStringify.inst.toProp(key, getter.applyAsDouble(obj), dst); }
+		@Override void write(T obj, JsonByteSink dst) throws IOException { JsonStringify.inst.toProp(key, getter.applyAsDouble(obj), dst); }
+	}
+
+
+	static final class FloatProp<T> extends Prop<T> {
+		private final ToFloatFunction<T> getter;
+		FloatProp(JsonKey key, ToFloatFunction<T> getter) { super(key); this.getter = getter; }
+		@Override void write(T obj, Appendable dst) throws IOException { JsonStringify.inst.toProp(key, getter.applyAsFloat(obj), dst); }
+		@Override void write(T obj, JsonByteSink dst) throws IOException { JsonStringify.inst.toProp(key, getter.applyAsFloat(obj), dst); }
+	}
+
+
+	static final class BooleanProp<T> extends Prop<T> {
+		private final Predicate<T> getter;
+		BooleanProp(JsonKey key, Predicate<T> getter) { super(key); this.getter = getter; }
+		@Override void write(T obj, Appendable dst) throws IOException { JsonStringify.inst.toProp(key, getter.test(obj), dst); }
+		@Override void write(T obj, JsonByteSink dst) throws IOException { JsonStringify.inst.toProp(key, getter.test(obj), dst); }
+	}
+
+
+	static final class CharProp<T> extends Prop<T> {
+		private final ToCharFunction<T> getter;
+		CharProp(JsonKey key, ToCharFunction<T> getter) { super(key); this.getter = getter; }
+		@Override void write(T obj, Appendable dst) throws IOException { JsonStringify.inst.toProp(key, getter.applyAsChar(obj), dst); }
+		@Override void write(T obj, JsonByteSink dst) throws IOException { JsonStringify.inst.toProp(key, getter.applyAsChar(obj), dst); }
+	}
+
+
+	static final class StringProp<T> extends Prop<T> {
+		private final Function<T, String> getter;
+		StringProp(JsonKey key, Function<T, String> getter) { super(key); this.getter = getter; }
+
+		@Override void write(T obj, Appendable dst) throws IOException {
+			String val = getter.apply(obj);
+			if(val != null) { JsonStringify.inst.toProp(key, val, dst); }
+			else { JsonStringify.inst.propName(key, dst); dst.append("null"); }
+		}
+
+		@Override void write(T obj, JsonByteSink dst) throws IOException {
+			String val = getter.apply(obj);
+			if(val != null) { JsonStringify.inst.toProp(key, val, dst); }
+			else { JsonStringify.inst.propName(key, dst); dst.writeAscii("null"); }
+		}
+	}
+
+
+	static final class ObjectProp<T> extends Prop<T> {
+		private final Function<T, Object> getter;
+		ObjectProp(JsonKey key, Function<T, Object> getter) { super(key); this.getter = getter; }
+		@Override void write(T obj, Appendable dst) throws IOException { write(obj, dst, 0); }
+		@Override void write(T obj, JsonByteSink dst) throws IOException { write(obj, dst, 0); }
+		@Override void write(T obj, Appendable dst, int depth) throws IOException { JsonStringify.inst.propName(key, dst); JsonValueWriter.JSON.write(get(obj), dst, depth); }
+		@Override void write(T obj, JsonByteSink dst, int depth) throws IOException { JsonStringify.inst.propName(key, dst); JsonValueWriter.JSON.write(get(obj), dst, depth); }
+
+		private Object get(T obj) {
+			Object val = getter.apply(obj);
+			if(val == obj) {
+				throw new IllegalArgumentException("property '" + key.getName() + "' of " + obj.getClass().getName() + " returns the object itself");
+			}
+			return val;
+		}
+	}
+
+}
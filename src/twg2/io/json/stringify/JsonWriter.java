@@ -0,0 +1,532 @@
+package twg2.io.json.stringify;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/** A streaming JSON writer which tracks its own nesting and comma state.
+ * Output goes through a fixed size buffer which is flushed to the destination
+ * {@link Writer}, {@link OutputStream}, or {@link WritableByteChannel} in chunks,
+ * so documents of any size are written in constant memory.<br>
+ * Byte destinations are written UTF-8 encoded through a {@link JsonByteSink}.
+ * The output format matches {@link JsonStringify}: {@code ", "} between values and {@code ": "} after names
+ * by default, or one value per line when an indent is set with {@link #setIndent(String)}.<br>
+ * Misuse, such as a value in an object without a name or unbalanced brackets, throws {@link IllegalStateException}.<br>
+ * Not thread safe.
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public final class JsonWriter implements Flushable, Closeable {
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	private static final int EMPTY_DOCUMENT = 0;
+	private static final int NONEMPTY_DOCUMENT = 1;
+	private static final int EMPTY_ARRAY = 2;
+	private static final int NONEMPTY_ARRAY = 3;
+	private static final int EMPTY_OBJECT = 4;
+	private static final int NONEMPTY_OBJECT = 5;
+	/** An object name has been written, the next call must write its value */
+	private static final int DANGLING_NAME = 6;
+
+	/** Exactly one of {@code bytes} and {@code chars} is non-null */
+	private final JsonByteSink bytes;
+	private final CharOut chars;
+	private int[] stack = new int[32];
+	private int stackSize;
+	private String indent;
+	/** Cached newline + indent strings for each depth, built as needed */
+	private String[] newlines;
+
+
+	private JsonWriter(JsonByteSink bytes, CharOut chars) {
+		this.bytes = bytes;
+		this.chars = chars;
+		this.stack[stackSize++] = EMPTY_DOCUMENT;
+	}
+
+
+	public static JsonWriter of(Writer dst) {
+		return new JsonWriter(null, new CharOut(dst, DEFAULT_BUFFER_SIZE));
+	}
+
+
+	public static JsonWriter of(Writer dst, int bufferSize) {
+		return new JsonWriter(null, new CharOut(dst, bufferSize));
+	}
+
+
+	public static JsonWriter of(OutputStream dst) {
+		return new JsonWriter(JsonByteSink.of(dst, DEFAULT_BUFFER_SIZE), null);
+	}
+
+
+	public static JsonWriter of(OutputStream dst, int bufferSize) {
+		return new JsonWriter(JsonByteSink.of(dst, bufferSize), null);
+	}
+
+
+	public static JsonWriter of(WritableByteChannel dst) {
+		return new JsonWriter(JsonByteSink.of(dst, DEFAULT_BUFFER_SIZE), null);
+	}
+
+
+	public static JsonWriter of(WritableByteChannel dst, int bufferSize) {
+		return new JsonWriter(JsonByteSink.of(dst, bufferSize), null);
+	}
+
+
+	/** Write to an existing byte sink, closing this writer closes the sink
+	 */
+	public static JsonWriter of(JsonByteSink dst) {
+		return new JsonWriter(dst, null);
+	}
+
+
+	/** Set the indent written before each array element and object property, one per nesting level.
+	 * {@code null} or an empty string (the default) writes everything on one line
+	 */
+	public JsonWriter setIndent(String indent) {
+		this.indent = (indent == null || indent.isEmpty()) ? null : indent;
+		this.newlines = (this.indent == null) ? null : new String[] { "\n" };
+		return this;
+	}
+
+
+	/** The current nesting depth, 0 at the top level
+	 */
+	public int getDepth() {
+		return stackSize - 1;
+	}
+
+
+	// ==== structure ====
+	public JsonWriter beginArray() throws IOException {
+		beforeValue();
+		push(EMPTY_ARRAY);
+		writeAscii('[');
+		return this;
+	}
+
+
+	public JsonWriter endArray() throws IOException {
+		return close(EMPTY_ARRAY, NONEMPTY_ARRAY, ']');
+	}
+
+
+	public JsonWriter beginObject() throws IOException {
+		beforeValue();
+		push(EMPTY_OBJECT);
+		writeAscii('{');
+		return this;
+	}
+
+
+	public JsonWriter endObject() throws IOException {
+		return close(EMPTY_OBJECT, NONEMPTY_OBJECT, '}');
+	}
+
+
+	/** Write an escaped and quoted property name, must be followed by a value
+	 */
+	public JsonWriter name(String name) throws IOException {
+		beforeName();
+		if(bytes != null) {
+			bytes.writeAscii('"').writeEscaped(name).writeAscii("\": ");
+		}
+		else {
+			chars.append('"');
+			JsonEscape.escape(name, chars);
+			chars.append("\": ");
+		}
+		return this;
+	}
+
+
+	/** Write a pre-rendered property name, must be followed by a value
+	 */
+	public JsonWriter name(JsonKey name) throws IOException {
+		beforeName();
+		if(bytes != null) {
+			JsonStringify.inst.propName(name, bytes);
+		}
+		else {
+			chars.write(name.chars);
+		}
+		return this;
+	}
+
+
+	// ==== values ====
+	public JsonWriter value(String value) throws IOException {
+		if(value == null) {
+			return nullValue();
+		}
+		beforeValue();
+		if(bytes != null) {
+			bytes.writeAscii('"').writeEscaped(value).writeAscii('"');
+		}
+		else {
+			chars.append('"');
+			JsonEscape.escape(value, chars);
+			chars.append('"');
+		}
+		return this;
+	}
+
+
+	public JsonWriter value(boolean value) throws IOException {
+		beforeValue();
+		writeAscii(value ? "true" : "false");
+		return this;
+	}
+
+
+	public JsonWriter value(int value) throws IOException {
+		beforeValue();
+		if(bytes != null) { bytes.writeInt(value); }
+		else { chars.pos = JsonNumberWriter.writeInt(value, chars.require(JsonNumberWriter.MAX_INT_CHARS), chars.pos); }
+		return this;
+	}
+
+
+	public JsonWriter value(long value) throws IOException {
+		beforeValue();
+		if(bytes != null) { bytes.writeLong(value); }
+		else { chars.pos = JsonNumberWriter.writeLong(value, chars.require(JsonNumberWriter.MAX_LONG_CHARS), chars.pos); }
+		return this;
+	}
+
+
+	public JsonWriter value(float value) throws IOException {
+		beforeValue();
+		if(bytes != null) { bytes.writeFloat(value); }
+		else { chars.pos = JsonNumberWriter.writeFloat(value, chars.require(JsonNumberWriter.MAX_FLOAT_CHARS), chars.pos); }
+		return this;
+	}
+
+
+	public JsonWriter value(double value) throws IOException {
+		beforeValue();
+		if(bytes != null) { bytes.writeDouble(value); }
+		else { chars.pos = JsonNumberWriter.writeDouble(value, chars.require(JsonNumberWriter.MAX_DOUBLE_CHARS), chars.pos); }
+		return this;
+	}
+
+
+	public JsonWriter nullValue() throws IOException {
+		beforeValue();
+		writeAscii("null");
+		return this;
+	}
+
+
+	public JsonWriter value(int[] vals) throws IOException {
+		if(vals == null) { return nullValue(); }
+		beforeValue();
+		if(bytes != null) { JsonStringify.inst.toArray(vals, bytes); }
+		else { JsonStringify.inst.toArray(vals, chars); }
+		return this;
+	}
+
+
+	public JsonWriter value(long[] vals) throws IOException {
+		if(vals == null) { return nullValue(); }
+		beforeValue();
+		if(bytes != null) { JsonStringify.inst.toArray(vals, bytes); }
+		else { JsonStringify.inst.toArray(vals, chars); }
+		return this;
+	}
+
+
+	public JsonWriter value(float[] vals) throws IOException {
+		if(vals == null) { return nullValue(); }
+		beforeValue();
+		if(bytes != null) { JsonStringify.inst.toArray(vals, bytes); }
+		else { JsonStringify.inst.toArray(vals, chars); }
+		return this;
+	}
+
+
+	public JsonWriter value(double[] vals) throws IOException {
+		if(vals == null) { return nullValue(); }
+		beforeValue();
+		if(bytes != null) { JsonStringify.inst.toArray(vals, bytes); }
+		else { JsonStringify.inst.toArray(vals, chars); }
+		return this;
+	}
+
+
+	/** Write a value using its {@link JsonWritable} implementation, which must write exactly one JSON value
+	 */
+	public <T> JsonWriter value(JsonWritable<T> writable, T params) throws IOException {
+		if(writable == null) {
+			return nullValue();
+		}
+		beforeValue();
+		if(bytes != null) { writable.toJson(bytes, params); }
+		else { writable.toJson(chars, params); }
+		return this;
+	}
+
+
+	/** Write an already rendered JSON value as-is
+	 */
+	public JsonWriter rawValue(CharSequence json) throws IOException {
+		beforeValue();
+		if(bytes != null) { bytes.writeUtf8(json); }
+		else { chars.append(json); }
+		return this;
+	}
+
+
+	// ==== output ====
+	/** Write any buffered output to the destination
+	 */
+	@Override
+	public void flush() throws IOException {
+		if(bytes != null) { bytes.flush(); }
+		else { chars.flush(); }
+	}
+
+
+	/** Flush and close the destination.
+	 * @throws IllegalStateException if an array or object is still open
+	 */
+	@Override
+	public void close() throws IOException {
+		if(bytes != null) { bytes.close(); }
+		else { chars.close(); }
+
+		if(stackSize > 1 || stack[0] != NONEMPTY_DOCUMENT) {
+			throw new IllegalStateException("incomplete document");
+		}
+	}
+
+
+	// ==== state ====
+	private void beforeValue() throws IOException {
+		switch(stack[stackSize - 1]) {
+		case EMPTY_DOCUMENT:
+			stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+			break;
+		case EMPTY_ARRAY:
+			stack[stackSize - 1] = NONEMPTY_ARRAY;
+			newline();
+			break;
+		case NONEMPTY_ARRAY:
+			writeAscii(',');
+			separator();
+			break;
+		case DANGLING_NAME:
+			stack[stackSize - 1] = NONEMPTY_OBJECT;
+			break;
+		case NONEMPTY_DOCUMENT:
+			throw new IllegalStateException("JSON document already has a top level value");
+		default:
+			throw new IllegalStateException("object values require a name()");
+		}
+	}
+
+
+	private void beforeName() throws IOException {
+		int ctx = stack[stackSize - 1];
+		if(ctx == NONEMPTY_OBJECT) {
+			writeAscii(',');
+			separator();
+		}
+		else if(ctx == EMPTY_OBJECT) {
+			newline();
+		}
+		else {
+			throw new IllegalStateException(ctx == DANGLING_NAME ? "name() already written, expected a value" : "name() is only valid inside an object");
+		}
+		stack[stackSize - 1] = DANGLING_NAME;
+	}
+
+
+	private JsonWriter close(int emptyCtx, int nonemptyCtx, char closeCh) throws IOException {
+		int ctx = stack[stackSize - 1];
+		if(ctx != emptyCtx && ctx != nonemptyCtx) {
+			throw new IllegalStateException(ctx == DANGLING_NAME ? "name() without a value" : "nesting problem, unexpected '" + closeCh + "'");
+		}
+		stackSize--;
+		if(ctx == nonemptyCtx) {
+			newline();
+		}
+		writeAscii(closeCh);
+		return this;
+	}
+
+
+	private void push(int ctx) {
+		if(stackSize == stack.length) {
+			stack = Arrays.copyOf(stack, stackSize * 2);
+		}
+		stack[stackSize++] = ctx;
+	}
+
+
+	/** The whitespace after a comma: a newline and indent or a single space
+	 */
+	private void separator() throws IOException {
+		if(indent != null) {
+			newline();
+		}
+		else {
+			writeAscii(' ');
+		}
+	}
+
+
+	/** A newline and indent for the current depth, or nothing if no indent is set
+	 */
+	private void newline() throws IOException {
+		if(indent == null) {
+			return;
+		}
+		int depth = stackSize - 1;
+		if(depth >= newlines.length) {
+			String[] newNewlines = Arrays.copyOf(newlines, Math.max(depth + 1, newlines.length * 2));
+			for(int i = newlines.length; i < newNewlines.length; i++) {
+				newNewlines[i] = newNewlines[i - 1] + indent;
+			}
+			newlines = newNewlines;
+		}
+		String nl = newlines[depth];
+		if(bytes != null) { bytes.writeUtf8(nl); }
+		else { chars.append(nl); }
+	}
+
+
+	private void writeAscii(char ch) throws IOException {
+		if(bytes != null) { bytes.writeAscii(ch); }
+		else { chars.append(ch); }
+	}
+
+
+	private void writeAscii(String str) throws IOException {
+		if(bytes != null) { bytes.writeAscii(str); }
+		else { chars.append(str); }
+	}
+
+
+
+
+	/** A fixed size char buffer which is written to a {@link Writer} when full
+	 * @author TeamworkGuy2
+	 * @since 2026-10-18
+	 */
+	private static final class CharOut implements Appendable, Flushable, Closeable {
+		private final Writer out;
+		private final char[] buf;
+		int pos;
+
+
+		CharOut(Writer out, int bufferSize) {
+			this.out = out;
+			this.buf = new char[Math.max(JsonNumberWriter.SCRATCH_SIZE, bufferSize)];
+		}
+
+
+		/** Make room for {@code n} chars, {@code n} must not be larger than the buffer
+		 * @return the buffer to write into starting at {@link #pos}
+		 */
+		char[] require(int n) throws IOException {
+			if(buf.length - pos < n) {
+				drain();
+			}
+			return buf;
+		}
+
+
+		void write(char[] src) throws IOException {
+			int off = 0;
+			int len = src.length;
+			while(len > 0) {
+				if(pos == buf.length) {
+					drain();
+				}
+				int n = Math.min(len, buf.length - pos);
+				System.arraycopy(src, off, buf, pos, n);
+				pos += n;
+				off += n;
+				len -= n;
+			}
+		}
+
+
+		@Override
+		public CharOut append(char ch) throws IOException {
+			if(pos == buf.length) {
+				drain();
+			}
+			buf[pos++] = ch;
+			return this;
+		}
+
+
+		@Override
+		public CharOut append(CharSequence csq) throws IOException {
+			if(csq == null) {
+				csq = "null";
+			}
+			return append(csq, 0, csq.length());
+		}
+
+
+		@Override
+		public CharOut append(CharSequence csq, int start, int end) throws IOException {
+			if(csq == null) {
+				csq = "null";
+			}
+			while(start < end) {
+				if(pos == buf.length) {
+					drain();
+				}
+				int n = Math.min(end - start, buf.length - pos);
+				if(csq instanceof String) {
+					((String)csq).getChars(start, start + n, buf, pos);
+				}
+				else {
+					for(int i = 0; i < n; i++) {
+						buf[pos + i] = csq.charAt(start + i);
+					}
+				}
+				pos += n;
+				start += n;
+			}
+			return this;
+		}
+
+
+		@Override
+		public void flush() throws IOException {
+			drain();
+			out.flush();
+		}
+
+
+		@Override
+		public void close() throws IOException {
+			try {
+				drain();
+			} finally {
+				out.close();
+			}
+		}
+
+
+		private void drain() throws IOException {
+			if(pos > 0) {
+				out.write(buf, 0, pos);
+				pos = 0;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,361 @@
+package twg2.io.json.stringify.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.json.stringify.JsonByteSink;
+import twg2.io.json.stringify.JsonNumberWriter;
+
+/** Compares {@link JsonNumberWriter} output to {@link Double#toString(double)}, {@link Float#toString(float)},
+ * {@link Integer#toString(int)}, and {@link Long#toString(long)} for boundary values, subnormals, powers of ten,
+ * and a seeded random corpus
+ * @author TeamworkGuy2
+ * @since 2026-10-18
+ */
+public class JsonNumberWriterTest {
+	private static final int RANDOM_COUNT = 200_000;
+	private static final long SEED = 20261018L;
+	/** true if the running JDK's toString() is the shortest round-trip text (JDK 19+), which Schubfach must match exactly */
+	private static final boolean JDK_TO_STRING_SHORTEST = javaVersion() >= 19;
+
+
+	@Test
+	public void doubleBoundaries() throws IOException {
+		checkDoubles(doubleBoundaryValues());
+	}
+
+
+	@Test
+	public void doubleSubnormals() throws IOException {
+		List<Double> vals = new ArrayList<>();
+		for(long bits = 1; bits < 1000; bits++) {
+			vals.add(Double.longBitsToDouble(bits));
+		}
+		// the largest subnormals and their neighbors across the normal boundary
+		for(long bits = 0x000F_FFFF_FFFF_FF00L; bits <= 0x0010_0000_0000_00FFL; bits++) {
+			vals.add(Double.longBitsToDouble(bits));
+		}
+		Random rand = new Random(SEED);
+		for(int i = 0; i < RANDOM_COUNT / 10; i++) {
+			vals.add(Double.longBitsToDouble(rand.nextLong() & 0x000F_FFFF_FFFF_FFFFL));
+		}
+		checkDoubles(vals);
+	}
+
+
+	@Test
+	public void doublePowersOfTen() throws IOException {
+		List<Double> vals = new ArrayList<>();
+		for(int e = -324; e <= 308; e++) {
+			double val = Double.parseDouble("1E" + e);
+			vals.add(val);
+			vals.add(Math.nextUp(val));
+			vals.add(Math.nextDown(val));
+			vals.add(Double.parseDouble("9.999999999999999E" + e));
+			vals.add(Double.parseDouble("5E" + e));
+		}
+		checkDoubles(vals);
+	}
+
+
+	@Test
+	public void doubleRandom() throws IOException {
+		Random rand = new Random(SEED);
+		List<Double> vals = new ArrayList<>();
+		for(int i = 0; i < RANDOM_COUNT; i++) {
+			vals.add(Double.longBitsToDouble(rand.nextLong()));
+			// values with few significant digits, i.e. prices and measurements
+			vals.add((rand.nextInt(2_000_000) - 1_000_000) / 1000.0);
+		}
+		checkDoubles(vals);
+	}
+
+
+	@Test
+	public void floatBoundaries() throws IOException {
+		checkFloats(floatBoundaryValues());
+	}
+
+
+	@Test
+	public void floatSubnormals() throws IOException {
+		List<Float> vals = new ArrayList<>();
+		for(int bits = 1; bits < 1000; bits++) {
+			vals.add(Float.intBitsToFloat(bits));
+		}
+		for(int bits = 0x007F_FF00; bits <= 0x0080_00FF; bits++) {
+			vals.add(Float.intBitsToFloat(bits));
+		}
+		Random rand = new Random(SEED);
+		for(int i = 0; i < RANDOM_COUNT / 10; i++) {
+			vals.add(Float.intBitsToFloat(rand.nextInt() & 0x007F_FFFF));
+		}
+		checkFloats(vals);
+	}
+
+
+	@Test
+	public void floatPowersOfTen() throws IOException {
+		List<Float> vals = new ArrayList<>();
+		for(int e = -45; e <= 38; e++) {
+			float val = Float.parseFloat("1E" + e);
+			vals.add(val);
+			vals.add(Math.nextUp(val));
+			vals.add(Math.nextDown(val));
+			vals.add(Float.parseFloat("9.999999E" + e));
+			vals.add(Float.parseFloat("5E" + e));
+		}
+		checkFloats(vals);
+	}
+
+
+	@Test
+	public void floatRandom() throws IOException {
+		Random rand = new Random(SEED);
+		List<Float> vals = new ArrayList<>();
+		for(int i = 0; i < RANDOM_COUNT; i++) {
+			vals.add(Float.intBitsToFloat(rand.nextInt()));
+			vals.add((rand.nextInt(2_000_000) - 1_000_000) / 1000.0f);
+		}
+		checkFloats(vals);
+	}
+
+
+	@Test
+	public void intBoundaries() throws IOException {
+		List<Integer> vals = new ArrayList<>();
+		vals.add(0);
+		vals.add(Integer.MIN_VALUE);
+		vals.add(Integer.MIN_VALUE + 1);
+		vals.add(Integer.MAX_VALUE);
+		vals.add(Integer.MAX_VALUE - 1);
+		// digit count boundaries: 10^k - 1, 10^k, 10^k + 1 and their negations
+		for(int p = 1; ; p *= 10) {
+			for(int val : new int[] { p - 1, p, p + 1 }) {
+				vals.add(val);
+				vals.add(-val);
+			}
+			if(p == 1_000_000_000) {
+				break;
+			}
+		}
+		Random rand = new Random(SEED);
+		for(int i = 0; i < RANDOM_COUNT; i++) {
+			vals.add(rand.nextInt());
+			vals.add(rand.nextInt() >> rand.nextInt(32));
+		}
+		checkInts(vals);
+	}
+
+
+	@Test
+	public void longBoundaries() throws IOException {
+		List<Long> vals = new ArrayList<>();
+		vals.add(0L);
+		vals.add(Long.MIN_VALUE);
+		vals.add(Long.MIN_VALUE + 1);
+		vals.add(Long.MAX_VALUE);
+		vals.add(Long.MAX_VALUE - 1);
+		vals.add((long)Integer.MIN_VALUE);
+		vals.add((long)Integer.MIN_VALUE - 1);
+		vals.add((long)Integer.MAX_VALUE);
+		vals.add((long)Integer.MAX_VALUE + 1);
+		for(long p = 1; ; p *= 10) {
+			for(long val : new long[] { p - 1, p, p + 1 }) {
+				vals.add(val);
+				vals.add(-val);
+			}
+			if(p == 1_000_000_000_000_000_000L) {
+				break;
+			}
+		}
+		Random rand = new Random(SEED);
+		for(int i = 0; i < RANDOM_COUNT; i++) {
+			vals.add(rand.nextLong());
+			vals.add(rand.nextLong() >> rand.nextInt(64));
+		}
+		checkLongs(vals);
+	}
+
+
+	private static void checkDoubles(List<Double> vals) throws IOException {
+		char[] buf = new char[JsonNumberWriter.MAX_DOUBLE_CHARS];
+		StringBuilder sb = new StringBuilder();
+		JsonByteSink.ByteArraySink sink = new JsonByteSink.ByteArraySink(64);
+		for(double val : vals) {
+			String jdk = Double.toString(val);
+			String shortest = new String(buf, 0, JsonNumberWriter.writeDoubleShortest(val, buf, 0));
+			checkShortest(jdk, shortest, Double.parseDouble(shortest) == val || (Double.isNaN(val) && "NaN".equals(shortest)), Double.doubleToRawLongBits(val));
+			String text = new String(buf, 0, JsonNumberWriter.writeDouble(val, buf, 0));
+			Assert.assertEquals(expectedText(jdk, shortest, JsonNumberWriter.MAX_DOUBLE_CHARS), text);
+
+			sb.setLength(0);
+			JsonNumberWriter.appendDouble(val, sb);
+			Assert.assertEquals(text, sb.toString());
+			Assert.assertEquals(text, appendToPlainAppendable(val));
+
+			sink.reset();
+			sink.writeDouble(val);
+			Assert.assertEquals(text, new String(sink.toByteArray(), StandardCharsets.US_ASCII));
+		}
+	}
+
+
+	private static void checkFloats(List<Float> vals) throws IOException {
+		char[] buf = new char[JsonNumberWriter.MAX_FLOAT_CHARS];
+		StringBuilder sb = new StringBuilder();
+		JsonByteSink.ByteArraySink sink = new JsonByteSink.ByteArraySink(64);
+		for(float val : vals) {
+			String jdk = Float.toString(val);
+			String shortest = new String(buf, 0, JsonNumberWriter.writeFloatShortest(val, buf, 0));
+			checkShortest(jdk, shortest, Float.parseFloat(shortest) == val || (Float.isNaN(val) && "NaN".equals(shortest)), Float.floatToRawIntBits(val));
+			String text = new String(buf, 0, JsonNumberWriter.writeFloat(val, buf, 0));
+			Assert.assertEquals(expectedText(jdk, shortest, JsonNumberWriter.MAX_FLOAT_CHARS), text);
+
+			sb.setLength(0);
+			JsonNumberWriter.appendFloat(val, sb);
+			Assert.assertEquals(text, sb.toString());
+			Assert.assertEquals(text, appendToPlainAppendable(val));
+
+			sink.reset();
+			sink.writeFloat(val);
+			Assert.assertEquals(text, new String(sink.toByteArray(), StandardCharsets.US_ASCII));
+		}
+	}
+
+
+	private static void checkInts(List<Integer> vals) throws IOException {
+		char[] buf = new char[JsonNumberWriter.MAX_INT_CHARS];
+		JsonByteSink.ByteArraySink sink = new JsonByteSink.ByteArraySink(64);
+		for(int val : vals) {
+			String expect = Integer.toString(val);
+			Assert.assertEquals(expect, new String(buf, 0, JsonNumberWriter.writeInt(val, buf, 0)));
+			Assert.assertEquals(expect, expect.length(), JsonNumberWriter.intLength(val));
+			Assert.assertEquals(expect, appendToPlainAppendable(val));
+
+			sink.reset();
+			sink.writeInt(val);
+			Assert.assertEquals(expect, new String(sink.toByteArray(), StandardCharsets.US_ASCII));
+		}
+	}
+
+
+	private static void checkLongs(List<Long> vals) throws IOException {
+		char[] buf = new char[JsonNumberWriter.MAX_LONG_CHARS];
+		JsonByteSink.ByteArraySink sink = new JsonByteSink.ByteArraySink(64);
+		for(long val : vals) {
+			String expect = Long.toString(val);
+			Assert.assertEquals(expect, new String(buf, 0, JsonNumberWriter.writeLong(val, buf, 0)));
+			Assert.assertEquals(expect, expect.length(), JsonNumberWriter.longLength(val));
+			Assert.assertEquals(expect, appendToPlainAppendable(val));
+
+			sink.reset();
+			sink.writeLong(val);
+			Assert.assertEquals(expect, new String(sink.toByteArray(), StandardCharsets.US_ASCII));
+		}
+	}
+
+
+	/** Schubfach output must be the JDK 19+ {@code toString()} text.  Older JDKs sometimes print extra digits
+	 * (JDK-4511638), there the shortest text must parse back to the same value and be no longer than the JDK text
+	 */
+	private static void checkShortest(String jdk, String shortest, boolean roundTrips, long bits) {
+		String msg = "bits 0x" + Long.toHexString(bits) + ", JDK: " + jdk;
+		if(JDK_TO_STRING_SHORTEST) {
+			Assert.assertEquals(msg, jdk, shortest);
+		}
+		else {
+			Assert.assertTrue(msg + ", shortest: " + shortest + " does not round trip", roundTrips);
+			Assert.assertTrue(msg + ", shortest: " + shortest + " is longer", shortest.length() <= jdk.length());
+		}
+	}
+
+
+	/** The text {@link JsonNumberWriter#writeDouble(double, char[], int)}/{@link JsonNumberWriter#writeFloat(float, char[], int)}
+	 * should produce for the configured {@link JsonNumberWriter#FLOATING_POINT_FORMAT}
+	 */
+	private static String expectedText(String jdk, String shortest, int maxChars) {
+		if(JsonNumberWriter.FLOATING_POINT_FORMAT == JsonNumberWriter.FloatingPointFormat.JDK && jdk.length() <= maxChars) {
+			return jdk;
+		}
+		return shortest;
+	}
+
+
+	/** Append through an {@link Appendable} which is not a {@link StringBuilder}, so the scratch buffer path is used
+	 */
+	private static String appendToPlainAppendable(Object val) throws IOException {
+		StringBuilder res = new StringBuilder();
+		Appendable dst = new Appendable() {
+			@Override public Appendable append(CharSequence csq) { res.append(csq); return this; }
+			@Override public Appendable append(CharSequence csq, int start, int end) { res.append(csq, start, end); return this; }
+			@Override public Appendable append(char c) { res.append(c); return this; }
+		};
+		if(val instanceof Integer) { JsonNumberWriter.appendInt((Integer)val, dst); }
+		else if(val instanceof Long) { JsonNumberWriter.appendLong((Long)val, dst); }
+		else if(val instanceof Float) { JsonNumberWriter.appendFloat((Float)val, dst); }
+		else { JsonNumberWriter.appendDouble((Double)val, dst); }
+		return res.toString();
+	}
+
+
+	private static List<Double> doubleBoundaryValues() {
+		double[] vals = {
+			0.0, -0.0, 1.0, -1.0, 0.1, 0.2, 0.3, 2.0 / 3.0,
+			Double.MIN_VALUE, Double.MIN_NORMAL, Double.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+			Math.nextUp(Double.MIN_NORMAL), Math.nextDown(Double.MIN_NORMAL), Math.nextDown(Double.MAX_VALUE), Math.nextUp(Double.MIN_VALUE),
+			// toString() switches to computerized scientific notation outside [10^-3, 10^7)
+			1e-3, Math.nextDown(1e-3), Math.nextUp(1e-3), 1e7, Math.nextDown(1e7), Math.nextUp(1e7),
+			// integers at the edge of exact double precision
+			(double)(1L << 53), (double)((1L << 53) - 1), (double)(1L << 53) + 2, (double)Long.MAX_VALUE, (double)Long.MIN_VALUE,
+			// JDK-4511638 examples
+			2.0E23, 1.0E23, 8.41E21, 5.0E-324, 1.0E-322, 9.007199254740991E15, 2.82879384806159E17,
+			1.387364135037754E18, 1.45800632428665E17, 1.9400994884341945E25, 4.9E-324,
+		};
+		List<Double> res = new ArrayList<>();
+		for(double val : vals) {
+			res.add(val);
+			res.add(-val);
+		}
+		return res;
+	}
+
+
+	private static List<Float> floatBoundaryValues() {
+		float[] vals = {
+			0.0f, -0.0f, 1.0f, -1.0f, 0.1f, 0.2f, 0.3f, 2.0f / 3.0f,
+			Float.MIN_VALUE, Float.MIN_NORMAL, Float.MAX_VALUE, Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY,
+			Math.nextUp(Float.MIN_NORMAL), Math.nextDown(Float.MIN_NORMAL), Math.nextDown(Float.MAX_VALUE), Math.nextUp(Float.MIN_VALUE),
+			1e-3f, Math.nextDown(1e-3f), Math.nextUp(1e-3f), 1e7f, Math.nextDown(1e7f), Math.nextUp(1e7f),
+			(float)(1 << 24), (float)((1 << 24) - 1), (float)(1 << 24) + 2, (float)Integer.MAX_VALUE, (float)Integer.MIN_VALUE,
+			// JDK-4511638 examples
+			1.0E23f, 8.41E21f, 2.0E-45f, 1.00014165E-36f, 200.0f, 3.3554432E7f,
+		};
+		List<Float> res = new ArrayList<>();
+		for(float val : vals) {
+			res.add(val);
+			res.add(-val);
+		}
+		return res;
+	}
+
+
+	private static int javaVersion() {
+		String ver = System.getProperty("java.specification.version", "1.8");
+		if(ver.startsWith("1.")) {
+			ver = ver.substring(2);
+		}
+		int end = 0;
+		while(end < ver.length() && Character.isDigit(ver.charAt(end))) {
+			end++;
+		}
+		return end > 0 ? Integer.parseInt(ver.substring(0, end)) : 8;
+	}
+
+}